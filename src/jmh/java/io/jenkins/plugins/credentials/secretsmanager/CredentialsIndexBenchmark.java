@@ -0,0 +1,75 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.benchmark.FakeSecretsManagerClient;
+import io.jenkins.plugins.credentials.secretsmanager.factory.CredentialsFactory;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretArn;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretValueSource;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.jenkinsci.plugins.plaincredentials.StringCredentials;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Credential lookups by type, which is what {@link AwsCredentialsProvider#getCredentials} does on every lookup.
+ */
+@JmhBenchmark
+public class CredentialsIndexBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Credentials {
+
+        @Param({"10000", "100000"})
+        int size;
+
+        List<StandardCredentials> credentials;
+
+        CredentialsIndex index;
+
+        @Setup
+        public void setup() {
+            final var client = new FakeSecretsManagerClient(size);
+            final var source = SecretValueSource.of(client);
+
+            credentials = new ArrayList<>(size);
+            for (var entry : client.getEntries()) {
+                final var tags = entry.tags().stream().collect(Collectors.toMap(Tag::key, Tag::value));
+                CredentialsFactory.create(SecretArn.of(entry.arn()), null, entry.name(), entry.description(), tags, source)
+                        .ifPresent(credentials::add);
+            }
+
+            index = CredentialsIndex.of(credentials);
+            // Warm the lazily indexed types
+            index.get(StandardCredentials.class);
+        }
+    }
+
+    @Benchmark
+    public CredentialsIndex index(Credentials credentials) {
+        return CredentialsIndex.of(credentials.credentials);
+    }
+
+    @Benchmark
+    public List<StringCredentials> getStringCredentials(Credentials credentials) {
+        return credentials.index.get(StringCredentials.class);
+    }
+
+    @Benchmark
+    public List<StandardUsernamePasswordCredentials> getUsernamePasswordCredentials(Credentials credentials) {
+        return credentials.index.get(StandardUsernamePasswordCredentials.class);
+    }
+
+    @Benchmark
+    public List<StandardCredentials> getStandardCredentials(Credentials credentials) {
+        return credentials.index.get(StandardCredentials.class);
+    }
+}
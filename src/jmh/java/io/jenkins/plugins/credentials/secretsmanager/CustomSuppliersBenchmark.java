@@ -0,0 +1,44 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Memoized gets of the credentials list while it is fresh, from many threads at once, which is the common case for a
+ * busy controller.
+ */
+@JmhBenchmark
+@Threads(8)
+public class CustomSuppliersBenchmark {
+
+    private static final Duration DURATION = Duration.ofHours(1);
+
+    @State(Scope.Benchmark)
+    public static class Suppliers {
+
+        Supplier<List<String>> refreshAhead;
+
+        @Setup
+        public void setup() {
+            final Supplier<List<String>> delegate = () -> List.of("foo", "bar", "baz");
+
+            refreshAhead = CustomSuppliers.memoizeWithRefreshAhead(delegate, () -> DURATION, () -> 0.8, () -> DURATION, Runnable::run);
+
+            // Load the first value, so that the benchmark only measures cache hits
+            refreshAhead.get();
+        }
+    }
+
+    @Benchmark
+    public List<String> refreshAheadGet(Suppliers suppliers) {
+        return suppliers.refreshAhead.get();
+    }
+}
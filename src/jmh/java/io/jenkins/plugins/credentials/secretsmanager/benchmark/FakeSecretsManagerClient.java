@@ -0,0 +1,123 @@
+package io.jenkins.plugins.credentials.secretsmanager.benchmark;
+
+import io.jenkins.plugins.credentials.secretsmanager.factory.Tags;
+import io.jenkins.plugins.credentials.secretsmanager.factory.Type;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-process Secrets Manager with a fixed set of synthetic secrets, so that benchmarks measure the plugin rather
+ * than the network.
+ *
+ * The ListSecrets pages are built up front, and the filters in the request are ignored.
+ */
+public class FakeSecretsManagerClient implements SecretsManagerClient {
+
+    /** The default (and maximum) ListSecrets page size. */
+    private static final int PAGE_SIZE = 100;
+
+    private static final Instant CREATED = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final String[] TYPES = {Type.string, Type.usernamePassword, Type.file};
+
+    private final List<SecretListEntry> entries;
+
+    private final List<ListSecretsResponse> pages;
+
+    public FakeSecretsManagerClient(int size) {
+        this.entries = Collections.unmodifiableList(entries(size));
+        this.pages = pages(entries);
+    }
+
+    /**
+     * The synthetic secrets, as ListSecrets returns them.
+     */
+    public List<SecretListEntry> getEntries() {
+        return entries;
+    }
+
+    @Override
+    public ListSecretsResponse listSecrets(ListSecretsRequest request) {
+        final var page = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+        return pages.get(page);
+    }
+
+    @Override
+    public GetSecretValueResponse getSecretValue(GetSecretValueRequest request) {
+        return GetSecretValueResponse.builder()
+                .arn(request.secretId())
+                .secretString("supersecret")
+                .build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    /**
+     * The name of the i-th synthetic secret. Secrets are spread over 10 teams, so that names share a handful of
+     * prefixes, like they do in real accounts.
+     */
+    public static String name(int i) {
+        return String.format("team-%d/secret-%06d", i % 10, i);
+    }
+
+    private static List<SecretListEntry> entries(int size) {
+        final List<SecretListEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final var name = name(i);
+            final var type = TYPES[i % TYPES.length];
+
+            final List<Tag> tags = new ArrayList<>();
+            tags.add(Tag.builder().key(Tags.type).value(type).build());
+            if (Type.usernamePassword.equals(type)) {
+                tags.add(Tag.builder().key(Tags.username).value("user-" + i).build());
+            } else if (Type.file.equals(type)) {
+                tags.add(Tag.builder().key(Tags.filename).value("secret-" + i + ".txt").build());
+            }
+            tags.add(Tag.builder().key("team").value("team-" + (i % 10)).build());
+            tags.add(Tag.builder().key("environment").value(i % 2 == 0 ? "production" : "staging").build());
+
+            entries.add(SecretListEntry.builder()
+                    .arn(String.format("arn:aws:secretsmanager:us-east-1:111122223333:secret:%s-AbCdEf", name))
+                    .name(name)
+                    .description("Synthetic secret " + i)
+                    .createdDate(CREATED)
+                    .lastChangedDate(CREATED)
+                    .tags(tags)
+                    .secretVersionsToStages(Map.of(String.format("%032x", i), List.of("AWSCURRENT")))
+                    .build());
+        }
+        return entries;
+    }
+
+    private static List<ListSecretsResponse> pages(List<SecretListEntry> entries) {
+        final List<ListSecretsResponse> pages = new ArrayList<>();
+        for (int i = 0; i < entries.size() || pages.isEmpty(); i += PAGE_SIZE) {
+            final var end = Math.min(i + PAGE_SIZE, entries.size());
+            final var nextToken = end < entries.size() ? String.valueOf(pages.size() + 1) : null;
+            pages.add(ListSecretsResponse.builder()
+                    .secretList(entries.subList(i, end))
+                    .nextToken(nextToken)
+                    .build());
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,54 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.transformer.name;
+
+import io.jenkins.plugins.credentials.secretsmanager.benchmark.FakeSecretsManagerClient;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Removing name prefixes, which happens once per secret on every refresh when the transformation is configured.
+ */
+@JmhBenchmark
+public class PrefixRemoverBenchmark {
+
+    private static final int NAMES = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Prefixes {
+
+        @Param({"1", "10", "100"})
+        int size;
+
+        PrefixRemover remover;
+
+        String[] names;
+
+        @Setup
+        public void setup() {
+            final Set<String> prefixes = new LinkedHashSet<>();
+            for (int i = 0; i < size; i++) {
+                prefixes.add("team-" + i + "/");
+            }
+            remover = PrefixRemover.removePrefixes(prefixes);
+
+            names = new String[NAMES];
+            for (int i = 0; i < NAMES; i++) {
+                names[i] = FakeSecretsManagerClient.name(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void from(Prefixes prefixes, Blackhole blackhole) {
+        for (String name : prefixes.names) {
+            blackhole.consume(prefixes.remover.from(name));
+        }
+    }
+}
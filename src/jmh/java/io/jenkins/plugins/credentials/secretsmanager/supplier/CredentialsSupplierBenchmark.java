@@ -0,0 +1,74 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.benchmark.FakeSecretsManagerClient;
+import io.jenkins.plugins.credentials.secretsmanager.config.transformer.description.DescriptionTransformer;
+import io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.NameTransformer;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretArn;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretValueSource;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * The credentials list refresh: paging through ListSecrets, and turning the secret list entries into credentials.
+ */
+@JmhBenchmark
+public class CredentialsSupplierBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Secrets {
+
+        @Param({"10000", "100000"})
+        int size;
+
+        FakeSecretsManagerClient client;
+
+        Collection<SecretListEntry> entries;
+
+        Object context;
+
+        BiFunction<SecretArn, SecretListEntry, Optional<StandardCredentials>> factory;
+
+        /** Already holds the credentials for every secret, so that a refresh finds nothing changed. */
+        IncrementalCredentialsFactory built;
+
+        @Setup
+        public void setup() {
+            client = new FakeSecretsManagerClient(size);
+            entries = client.getEntries();
+
+            final NameTransformer nameTransformer = new io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.Default();
+            final DescriptionTransformer descriptionTransformer = new io.jenkins.plugins.credentials.secretsmanager.config.transformer.description.Default();
+            context = List.of(client, nameTransformer, descriptionTransformer);
+            factory = CredentialsSupplier.standard().credentialFactory(SecretValueSource.batching(client), nameTransformer, descriptionTransformer);
+
+            built = new IncrementalCredentialsFactory();
+            built.build(entries, context, factory);
+        }
+    }
+
+    @Benchmark
+    public Collection<SecretListEntry> listSecrets(Secrets secrets) {
+        return new ListSecretsOperation(secrets.client, List.of()).get();
+    }
+
+    @Benchmark
+    public List<StandardCredentials> buildAllCredentials(Secrets secrets) {
+        return new IncrementalCredentialsFactory().build(secrets.entries, secrets.context, secrets.factory).getCredentials();
+    }
+
+    @Benchmark
+    public List<StandardCredentials> rebuildUnchangedCredentials(Secrets secrets) {
+        return secrets.built.build(secrets.entries, secrets.context, secrets.factory).getCredentials();
+    }
+}
@@ -0,0 +1,97 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.config.transformer.description.DescriptionTransformer;
+import io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.NameTransformer;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretValue;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretValueSource;
+import io.jenkins.plugins.credentials.secretsmanager.util.FakeSecretsManager;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * End-to-end throughput against the in-process fake Secrets Manager, including HTTP, JSON and the SDK client: the full
+ * credentials list refresh, and secret value retrieval from many threads at once.
+ */
+@JmhBenchmark
+public class FakeSecretsManagerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"10000", "100000"})
+        int size;
+
+        /** The latency of each request, in milliseconds. */
+        @Param({"0", "20"})
+        int latency;
+
+        FakeSecretsManager secretsManager;
+
+        List<String> arns;
+
+        SecretValueSource single;
+
+        SecretValueSource batching;
+
+        @Setup
+        public void setup() {
+            secretsManager = new FakeSecretsManager();
+            secretsManager.start();
+            secretsManager.createSecrets(size);
+            secretsManager.setLatency(Duration.ofMillis(latency));
+
+            arns = new ListSecretsOperation(secretsManager.getClient(), List.of()).get().stream()
+                    .map(SecretListEntry::arn)
+                    .collect(Collectors.toList());
+            single = SecretValueSource.of(secretsManager.getClient());
+            batching = SecretValueSource.batching(secretsManager.getClient());
+        }
+
+        @TearDown
+        public void tearDown() {
+            secretsManager.close();
+        }
+
+        String randomArn() {
+            return arns.get(ThreadLocalRandom.current().nextInt(arns.size()));
+        }
+    }
+
+    @Benchmark
+    public List<StandardCredentials> refresh(Server server) {
+        final var client = server.secretsManager.getClient();
+        final NameTransformer nameTransformer = new io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.Default();
+        final DescriptionTransformer descriptionTransformer = new io.jenkins.plugins.credentials.secretsmanager.config.transformer.description.Default();
+
+        final var entries = new ListSecretsOperation(client, List.of());
+        final var factory = CredentialsSupplier.standard().credentialFactory(SecretValueSource.batching(client), nameTransformer, descriptionTransformer);
+        return new IncrementalCredentialsFactory()
+                .build(entries, List.of(client, nameTransformer, descriptionTransformer), factory)
+                .getCredentials();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public SecretValue getSecretValue(Server server) {
+        return server.single.get(server.randomArn(), null);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public SecretValue batchGetSecretValue(Server server) {
+        return server.batching.get(server.randomArn(), null);
+    }
+}
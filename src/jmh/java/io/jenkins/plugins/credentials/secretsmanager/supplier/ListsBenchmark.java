@@ -0,0 +1,43 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converting secret tags to a map, which happens once per secret on every refresh.
+ */
+@JmhBenchmark
+public class ListsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tags {
+
+        /** Secrets Manager allows up to 50 tags per secret. Most secrets have a handful. */
+        @Param({"4", "50"})
+        int size;
+
+        List<Tag> tags;
+
+        @Setup
+        public void setup() {
+            tags = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                tags.add(Tag.builder().key("key-" + i).value("value-" + i).build());
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> toMap(Tags tags) {
+        return Lists.toMap(tags.tags, Tag::key, Tag::value);
+    }
+}
@@ -10,6 +10,7 @@ import hudson.model.ItemGroup;
 import hudson.model.ModelObject;
 import hudson.security.ACL;
 import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.metrics.SecretsManagerMetrics;
 import io.jenkins.plugins.credentials.secretsmanager.supplier.CredentialsSupplier;
 import jenkins.model.Jenkins;
 import org.acegisecurity.Authentication;
@@ -19,10 +20,11 @@ import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 @Extension
 public class AwsCredentialsProvider extends CredentialsProvider {
@@ -31,9 +33,26 @@ public class AwsCredentialsProvider extends CredentialsProvider {
 
     private final AwsCredentialsStore store = new AwsCredentialsStore(this);
 
-    private final Supplier<Collection<StandardCredentials>> credentialsSupplier =
-            memoizeWithExpiration(CredentialsSupplier.standard(), () ->
-                    PluginConfiguration.normalize(PluginConfiguration.getInstance().getCache()));
+    private final CredentialsSupplier credentialsSupplier = CredentialsSupplier.standard();
+
+    private final CustomSuppliers.RefreshAheadMemoizingSupplier<CredentialsIndex> credentialsIndex =
+            memoizeWithRefreshAhead(indexed(credentialsSupplier),
+                    () -> PluginConfiguration.normalizeCacheDuration(PluginConfiguration.getInstance().getCacheDuration()),
+                    () -> PluginConfiguration.normalizeRefreshAhead(PluginConfiguration.getInstance().getRefreshAhead()),
+                    () -> PluginConfiguration.normalizeMaxStaleness(PluginConfiguration.getInstance().getMaxStaleness()));
+
+    private volatile boolean restored = false;
+
+    // Restoring reads the snapshot from disk while holding this. A lock rather than synchronized, as a virtual thread
+    // that waits in a synchronized block pins its carrier thread.
+    private final ReentrantLock restoreLock = new ReentrantLock();
+
+    public AwsCredentialsProvider() {
+        SecretsManagerMetrics.get().trackCredentialsCache(
+                () -> credentialsIndex.getAge().map(Duration::toSeconds).orElse(-1L),
+                credentialsIndex::getHits,
+                credentialsIndex::getMisses);
+    }
 
     @Override
     @NonNull
@@ -41,23 +60,97 @@ public class AwsCredentialsProvider extends CredentialsProvider {
                                                           ItemGroup itemGroup,
                                                           Authentication authentication) {
         if (ACL.SYSTEM.equals(authentication)) {
-            Collection<StandardCredentials> allCredentials = Collections.emptyList();
+            restore();
             try {
-                allCredentials = credentialsSupplier.get();
+                return credentialsIndex.get().get(type);
             } catch (Exception e) {
                 LOG.log(Level.WARNING, "Could not list credentials in Secrets Manager: message=[{0}]", e.getMessage());
             }
-
-            return allCredentials.stream()
-                    .filter(c -> type.isAssignableFrom(c.getClass()))
-                    // cast to keep generics happy even though we are assignable
-                    .map(type::cast)
-                    .collect(Collectors.toList());
         }
 
         return Collections.emptyList();
     }
 
+    /**
+     * Before the first refresh, try to serve the credentials from the last saved secret list instead of waiting for
+     * (or, if AWS is unreachable, failing on) the refresh. Only the first call has any effect; concurrent callers wait
+     * for it, as reading the snapshot is much quicker than a refresh.
+     */
+    void restore() {
+        if (restored) {
+            return;
+        }
+
+        restoreLock.lock();
+        try {
+            if (restored) {
+                return;
+            }
+            restored = true;
+
+            try {
+                credentialsSupplier.restore()
+                        .ifPresent(credentials -> credentialsIndex.seed(CredentialsIndex.of(credentials)));
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Could not restore credentials from the secret list snapshot: message=[{0}]", e.getMessage());
+            }
+        } finally {
+            restoreLock.unlock();
+        }
+    }
+
+    /**
+     * Load the credentials list (and prefetch the values of any credentials tagged for it) ahead of the first lookup.
+     * This blocks until it is done, so run it in the background.
+     */
+    void warmUp() {
+        final var start = System.nanoTime();
+
+        restore();
+
+        final int credentials;
+        try {
+            credentials = credentialsIndex.get().get(StandardCredentials.class).size();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Could not warm up the credentials cache: message=[{0}]", e.getMessage());
+            return;
+        }
+
+        final var prefetched = credentialsSupplier.prefetch();
+        final var duration = Duration.ofNanos(System.nanoTime() - start);
+
+        LOG.log(Level.INFO, "Warmed up the credentials cache: credentials=[{0}], prefetched=[{1}], duration=[{2} ms]",
+                new Object[]{credentials, prefetched, duration.toMillis()});
+        SecretsManagerMetrics.get().recordWarmUp(duration, prefetched);
+    }
+
+    /**
+     * Bring the cached credentials up to date after some secrets changed, without waiting for the next full refresh.
+     *
+     * @param secretIds the names or ARNs of the changed secrets
+     */
+    void onSecretsChanged(Collection<String> secretIds) {
+        // The update lists the changed secrets, so a refresh can land while it runs
+        final long generation = credentialsIndex.getGeneration();
+
+        final Optional<Collection<StandardCredentials>> updated;
+        try {
+            updated = credentialsSupplier.update(secretIds);
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Could not update changed secrets, refreshing all credentials instead: message=[{0}]", e.getMessage());
+            credentialsIndex.refreshNow();
+            return;
+        }
+
+        if (updated.isEmpty()) {
+            credentialsIndex.refreshNow();
+        } else if (!credentialsIndex.update(generation, CredentialsIndex.of(updated.get()))) {
+            // The refresh may have listed the secrets before they changed, so do not trust it to have the change
+            LOG.log(Level.FINE, "The credentials were refreshed while changed secrets were updated, refreshing again");
+            credentialsIndex.refreshNow();
+        }
+    }
+
     @Override
     public CredentialsStore getStore(ModelObject object) {
         return object == Jenkins.get() ? store : null;
@@ -68,7 +161,12 @@ public class AwsCredentialsProvider extends CredentialsProvider {
         return "icon-aws-secrets-manager-credentials-store";
     }
 
-    private static <T> Supplier<T> memoizeWithExpiration(Supplier<T> base, Supplier<Duration> duration) {
-        return CustomSuppliers.memoizeWithExpiration(base, duration);
+    private static Supplier<CredentialsIndex> indexed(Supplier<Collection<StandardCredentials>> base) {
+        return () -> CredentialsIndex.of(base.get());
+    }
+
+    private static <T> CustomSuppliers.RefreshAheadMemoizingSupplier<T> memoizeWithRefreshAhead(Supplier<T> base, Supplier<Duration> duration, Supplier<Double> refreshAhead, Supplier<Duration> maxStaleness) {
+        // Refresh on the plugin's own executor, so that a slow listing does not hold up the shared Jenkins timer
+        return CustomSuppliers.memoizeWithRefreshAhead(base, duration, refreshAhead, maxStaleness, SecretsManagerBulkhead.get().getExecutor());
     }
 }
\ No newline at end of file
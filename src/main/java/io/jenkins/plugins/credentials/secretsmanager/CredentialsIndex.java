@@ -0,0 +1,75 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import com.cloudbees.jenkins.plugins.sshcredentials.SSHUserPrivateKey;
+import com.cloudbees.plugins.credentials.Credentials;
+import com.cloudbees.plugins.credentials.common.StandardCertificateCredentials;
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import org.jenkinsci.plugins.plaincredentials.FileCredentials;
+import org.jenkinsci.plugins.plaincredentials.StringCredentials;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable snapshot of the credentials list, indexed by credential type, so that lookups neither scan nor copy the
+ * whole list.
+ *
+ * The lists for the credential types that this plugin produces are computed up front, when the snapshot is built. The
+ * lists for any other requested type are computed on first use, and then reused for the lifetime of the snapshot.
+ */
+final class CredentialsIndex {
+
+    private static final List<Class<? extends Credentials>> KNOWN_TYPES = List.of(
+            Credentials.class,
+            StandardCredentials.class,
+            StringCredentials.class,
+            StandardUsernamePasswordCredentials.class,
+            SSHUserPrivateKey.class,
+            StandardCertificateCredentials.class,
+            FileCredentials.class);
+
+    private final List<StandardCredentials> credentials;
+
+    private final ConcurrentMap<Class<?>, List<?>> byType = new ConcurrentHashMap<>();
+
+    private CredentialsIndex(List<StandardCredentials> credentials) {
+        this.credentials = credentials;
+
+        for (Class<? extends Credentials> type : KNOWN_TYPES) {
+            byType.put(type, filter(type));
+        }
+    }
+
+    static CredentialsIndex of(Collection<StandardCredentials> credentials) {
+        return new CredentialsIndex(List.copyOf(credentials));
+    }
+
+    /**
+     * Get the credentials that are assignable to a type.
+     *
+     * @return an unmodifiable list, which is shared between callers
+     */
+    @SuppressWarnings("unchecked")
+    <C extends Credentials> List<C> get(Class<C> type) {
+        List<?> matches = byType.get(type);
+        if (matches == null) {
+            matches = byType.computeIfAbsent(type, this::filter);
+        }
+        return (List<C>) matches;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C> List<C> filter(Class<C> type) {
+        final List<C> matches = credentials.stream()
+                .filter(c -> type.isAssignableFrom(c.getClass()))
+                // cast to keep generics happy even though we are assignable
+                .map(type::cast)
+                .collect(Collectors.toUnmodifiableList());
+        // When every credential is of the type (as they are for the most general types), share the full list instead
+        return matches.size() == credentials.size() ? (List<C>) credentials : matches;
+    }
+}
@@ -2,38 +2,90 @@ package io.jenkins.plugins.credentials.secretsmanager;
 
 import com.google.common.base.Preconditions;
 
-import java.io.Serializable;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Adaptation of Guava's ExpiringMemoizingSupplier which adds lazy duration lookup functionality.
+ * A memoizing supplier with lazy duration lookup, refresh-ahead and backoff, adapted from Guava's
+ * ExpiringMemoizingSupplier.
  *
  * @see <a href="https://github.com/google/guava/blob/v29.0/guava/src/com/google/common/base/Suppliers.java">Suppliers.java</a>
  */
 final class CustomSuppliers {
 
+    private static final Duration BACKOFF_BASE = Duration.ofSeconds(1);
+    private static final Duration BACKOFF_CAP = Duration.ofMinutes(5);
+
     private CustomSuppliers() {
 
     }
 
-    public static <T> Supplier<T> memoizeWithExpiration(
-            Supplier<T> delegate, Supplier<Duration> duration) {
-        return new ExpiringMemoizingSupplier<>(delegate, duration);
+    /**
+     * Memoize with expiration, and refresh the value on the executor once the given fraction of the duration has
+     * passed (shortly before it expires). Callers keep getting
+     * the current value without blocking while the refresh runs (stale-while-revalidate). A call made after the value
+     * has expired gets it too, and starts the refresh if none is running. Only the first call, and calls made after the
+     * value is older than the maximum staleness, wait for the delegate.
+     *
+     * If a refresh fails, the last good value keeps being served until it is older than the maximum staleness, and
+     * further refreshes are only attempted after a jittered exponential backoff.
+     *
+     * A duration of a single nanosecond (which is what a disabled cache is normalized to) means that the value is not
+     * cached at all: every call waits for the delegate, and the previous value is only served if the delegate fails.
+     */
+    public static <T> RefreshAheadMemoizingSupplier<T> memoizeWithRefreshAhead(
+            Supplier<T> delegate, Supplier<Duration> duration, Supplier<Double> refreshAhead, Supplier<Duration> maxStaleness, Executor executor) {
+        return new RefreshAheadMemoizingSupplier<>(delegate, duration, refreshAhead, maxStaleness, executor, System::nanoTime,
+                new Backoff(BACKOFF_BASE, BACKOFF_CAP, ThreadLocalRandom::current));
     }
 
-    static class ExpiringMemoizingSupplier<T>
-            implements Supplier<T>, Serializable {
+    static class RefreshAheadMemoizingSupplier<T> implements Supplier<T> {
+
+        private static final Logger LOG = Logger.getLogger(RefreshAheadMemoizingSupplier.class.getName());
+
         final Supplier<T> delegate;
         final Supplier<Duration> duration;
-        transient volatile T value;
-        // The special value 0 means "not yet initialized".
-        transient volatile long expirationNanos;
+        // The fraction of the duration after which a background refresh is started.
+        final Supplier<Double> refreshAhead;
+        final Supplier<Duration> maxStaleness;
+        final Executor executor;
+        final LongSupplier ticker;
+        final Backoff backoff;
+        // Loads and refreshes call the delegate (which makes AWS calls) while holding this. A lock rather than
+        // synchronized, as a virtual thread that waits in a synchronized block pins its carrier thread.
+        final ReentrantLock lock = new ReentrantLock();
+        // Value and deadlines are swapped in one holder, so that readers need a single volatile read.
+        volatile Entry<T> entry;
+        // Written under the lock, read without it.
+        volatile Failure failure;
+        // The number of values loaded (or seeded) so far. Guarded by the lock.
+        long generations = 0;
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+        // Calls that got a value without waiting for the delegate, and calls that had to wait.
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
 
-        ExpiringMemoizingSupplier(
-                Supplier<T> delegate, Supplier<Duration> duration) {
+        RefreshAheadMemoizingSupplier(
+                Supplier<T> delegate, Supplier<Duration> duration, Supplier<Double> refreshAhead, Supplier<Duration> maxStaleness,
+                Executor executor, LongSupplier ticker, Backoff backoff) {
             this.delegate = Preconditions.checkNotNull(delegate);
             this.duration = duration;
+            this.refreshAhead = refreshAhead;
+            this.maxStaleness = maxStaleness;
+            this.executor = Preconditions.checkNotNull(executor);
+            this.ticker = ticker;
+            this.backoff = backoff;
         }
 
         private long getDurationNanos() {
@@ -42,32 +94,285 @@ final class CustomSuppliers {
             return d.toNanos();
         }
 
+        private double getRefreshAhead() {
+            double r = refreshAhead.get();
+            Preconditions.checkArgument(r > 0 && r <= 1);
+            return r;
+        }
+
+        private long getMaxStalenessNanos() {
+            Duration d = maxStaleness.get();
+            Preconditions.checkArgument(!d.isNegative());
+            return d.toNanos();
+        }
+
         @Override
         public T get() {
-            // Another variant of Double Checked Locking.
-            //
-            // We use two volatile reads.  We could reduce this to one by
-            // putting our fields into a holder class, but (at least on x86)
-            // the extra memory consumption and indirection are more
-            // expensive than the extra volatile reads.
-            long nanos = expirationNanos;
-            long now = System.nanoTime();
-            if (nanos == 0 || now - nanos >= 0) {
-                synchronized (this) {
-                    if (nanos == expirationNanos) {  // recheck for lost race
-                        T t = delegate.get();
-                        value = t;
-                        nanos = now + getDurationNanos();
-                        // In the very unlikely event that nanos is 0, set it to 1;
-                        // no one will notice 1 ns of tardiness.
-                        expirationNanos = (nanos == 0) ? 1 : nanos;
-                        return t;
+            final Entry<T> e = entry;
+            final long now = ticker.getAsLong();
+
+            if (e != null && now - e.expirationNanos < 0) {
+                if (now - e.refreshNanos >= 0 && !isBackingOff(now)) {
+                    refreshInBackground(e);
+                }
+                hits.increment();
+                return e.value;
+            }
+
+            // Staleness is counted from the load, so a max staleness below the duration ends with the expiry
+            if (e != null && now - e.loadedNanos < getMaxStalenessNanos()) {
+                // Expired, but still usable as a last-known-good value
+                if (!isBackingOff(now)) {
+                    if (!e.isCached()) {
+                        try {
+                            return load(e);
+                        } catch (RuntimeException ex) {
+                            LOG.log(Level.WARNING, "Could not refresh, serving the previous value: message=[{0}]", ex.getMessage());
+                            return e.value;
+                        }
                     }
+                    refreshInBackground(e);
+                }
+                hits.increment();
+                return e.value;
+            }
+
+            // Nothing usable (never loaded, or too stale to serve)
+            if (e != null) {
+                drop(e);
+            }
+            return load(null);
+        }
+
+        /**
+         * The generation of the current value, to pass to {@link #update(long, Object)}, or 0 if there is no current
+         * value. A new generation starts whenever the value is loaded (or seeded), but not when it is updated.
+         */
+        long getGeneration() {
+            final Entry<T> e = entry;
+            return e == null ? 0 : e.generation;
+        }
+
+        /**
+         * Replace the current value with an updated one, without moving its deadlines, so that the update does not put
+         * off the next full refresh.
+         *
+         * The update is only applied if the value is still of the given generation (which the caller read before it
+         * started working out the update). Otherwise a load has replaced the value in the meantime, and the update,
+         * being derived from the older value, would overwrite a newer one.
+         *
+         * @return whether the update was applied
+         */
+        boolean update(long generation, T value) {
+            lock.lock();
+            try {
+                final Entry<T> e = entry;
+                if (e == null || e.generation != generation) {
+                    return false;
+                }
+                entry = new Entry<>(value, e.generation, e.loadedNanos, e.refreshNanos, e.expirationNanos);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Provide a provisional value (for example, one restored from disk) before the first load, and start a
+         * background refresh to revalidate it. Until the refresh succeeds, the provisional value is served like any
+         * other: up to the expiration, and then as a last-known-good value. Does nothing if there is a current value
+         * already.
+         */
+        void seed(T value) {
+            lock.lock();
+            try {
+                if (entry != null) {
+                    return;
+                }
+                final long now = ticker.getAsLong();
+                entry = new Entry<>(value, ++generations, now, now, now + getDurationNanos());
+            } finally {
+                lock.unlock();
+            }
+            refreshNow();
+        }
+
+        /**
+         * Start a background refresh now, instead of at the refresh point. Does nothing if there is no current value (as
+         * the next call loads one anyway), or if refreshes are backing off.
+         */
+        void refreshNow() {
+            final Entry<T> e = entry;
+            if (e != null && !isBackingOff(ticker.getAsLong())) {
+                refreshInBackground(e);
+            }
+        }
+
+        /**
+         * How long ago the current value was loaded, or empty if there is no current value.
+         */
+        Optional<Duration> getAge() {
+            final Entry<T> e = entry;
+            return e == null ? Optional.empty() : Optional.of(Duration.ofNanos(ticker.getAsLong() - e.loadedNanos));
+        }
+
+        long getHits() {
+            return hits.sum();
+        }
+
+        long getMisses() {
+            return misses.sum();
+        }
+
+        private boolean isBackingOff(long now) {
+            final Failure f = failure;
+            return f != null && now - f.nextAttemptNanos < 0;
+        }
+
+        private T load(Entry<T> seen) {
+            lock.lock();
+            try {
+                final Entry<T> current = entry;
+                if (current != seen && current != null) {  // recheck for lost race
+                    hits.increment();
+                    return current.value;
+                }
+                misses.increment();
+                final Failure f = failure;
+                if (f != null && ticker.getAsLong() - f.nextAttemptNanos < 0) {
+                    throw new IllegalStateException(
+                            String.format("Not retrying until backoff expires (%d failed attempts): %s", f.attempts, f.cause.getMessage()),
+                            f.cause);
+                }
+                final Entry<T> e = compute();
+                entry = e;
+                return e.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void drop(Entry<T> seen) {
+            lock.lock();
+            try {
+                if (entry == seen) {
+                    LOG.warning("Dropping the previous value, because it is older than the maximum staleness");
+                    entry = null;
                 }
+            } finally {
+                lock.unlock();
             }
-            return value;
         }
 
-        private static final long serialVersionUID = 0;
+        private void refreshInBackground(Entry<T> seen) {
+            if (!refreshing.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        lock.lock();
+                        try {
+                            if (entry == seen) {  // a synchronous load may have beaten us to it
+                                entry = compute();
+                            }
+                        } finally {
+                            lock.unlock();
+                        }
+                    } catch (RuntimeException ex) {
+                        // Keep serving the current value; the next refresh waits for the backoff.
+                        LOG.log(Level.WARNING, "Could not refresh in the background: message=[{0}]", ex.getMessage());
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                refreshing.set(false);
+                LOG.log(Level.FINE, "Background refresh was rejected", ex);
+            }
+        }
+
+        /**
+         * Call the delegate, and record the outcome. Must be called with the lock held.
+         */
+        private Entry<T> compute() {
+            final T t;
+            try {
+                t = delegate.get();
+            } catch (RuntimeException ex) {
+                final int attempts = failure == null ? 1 : failure.attempts + 1;
+                final long delay = backoff.delayNanos(attempts);
+                failure = new Failure(attempts, ticker.getAsLong() + delay, ex);
+                LOG.log(Level.FINE, "Refresh attempt {0} failed, backing off for {1} ms",
+                        new Object[]{attempts, Duration.ofNanos(delay).toMillis()});
+                throw ex;
+            }
+
+            failure = null;
+            final long now = ticker.getAsLong();
+            final long durationNanos = getDurationNanos();
+            return new Entry<>(t, ++generations, now, now + (long) (durationNanos * getRefreshAhead()), now + durationNanos);
+        }
+
+        private static final class Entry<T> {
+            final T value;
+            final long generation;
+            final long loadedNanos;
+            final long refreshNanos;
+            final long expirationNanos;
+
+            private Entry(T value, long generation, long loadedNanos, long refreshNanos, long expirationNanos) {
+                this.value = value;
+                this.generation = generation;
+                this.loadedNanos = loadedNanos;
+                this.refreshNanos = refreshNanos;
+                this.expirationNanos = expirationNanos;
+            }
+
+            /**
+             * Whether the value was meant to be kept at all (rather than expiring straight away).
+             */
+            boolean isCached() {
+                return expirationNanos - loadedNanos > 1;
+            }
+        }
+
+        private static final class Failure {
+            final int attempts;
+            final long nextAttemptNanos;
+            final RuntimeException cause;
+
+            private Failure(int attempts, long nextAttemptNanos, RuntimeException cause) {
+                this.attempts = attempts;
+                this.nextAttemptNanos = nextAttemptNanos;
+                this.cause = cause;
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter: the delay after the nth consecutive failure is somewhere between half and
+     * all of {@code min(cap, base * 2^(n-1))}.
+     */
+    static class Backoff {
+
+        private final long baseNanos;
+        private final long capNanos;
+        private final Supplier<Random> random;
+
+        Backoff(Duration base, Duration cap, Supplier<Random> random) {
+            this.baseNanos = base.toNanos();
+            this.capNanos = cap.toNanos();
+            this.random = random;
+        }
+
+        long delayNanos(int attempts) {
+            // Avoid overflow: beyond this shift the cap applies anyway
+            final int shift = Math.min(attempts - 1, 30);
+            final long exponential = Math.min(capNanos, baseNanos << shift);
+            final long half = exponential / 2;
+            return half + (long) (random.get().nextDouble() * (exponential - half));
+        }
     }
 }
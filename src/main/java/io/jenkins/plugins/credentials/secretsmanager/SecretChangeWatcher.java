@@ -0,0 +1,134 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import io.jenkins.plugins.credentials.secretsmanager.config.ChangeFeed;
+import io.jenkins.plugins.credentials.secretsmanager.config.Client;
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.events.SecretChangeSource;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Listen to the change feed (if there is one), and pass on the changed secrets to the credentials provider.
+ *
+ * Each run long polls the feed for most of the recurrence period, so that changes arrive within seconds, while the
+ * work stays visible (and restartable) as an ordinary periodic task.
+ */
+@Extension
+@SuppressWarnings("unused")
+public class SecretChangeWatcher extends AsyncPeriodicWork {
+
+    private static final Logger LOG = Logger.getLogger(SecretChangeWatcher.class.getName());
+
+    private static final Duration RECURRENCE_PERIOD = Duration.ofMinutes(1);
+
+    /** How long each run listens for. This leaves a margin before the next run is due. */
+    private static final Duration LISTEN_TIME = Duration.ofSeconds(50);
+
+    /** The longest single wait for the feed (SQS does not long poll for more than 20 seconds). */
+    private static final Duration MAX_WAIT = Duration.ofSeconds(20);
+
+    /** The feed configuration that the current source was built from. Only touched by the (serial) runs. */
+    private Key key;
+
+    private SecretChangeSource source;
+
+    public SecretChangeWatcher() {
+        super("AWS Secrets Manager change feed");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return RECURRENCE_PERIOD.toMillis();
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws InterruptedException {
+        final var config = PluginConfiguration.getInstance();
+        final var changeFeed = config.getChangeFeed();
+
+        if (changeFeed == null || changeFeed.getSource() == null) {
+            close();
+            return;
+        }
+
+        final var nextKey = new Key(changeFeed, config.getClient());
+        if (!nextKey.equals(key)) {
+            close();
+            source = changeFeed.build(config.getClient());
+            key = nextKey;
+        }
+
+        final var provider = ExtensionList.lookupSingleton(AwsCredentialsProvider.class);
+
+        try {
+            listen(source, LISTEN_TIME, provider::onSecretsChanged);
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Could not receive Secrets Manager change events: message=[{0}]", e.getMessage());
+            // Start again with a new source on the next run
+            close();
+        }
+    }
+
+    /**
+     * Poll the source until the listen time has passed, passing on each non-empty set of changes.
+     */
+    static void listen(SecretChangeSource source, Duration listenTime, Consumer<Collection<String>> onChange) throws InterruptedException {
+        final var deadline = System.nanoTime() + listenTime.toNanos();
+
+        for (var remaining = listenTime; !remaining.isNegative() && !remaining.isZero(); remaining = Duration.ofNanos(deadline - System.nanoTime())) {
+            final var wait = remaining.compareTo(MAX_WAIT) < 0 ? remaining : MAX_WAIT;
+            final var changed = source.poll(wait);
+
+            if (!changed.isEmpty()) {
+                LOG.log(Level.FINE, "Secrets changed: secrets=[{0}]", changed);
+                onChange.accept(changed);
+            }
+        }
+    }
+
+    private void close() {
+        if (source != null) {
+            try {
+                source.close();
+            } catch (RuntimeException e) {
+                LOG.log(Level.FINE, "Could not close the change feed: message=[{0}]", e.getMessage());
+            }
+        }
+        source = null;
+        key = null;
+    }
+
+    private static final class Key {
+
+        private final ChangeFeed changeFeed;
+        private final Client client;
+
+        private Key(ChangeFeed changeFeed, Client client) {
+            this.changeFeed = changeFeed;
+            this.client = client;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return Objects.equals(changeFeed, that.changeFeed) &&
+                    Objects.equals(client, that.client);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(changeFeed, client);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import jenkins.model.Jenkins;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The plugin's own bulkhead for AWS I/O, so that its blocking calls never run on (or starve) the threads that the rest
+ * of Jenkins shares, like the common ForkJoinPool or the Jenkins timer.
+ *
+ * Background work runs on virtual threads, which cost next to nothing while they wait on the network. How many Secrets
+ * Manager API calls may be in flight at once is capped separately, so that a burst of work waits its turn in the plugin
+ * rather than in the HTTP connection pool. A call on the blocking client waits for a slot in an interceptor, on the
+ * calling thread. A call on the non-blocking client must not block (it may be started from the client's event loop), so
+ * it is queued instead, and started once a slot is free. The cap is looked up on every call, so a configuration change
+ * takes effect straight away.
+ */
+public final class SecretsManagerBulkhead {
+
+    private static final SecretsManagerBulkhead INSTANCE = new SecretsManagerBulkhead(SecretsManagerBulkhead::getConfiguredMaxConcurrency);
+
+    /** Marks a call that holds a slot, so that the slot is given back exactly once. */
+    private static final ExecutionAttribute<Boolean> ACQUIRED = new ExecutionAttribute<>("SecretsManagerBulkhead.acquired");
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("aws-secrets-manager-io-", 0)
+            .factory());
+
+    private final ExecutionInterceptor interceptor = new Interceptor();
+
+    private final IntSupplier maxConcurrency;
+
+    // A lock rather than synchronized, as a virtual thread that waits in a synchronized block pins its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    /** Guarded by lock. */
+    private int inFlight = 0;
+
+    /** Non-blocking calls that wait for a slot, oldest first. Guarded by lock. */
+    private final Deque<Runnable> queued = new ArrayDeque<>();
+
+    SecretsManagerBulkhead(IntSupplier maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public static SecretsManagerBulkhead get() {
+        return INSTANCE;
+    }
+
+    /**
+     * The configured cap, or the default when Jenkins is not running (as in unit tests and benchmarks).
+     */
+    private static int getConfiguredMaxConcurrency() {
+        final Integer maxConcurrency = Jenkins.getInstanceOrNull() == null ? null : PluginConfiguration.getInstance().getMaxConcurrency();
+        return PluginConfiguration.normalizeMaxConcurrency(maxConcurrency);
+    }
+
+    /**
+     * The executor to run the plugin's background AWS work on. Each task gets its own virtual thread.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * The interceptor that caps the Secrets Manager calls in flight. Add it to every blocking Secrets Manager client.
+     */
+    public ExecutionInterceptor getInterceptor() {
+        return interceptor;
+    }
+
+    /**
+     * Wait until a call may be made.
+     *
+     * @throws IllegalStateException if the thread was interrupted while waiting
+     */
+    void acquire() {
+        lock.lock();
+        try {
+            while (inFlight >= maxConcurrency.getAsInt()) {
+                released.await();
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free Secrets Manager call slot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Make a call on the non-blocking client once a slot is free, without blocking the caller. The slot is held until
+     * the call's future completes.
+     *
+     * @param call starts the call
+     * @return the result of the call
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Runnable start = () -> {
+            final CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                release();
+                result.completeExceptionally(e);
+                return;
+            }
+            future.whenComplete((value, e) -> {
+                release();
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+
+        final boolean acquired;
+        lock.lock();
+        try {
+            acquired = inFlight < maxConcurrency.getAsInt();
+            if (acquired) {
+                inFlight++;
+            } else {
+                queued.add(start);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (acquired) {
+            start.run();
+        }
+        return result;
+    }
+
+    void release() {
+        final Runnable next;
+        lock.lock();
+        try {
+            inFlight--;
+            next = inFlight < maxConcurrency.getAsInt() ? queued.poll() : null;
+            if (next != null) {
+                // The slot goes straight to the oldest queued call
+                inFlight++;
+            } else {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (next != null) {
+            // Not on this thread, which may be the client's event loop, or a caller that is done with its own call
+            executor.execute(next);
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Holds a slot from the start of each API call (before any retries) until it succeeds or fails for good.
+     */
+    private final class Interceptor implements ExecutionInterceptor {
+
+        @Override
+        public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+            acquire();
+            executionAttributes.putAttribute(ACQUIRED, true);
+        }
+
+        @Override
+        public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+            releaseOnce(executionAttributes);
+        }
+
+        @Override
+        public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+            releaseOnce(executionAttributes);
+        }
+
+        private void releaseOnce(ExecutionAttributes executionAttributes) {
+            if (Boolean.TRUE.equals(executionAttributes.getAttribute(ACQUIRED))) {
+                executionAttributes.putAttribute(ACQUIRED, false);
+                release();
+            }
+        }
+    }
+}
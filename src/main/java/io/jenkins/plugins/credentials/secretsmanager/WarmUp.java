@@ -0,0 +1,42 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import hudson.ExtensionList;
+import hudson.Main;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import jenkins.util.SystemProperties;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Warm up the credentials cache in the background as soon as the plugin configuration has loaded, so that the first
+ * lookup after a restart (typically a build, or a user opening a job configuration page) does not have to wait for
+ * Secrets Manager.
+ *
+ * The warm-up can be turned off with the system property {@code io.jenkins.plugins.credentials.secretsmanager.WarmUp.disabled=true}
+ * (for example, on a controller that should not call AWS until it is first needed). It is always off under the Jenkins
+ * test harness, as tests configure the plugin and create their secrets after startup.
+ */
+public final class WarmUp {
+
+    private static final Logger LOG = Logger.getLogger(WarmUp.class.getName());
+
+    static final String DISABLED = WarmUp.class.getName() + ".disabled";
+
+    private WarmUp() {
+
+    }
+
+    @Initializer(after = InitMilestone.SYSTEM_CONFIG_LOADED)
+    @SuppressWarnings("unused")
+    public static void warmUp() {
+        if (SystemProperties.getBoolean(DISABLED) || Main.isUnitTest) {
+            LOG.log(Level.FINE, "Not warming up the credentials cache, as it is disabled");
+            return;
+        }
+
+        final var provider = ExtensionList.lookupSingleton(AwsCredentialsProvider.class);
+        SecretsManagerBulkhead.get().getExecutor().execute(provider::warmUp);
+    }
+}
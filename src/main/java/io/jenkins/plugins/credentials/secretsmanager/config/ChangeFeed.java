@@ -0,0 +1,79 @@
+package io.jenkins.plugins.credentials.secretsmanager.config;
+
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import io.jenkins.plugins.credentials.secretsmanager.Messages;
+import io.jenkins.plugins.credentials.secretsmanager.config.changeSource.ChangeSource;
+import io.jenkins.plugins.credentials.secretsmanager.config.changeSource.SqsQueue;
+import io.jenkins.plugins.credentials.secretsmanager.events.SecretChangeSource;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A feed of Secrets Manager change events, so that changed secrets show up without waiting for the next full refresh.
+ */
+public class ChangeFeed extends AbstractDescribableImpl<ChangeFeed> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ChangeSource source;
+
+    @DataBoundConstructor
+    public ChangeFeed(ChangeSource source) {
+        this.source = source;
+    }
+
+    public ChangeSource getSource() {
+        return source;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setSource(ChangeSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Connect to the source of change events.
+     *
+     * @param client the main Secrets Manager client (may be null)
+     */
+    public SecretChangeSource build(Client client) {
+        return source.build(client);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChangeFeed that = (ChangeFeed) o;
+        return Objects.equals(source, that.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(source);
+    }
+
+    @Extension
+    @Symbol("changeFeed")
+    @SuppressWarnings("unused")
+    public static class DescriptorImpl extends Descriptor<ChangeFeed> {
+
+        public ChangeSource getDefaultSource() {
+            return new SqsQueue(null);
+        }
+
+        @Override
+        @Nonnull
+        public String getDisplayName() {
+            return Messages.changeFeed();
+        }
+    }
+}
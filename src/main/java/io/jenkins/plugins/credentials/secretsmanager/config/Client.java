@@ -1,8 +1,14 @@
 package io.jenkins.plugins.credentials.secretsmanager.config;
 
 import org.apache.http.client.utils.URIBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsSyncClientBuilder;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 import hudson.Extension;
 import hudson.ProxyConfiguration;
@@ -12,8 +18,10 @@ import hudson.model.Descriptor;
 import hudson.util.ListBoxModel;
 import hudson.util.Secret;
 import io.jenkins.plugins.credentials.secretsmanager.Messages;
+import io.jenkins.plugins.credentials.secretsmanager.SecretsManagerBulkhead;
 import io.jenkins.plugins.credentials.secretsmanager.config.credentialsProvider.CredentialsProvider;
 import io.jenkins.plugins.credentials.secretsmanager.config.credentialsProvider.DefaultAWSCredentialsProviderChain;
+import io.jenkins.plugins.credentials.secretsmanager.metrics.SecretsManagerMetrics;
 import jenkins.model.Jenkins;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
@@ -26,6 +34,7 @@ import java.net.URISyntaxException;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class Client extends AbstractDescribableImpl<Client> implements Serializable {
 
@@ -110,27 +119,101 @@ public class Client extends AbstractDescribableImpl<Client> implements Serializa
                 .build();
     }
 
+    static software.amazon.awssdk.http.nio.netty.ProxyConfiguration toAwsAsyncProxyConfiguration(ProxyConfiguration conf) {
+        return software.amazon.awssdk.http.nio.netty.ProxyConfiguration.builder()
+                .nonProxyHosts(Collections.singleton(conf.getNoProxyHost()))
+                .host(conf.getName())
+                .port(conf.getPort())
+                .username(conf.getUserName())
+                .password(Secret.toString(conf.getSecretPassword()))
+                .build();
+    }
+
     public SecretsManagerClient build() {
         final var builder = SecretsManagerClient.builder();
 
-        if (clientConfiguration != null) {
-            builder.httpClient(clientConfiguration.build());
-        } else {
-            // If Jenkins has a system-wide proxy configuration set, use it.
-            // Otherwise, leave the AWS client configuration as default.
-            final var proxyConfiguration = getProxyConfiguration();
+        configureHttpClient(builder);
+
+        configure(builder, o -> {
+            instrument(o);
+            // Blocks the calling thread until a call slot is free, which only the blocking client may do
+            o.addExecutionInterceptor(SecretsManagerBulkhead.get().getInterceptor());
+        });
+
+        return builder.build();
+    }
+
+    /**
+     * Set up the builder of a client for another AWS service that the plugin uses alongside Secrets Manager (like the
+     * SQS queue of a change feed), so that it connects the same way: through the same proxy, with the same HTTP client,
+     * retry and timeout settings, credentials, endpoint and region.
+     *
+     * The Secrets Manager metrics and bulkhead are not applied, as they only concern Secrets Manager calls.
+     */
+    public <B extends AwsSyncClientBuilder<B, ?> & AwsClientBuilder<B, ?>> B configureOtherService(B builder) {
+        configureHttpClient(builder);
+        configure(builder, o -> {});
+        return builder;
+    }
 
-            proxyConfiguration.ifPresent(p -> {
-                final var proxyClientConfiguration = toAwsProxyConfiguration(p);
+    private void configureHttpClient(AwsSyncClientBuilder<?, ?> builder) {
+        // Pass HTTP client builders (not built HTTP clients) so that the SDK owns the connection pool, and closes it
+        // when the Secrets Manager client is closed.
+        final var jenkinsProxy = getJenkinsProxy(clientConfiguration, getProxyConfiguration());
+        if (jenkinsProxy.isPresent()) {
+            builder.httpClientBuilder(ApacheHttpClient.builder()
+                    .proxyConfiguration(toAwsProxyConfiguration(jenkinsProxy.get())));
+        } else if (clientConfiguration != null) {
+            builder.httpClientBuilder(clientConfiguration.build());
+        }
+        // Otherwise, leave the AWS client configuration as default.
+    }
 
-                final var httpClient = ApacheHttpClient.builder()
-                        .proxyConfiguration(proxyClientConfiguration)
-                        .build();
+    /**
+     * The Jenkins system-wide proxy settings, if the client uses them. A client configuration replaces them entirely,
+     * even if it does not set a proxy of its own.
+     */
+    static Optional<ProxyConfiguration> getJenkinsProxy(ClientConfiguration clientConfiguration, Optional<ProxyConfiguration> jenkinsProxy) {
+        return clientConfiguration == null ? jenkinsProxy : Optional.empty();
+    }
 
-                builder.httpClient(httpClient);
-            });
+    /**
+     * Build the non-blocking equivalent of {@link #build()}, whose calls run on a small, shared event loop instead of
+     * on the calling thread.
+     */
+    public SecretsManagerAsyncClient buildAsync() {
+        final var builder = SecretsManagerAsyncClient.builder();
+
+        final var jenkinsProxy = getJenkinsProxy(clientConfiguration, getProxyConfiguration());
+        if (jenkinsProxy.isPresent()) {
+            builder.httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                    .proxyConfiguration(toAwsAsyncProxyConfiguration(jenkinsProxy.get())));
+        } else if (clientConfiguration != null) {
+            builder.httpClientBuilder(clientConfiguration.buildAsync());
         }
 
+        // Complete the futures on the event loop rather than handing them to another thread pool, as the plugin only
+        // does a little work on each response, and never blocks in a callback
+        builder.asyncConfiguration(a -> a.advancedOption(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, Runnable::run));
+
+        configure(builder, Client::instrument);
+
+        return builder.build();
+    }
+
+    /**
+     * Instrument a Secrets Manager client with the plugin's metrics. The non-blocking client's calls go through
+     * {@link SecretsManagerBulkhead#callAsync} instead of the bulkhead's interceptor.
+     */
+    private static void instrument(ClientOverrideConfiguration.Builder o) {
+        o.addMetricPublisher(SecretsManagerMetrics.get().getPublisher());
+    }
+
+    /**
+     * Apply the settings that all clients have in common, plus any client-specific overrides (which have to be set in
+     * the same call, as each call replaces the override configuration).
+     */
+    private <B extends AwsClientBuilder<B, ?>> void configure(B builder, Consumer<ClientOverrideConfiguration.Builder> override) {
         if (credentialsProvider != null) {
             builder.credentialsProvider(credentialsProvider.build());
         }
@@ -145,7 +228,12 @@ public class Client extends AbstractDescribableImpl<Client> implements Serializa
             builder.region(theRegion);
         }
 
-        return builder.build();
+        builder.overrideConfiguration(o -> {
+            override.accept(o);
+            if (clientConfiguration != null) {
+                clientConfiguration.configure(o);
+            }
+        });
     }
 
     @Override
@@ -1,38 +1,84 @@
 package io.jenkins.plugins.credentials.secretsmanager.config;
 
 import hudson.Extension;
+import hudson.Util;
 import hudson.model.AbstractDescribableImpl;
 import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
 import hudson.util.Secret;
 import io.jenkins.plugins.credentials.secretsmanager.Messages;
 import org.apache.http.client.utils.URIBuilder;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
-import software.amazon.awssdk.http.SdkHttpClient;
+import org.kohsuke.stapler.QueryParameter;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.http.apache.ProxyConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 
 import javax.annotation.Nonnull;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
- * Configure the HTTP client used by the AWS SDK.
+ * Configure the HTTP client used by the AWS SDK (its proxy, connection pool and transport settings), and how the SDK
+ * retries and times out API calls.
  */
 public class ClientConfiguration extends AbstractDescribableImpl<ClientConfiguration> implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    static final String STANDARD = "standard";
+    static final String ADAPTIVE = "adaptive";
+
     private String nonProxyHosts;
     private String proxyHost;
     private Integer proxyPort;
     private String proxyUsername;
     private Secret proxyPassword;
 
+    /** The most connections in the HTTP connection pool, or null for the SDK default (50). */
+    private Integer maxConnections;
+
+    /** How long (in seconds) a pooled connection may live for, or null for no limit. */
+    private Integer connectionTimeToLive;
+
+    /** How long (in seconds) a pooled connection may sit idle before it is closed, or null for the SDK default. */
+    private Integer connectionMaxIdleTime;
+
+    /** Whether to stop the SDK from closing idle pooled connections in the background. */
+    private boolean disableIdleConnectionReaper;
+
+    /** Whether to turn on TCP keep-alive for connections. */
+    private boolean tcpKeepAlive;
+
+    /** How long (in seconds) to wait for data on an open connection, or null for the SDK default. */
+    private Integer socketTimeout;
+
+    /** How long (in seconds) to wait for a connection to be established, or null for the SDK default. */
+    private Integer connectionTimeout;
+
+    /** The SDK retry mode ({@code standard} or {@code adaptive}), or null for the SDK default. */
+    private String retryMode;
+
+    /** The most attempts per API call (including the first), or null for the retry mode's default. */
+    private Integer maxAttempts;
+
+    /** How long (in seconds) an API call may take, including retries, or null for no limit. */
+    private Integer apiCallTimeout;
+
+    /** How long (in seconds) each attempt of an API call may take, or null for no limit. */
+    private Integer apiCallAttemptTimeout;
+
     @DataBoundConstructor
     public ClientConfiguration(String nonProxyHosts, String proxyHost, Integer proxyPort, String proxyUsername, Secret proxyPassword) {
         this.nonProxyHosts = nonProxyHosts;
@@ -87,23 +133,268 @@ public class ClientConfiguration extends AbstractDescribableImpl<ClientConfigura
         this.proxyPassword = proxyPassword;
     }
 
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    @DataBoundSetter
+    public void setMaxConnections(Integer maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public Integer getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+
+    @DataBoundSetter
+    public void setConnectionTimeToLive(Integer connectionTimeToLive) {
+        this.connectionTimeToLive = connectionTimeToLive;
+    }
+
+    public Integer getConnectionMaxIdleTime() {
+        return connectionMaxIdleTime;
+    }
+
+    @DataBoundSetter
+    public void setConnectionMaxIdleTime(Integer connectionMaxIdleTime) {
+        this.connectionMaxIdleTime = connectionMaxIdleTime;
+    }
+
+    public boolean isDisableIdleConnectionReaper() {
+        return disableIdleConnectionReaper;
+    }
+
+    @DataBoundSetter
+    public void setDisableIdleConnectionReaper(boolean disableIdleConnectionReaper) {
+        this.disableIdleConnectionReaper = disableIdleConnectionReaper;
+    }
+
+    public boolean isTcpKeepAlive() {
+        return tcpKeepAlive;
+    }
+
+    @DataBoundSetter
+    public void setTcpKeepAlive(boolean tcpKeepAlive) {
+        this.tcpKeepAlive = tcpKeepAlive;
+    }
+
+    public Integer getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    @DataBoundSetter
+    public void setSocketTimeout(Integer socketTimeout) {
+        this.socketTimeout = socketTimeout;
+    }
+
+    public Integer getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    @DataBoundSetter
+    public void setConnectionTimeout(Integer connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public String getRetryMode() {
+        return retryMode;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the retry mode is not one that the plugin knows, so that a bad value is
+     *                                  rejected when the configuration is applied rather than when a client is built.
+     */
+    @DataBoundSetter
+    public void setRetryMode(String retryMode) {
+        final var mode = normalizeRetryMode(retryMode);
+        toRetryMode(mode);
+        this.retryMode = mode;
+    }
+
+    public Integer getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the max attempts is less than 1, so that a bad value is rejected when the
+     *                                  configuration is applied rather than when a client is built.
+     */
+    @DataBoundSetter
+    public void setMaxAttempts(Integer maxAttempts) {
+        checkMaxAttempts(maxAttempts);
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Integer getApiCallTimeout() {
+        return apiCallTimeout;
+    }
+
+    @DataBoundSetter
+    public void setApiCallTimeout(Integer apiCallTimeout) {
+        this.apiCallTimeout = apiCallTimeout;
+    }
+
+    public Integer getApiCallAttemptTimeout() {
+        return apiCallAttemptTimeout;
+    }
+
+    @DataBoundSetter
+    public void setApiCallAttemptTimeout(Integer apiCallAttemptTimeout) {
+        this.apiCallAttemptTimeout = apiCallAttemptTimeout;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ClientConfiguration that = (ClientConfiguration) o;
-        return Objects.equals(proxyPort, that.proxyPort) && Objects.equals(nonProxyHosts, that.nonProxyHosts) && Objects.equals(proxyHost, that.proxyHost) && Objects.equals(proxyUsername, that.proxyUsername) && Objects.equals(proxyPassword, that.proxyPassword);
+        return Objects.equals(proxyPort, that.proxyPort) && Objects.equals(nonProxyHosts, that.nonProxyHosts) && Objects.equals(proxyHost, that.proxyHost) && Objects.equals(proxyUsername, that.proxyUsername) && Objects.equals(proxyPassword, that.proxyPassword)
+                && Objects.equals(maxConnections, that.maxConnections) && Objects.equals(connectionTimeToLive, that.connectionTimeToLive) && Objects.equals(connectionMaxIdleTime, that.connectionMaxIdleTime) && disableIdleConnectionReaper == that.disableIdleConnectionReaper && tcpKeepAlive == that.tcpKeepAlive && Objects.equals(socketTimeout, that.socketTimeout) && Objects.equals(connectionTimeout, that.connectionTimeout)
+                && Objects.equals(retryMode, that.retryMode) && Objects.equals(maxAttempts, that.maxAttempts) && Objects.equals(apiCallTimeout, that.apiCallTimeout) && Objects.equals(apiCallAttemptTimeout, that.apiCallAttemptTimeout);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(nonProxyHosts, proxyHost, proxyPort, proxyUsername, proxyPassword);
+        return Objects.hash(nonProxyHosts, proxyHost, proxyPort, proxyUsername, proxyPassword,
+                maxConnections, connectionTimeToLive, connectionMaxIdleTime, disableIdleConnectionReaper, tcpKeepAlive, socketTimeout, connectionTimeout,
+                retryMode, maxAttempts, apiCallTimeout, apiCallAttemptTimeout);
     }
 
-    public SdkHttpClient build() {
-        return ApacheHttpClient.builder()
-                .proxyConfiguration(buildProxyConfiguration())
-                .build();
+    /**
+     * Whether this configuration sets a proxy (as opposed to only setting other options).
+     */
+    public boolean hasProxy() {
+        return proxyHost != null && !proxyHost.isEmpty();
+    }
+
+    /**
+     * Build the HTTP client with the connection pool and transport settings, and the proxy (if one is set).
+     */
+    public ApacheHttpClient.Builder build() {
+        final var builder = ApacheHttpClient.builder();
+
+        if (hasProxy()) {
+            builder.proxyConfiguration(buildProxyConfiguration());
+        }
+
+        if (isPositive(maxConnections)) {
+            builder.maxConnections(maxConnections);
+        }
+        if (isPositive(connectionTimeToLive)) {
+            builder.connectionTimeToLive(Duration.ofSeconds(connectionTimeToLive));
+        }
+        if (isPositive(connectionMaxIdleTime)) {
+            builder.connectionMaxIdleTime(Duration.ofSeconds(connectionMaxIdleTime));
+        }
+        if (disableIdleConnectionReaper) {
+            builder.useIdleConnectionReaper(false);
+        }
+        if (tcpKeepAlive) {
+            builder.tcpKeepAlive(true);
+        }
+        if (isPositive(socketTimeout)) {
+            builder.socketTimeout(Duration.ofSeconds(socketTimeout));
+        }
+        if (isPositive(connectionTimeout)) {
+            builder.connectionTimeout(Duration.ofSeconds(connectionTimeout));
+        }
+
+        return builder;
+    }
+
+    /**
+     * Like {@link #build()}, but for the non-blocking client. The socket timeout applies to both reads and writes.
+     */
+    public NettyNioAsyncHttpClient.Builder buildAsync() {
+        final var builder = NettyNioAsyncHttpClient.builder();
+
+        if (hasProxy()) {
+            final var proxyConfiguration = software.amazon.awssdk.http.nio.netty.ProxyConfiguration.builder()
+                    .host(proxyHost)
+                    .nonProxyHosts(Collections.singleton(nonProxyHosts))
+                    .username(proxyUsername)
+                    .password(Secret.toString(proxyPassword));
+
+            if (proxyPort != null) {
+                proxyConfiguration.port(proxyPort);
+            }
+
+            builder.proxyConfiguration(proxyConfiguration.build());
+        }
+
+        if (isPositive(maxConnections)) {
+            builder.maxConcurrency(maxConnections);
+        }
+        if (isPositive(connectionTimeToLive)) {
+            builder.connectionTimeToLive(Duration.ofSeconds(connectionTimeToLive));
+        }
+        if (isPositive(connectionMaxIdleTime)) {
+            builder.connectionMaxIdleTime(Duration.ofSeconds(connectionMaxIdleTime));
+        }
+        if (disableIdleConnectionReaper) {
+            builder.useIdleConnectionReaper(false);
+        }
+        if (tcpKeepAlive) {
+            builder.tcpKeepAlive(true);
+        }
+        if (isPositive(socketTimeout)) {
+            builder.readTimeout(Duration.ofSeconds(socketTimeout));
+            builder.writeTimeout(Duration.ofSeconds(socketTimeout));
+        }
+        if (isPositive(connectionTimeout)) {
+            builder.connectionTimeout(Duration.ofSeconds(connectionTimeout));
+        }
+
+        return builder;
+    }
+
+    private static boolean isPositive(Integer value) {
+        return value != null && value > 0;
+    }
+
+    /**
+     * Apply the retry and timeout settings (where they are set) to the SDK client configuration.
+     */
+    public void configure(ClientOverrideConfiguration.Builder builder) {
+        if (retryMode != null || maxAttempts != null) {
+            final var strategy = AwsRetryStrategy.forRetryMode(toRetryMode(retryMode));
+            builder.retryStrategy(maxAttempts == null ? strategy : strategy.toBuilder().maxAttempts(maxAttempts).build());
+        }
+
+        if (isPositive(apiCallTimeout)) {
+            builder.apiCallTimeout(Duration.ofSeconds(apiCallTimeout));
+        }
+
+        if (isPositive(apiCallAttemptTimeout)) {
+            builder.apiCallAttemptTimeout(Duration.ofSeconds(apiCallAttemptTimeout));
+        }
+    }
+
+    private static String normalizeRetryMode(String retryMode) {
+        final var mode = Util.fixEmptyAndTrim(retryMode);
+        return mode == null ? null : mode.toLowerCase(Locale.ROOT);
+    }
+
+    private static void checkMaxAttempts(Integer maxAttempts) {
+        if (maxAttempts != null && maxAttempts < 1) {
+            throw new IllegalArgumentException(Messages.invalidMaxAttempts());
+        }
+    }
+
+    static RetryMode toRetryMode(String retryMode) {
+        if (retryMode == null) {
+            return RetryMode.defaultRetryMode();
+        }
+
+        switch (retryMode) {
+            case STANDARD:
+                return RetryMode.STANDARD;
+            case ADAPTIVE:
+                // The second version of adaptive mode, which only rate limits after throttling errors
+                return RetryMode.ADAPTIVE_V2;
+            default:
+                throw new IllegalArgumentException(Messages.invalidRetryMode(retryMode));
+        }
     }
 
     private ProxyConfiguration buildProxyConfiguration() {
@@ -141,5 +432,38 @@ public class ClientConfiguration extends AbstractDescribableImpl<ClientConfigura
         public String getDisplayName() {
             return Messages.clientConfiguration();
         }
+
+        public ListBoxModel doFillRetryModeItems() {
+            final var items = new ListBoxModel();
+            items.add(Messages.sdkDefault(), "");
+            items.add(Messages.standardRetryMode(), STANDARD);
+            items.add(Messages.adaptiveRetryMode(), ADAPTIVE);
+            return items;
+        }
+
+        public FormValidation doCheckMaxConnections(@QueryParameter Integer maxConnections) {
+            if (maxConnections != null && maxConnections < 1) {
+                return FormValidation.error(Messages.invalidMaxConnections());
+            }
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckRetryMode(@QueryParameter String retryMode) {
+            try {
+                toRetryMode(normalizeRetryMode(retryMode));
+                return FormValidation.ok();
+            } catch (IllegalArgumentException e) {
+                return FormValidation.error(e.getMessage());
+            }
+        }
+
+        public FormValidation doCheckMaxAttempts(@QueryParameter Integer maxAttempts) {
+            try {
+                checkMaxAttempts(maxAttempts);
+                return FormValidation.ok();
+            } catch (IllegalArgumentException e) {
+                return FormValidation.error(e.getMessage());
+            }
+        }
     }
 }
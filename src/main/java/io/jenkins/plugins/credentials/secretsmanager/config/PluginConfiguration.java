@@ -2,15 +2,19 @@ package io.jenkins.plugins.credentials.secretsmanager.config;
 
 import software.amazon.awssdk.services.secretsmanager.model.FilterNameStringType;
 import hudson.Extension;
+import hudson.util.FormValidation;
+import io.jenkins.plugins.credentials.secretsmanager.Messages;
 import jenkins.model.GlobalConfiguration;
 import net.sf.json.JSONObject;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
 
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
 
 @Extension
@@ -22,17 +26,77 @@ public class PluginConfiguration extends GlobalConfiguration {
     /** The Guava cache is never truly turned off, just made very short, as it needs a non-zero cache duration. */
     private static final Duration NO_CACHE = Duration.ofNanos(1);
     private static final Duration DEFAULT_CACHE = Duration.ofSeconds(300);
+    private static final Duration MIN_CACHE = Duration.ZERO;
+    private static final double DEFAULT_REFRESH_AHEAD = 0.8;
+    private static final Duration DEFAULT_MAX_STALENESS = Duration.ofHours(1);
+    private static final int DEFAULT_VALUE_CACHE_SIZE = 1000;
+    /** The same as the default size of the SDK's HTTP connection pools, so that calls do not queue for connections. */
+    private static final int DEFAULT_MAX_CONCURRENCY = 50;
+
+    @Deprecated
+    private transient Boolean cache;
+
+    /**
+     * How long (in seconds) to cache the credentials list for. By default, the list is cached for 5 minutes. Set it to
+     * 0 to turn caching off (for development purposes).
+     */
+    private Integer cacheDuration;
+
+    /**
+     * The fraction of the cache duration after which the list is refreshed in the background. By default, the refresh
+     * starts after 80% of the cache duration.
+     */
+    private Double refreshAhead;
+
+    /**
+     * How long (in seconds) the last successfully retrieved credentials may still be served while Secrets Manager
+     * cannot be reached. By default, they are served for up to 1 hour.
+     */
+    private Integer maxStaleness;
+
+    /**
+     * How long (in seconds) to cache secret values for. By default, secret values are not cached.
+     */
+    private Integer valueCache;
+
+    /**
+     * The most secret values to keep in the value cache. By default, up to 1000.
+     */
+    private Integer valueCacheSize;
+
+    /**
+     * The most secret value retrieval calls (GetSecretValue or BatchGetSecretValue) to make per second. By default,
+     * there is no limit.
+     */
+    private Integer valueRateLimit;
+
+    /**
+     * The most Secrets Manager API calls to have in flight at once, across all clients. By default, up to 50.
+     */
+    private Integer maxConcurrency;
 
     /**
-     * Whether to cache the credentials or not. By default, credentials are cached for 5 minutes. Caching can be turned off for development purposes.
+     * Whether to use the non-blocking Secrets Manager client, whose calls share a small event loop instead of each
+     * holding a thread. By default, the blocking client is used.
      */
-    private Boolean cache;
+    private Boolean asyncClient;
 
     /**
      * Secrets Manager client configuration
      */
     private Client client;
 
+    /**
+     * Further Secrets Manager clients (e.g. for other regions or accounts), whose secrets are listed alongside those of
+     * the main client.
+     */
+    private List<Client> additionalClients;
+
+    /**
+     * Where to receive Secrets Manager change events from, to update changed secrets between full refreshes.
+     */
+    private ChangeFeed changeFeed;
+
     @Deprecated
     private transient Filters filters;
 
@@ -48,17 +112,86 @@ public class PluginConfiguration extends GlobalConfiguration {
         return all().get(PluginConfiguration.class);
     }
 
-    public static Duration normalize(Boolean cache) {
-        if (cache == null || cache) {
-            LOG.config("CredentialsProvider cache enabled");
+    public static Duration normalizeCacheDuration(Integer cacheDuration) {
+        if (cacheDuration == null) {
             return DEFAULT_CACHE;
-        } else {
-            LOG.config("CredentialsProvider cache disabled");
+        } else if (cacheDuration < MIN_CACHE.getSeconds()) {
+            LOG.warning(Messages.cacheDurationTooLowDisablingTheCache(cacheDuration, MIN_CACHE.getSeconds()));
             return NO_CACHE;
+        } else if (cacheDuration == 0) {
+            return NO_CACHE;
+        } else {
+            return Duration.ofSeconds(cacheDuration);
+        }
+    }
+
+    public static double normalizeRefreshAhead(Double refreshAhead) {
+        if (refreshAhead == null || !isValidRefreshAhead(refreshAhead)) {
+            return DEFAULT_REFRESH_AHEAD;
+        } else {
+            return refreshAhead;
+        }
+    }
+
+    private static boolean isValidRefreshAhead(double refreshAhead) {
+        return refreshAhead > 0 && refreshAhead <= 1;
+    }
+
+    public static Duration normalizeMaxStaleness(Integer maxStaleness) {
+        if (maxStaleness == null || maxStaleness < 0) {
+            return DEFAULT_MAX_STALENESS;
+        } else {
+            return Duration.ofSeconds(maxStaleness);
         }
     }
 
+    public static Duration normalizeValueCache(Integer valueCache) {
+        if (valueCache == null || valueCache < 0) {
+            return Duration.ZERO;
+        } else {
+            return Duration.ofSeconds(valueCache);
+        }
+    }
+
+    public static int normalizeValueCacheSize(Integer valueCacheSize) {
+        if (valueCacheSize == null || valueCacheSize < 1) {
+            return DEFAULT_VALUE_CACHE_SIZE;
+        } else {
+            return valueCacheSize;
+        }
+    }
+
+    /**
+     * @return the rate limit in calls per second, or 0 for no limit
+     */
+    public static int normalizeValueRateLimit(Integer valueRateLimit) {
+        if (valueRateLimit == null || valueRateLimit < 0) {
+            return 0;
+        } else {
+            return valueRateLimit;
+        }
+    }
+
+    public static int normalizeMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency == null || maxConcurrency < 1) {
+            return DEFAULT_MAX_CONCURRENCY;
+        } else {
+            return maxConcurrency;
+        }
+    }
+
+    public static boolean normalizeAsyncClient(Boolean asyncClient) {
+        return asyncClient != null && asyncClient;
+    }
+
     protected Object readResolve() {
+        if (cache != null) {
+            if (cacheDuration == null && !cache) {
+                cacheDuration = 0;
+            }
+            cache = null;
+        }
+
         if (filters != null && filters.getTag() != null) {
             final var tag = filters.getTag();
             final var tagKey = new Filter(FilterNameStringType.TAG_KEY.toString(), Collections.singletonList(new Value(tag.getKey())));
@@ -70,14 +203,103 @@ public class PluginConfiguration extends GlobalConfiguration {
         return this;
     }
 
-    public Boolean getCache() {
-        return cache;
+    /**
+     * @deprecated use {@link #setCacheDuration(Integer)} instead (0 turns the cache off).
+     */
+    @Deprecated
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setCache(Boolean cache) {
+        if (cache != null && !cache) {
+            setCacheDuration(0);
+        }
+    }
+
+    public Integer getCacheDuration() {
+        return cacheDuration;
     }
 
     @DataBoundSetter
     @SuppressWarnings("unused")
-    public void setCache(Boolean cache) {
-        this.cache = cache;
+    public void setCacheDuration(Integer cacheDuration) {
+        this.cacheDuration = cacheDuration;
+        save();
+    }
+
+    public Double getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setRefreshAhead(Double refreshAhead) {
+        this.refreshAhead = refreshAhead;
+        save();
+    }
+
+    public Integer getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setMaxStaleness(Integer maxStaleness) {
+        this.maxStaleness = maxStaleness;
+        save();
+    }
+
+    public Integer getValueCache() {
+        return valueCache;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setValueCache(Integer valueCache) {
+        this.valueCache = valueCache;
+        save();
+    }
+
+    public Integer getValueCacheSize() {
+        return valueCacheSize;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setValueCacheSize(Integer valueCacheSize) {
+        this.valueCacheSize = valueCacheSize;
+        save();
+    }
+
+    public Integer getValueRateLimit() {
+        return valueRateLimit;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setValueRateLimit(Integer valueRateLimit) {
+        this.valueRateLimit = valueRateLimit;
+        save();
+    }
+
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        save();
+    }
+
+    public Boolean getAsyncClient() {
+        return asyncClient;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setAsyncClient(Boolean asyncClient) {
+        this.asyncClient = asyncClient;
         save();
     }
 
@@ -92,6 +314,28 @@ public class PluginConfiguration extends GlobalConfiguration {
         save();
     }
 
+    public List<Client> getAdditionalClients() {
+        return additionalClients;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setAdditionalClients(List<Client> additionalClients) {
+        this.additionalClients = additionalClients;
+        save();
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setChangeFeed(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+        save();
+    }
+
     public ListSecrets getListSecrets() {
         return listSecrets;
     }
@@ -114,12 +358,74 @@ public class PluginConfiguration extends GlobalConfiguration {
         save();
     }
 
+    @SuppressWarnings("unused")
+    public FormValidation doCheckCacheDuration(@QueryParameter Integer cacheDuration) {
+        if (cacheDuration != null && cacheDuration < MIN_CACHE.getSeconds()) {
+            return FormValidation.error(Messages.invalidCacheDuration(MIN_CACHE.getSeconds()));
+        }
+        return FormValidation.ok();
+    }
+
+    @SuppressWarnings("unused")
+    public FormValidation doCheckRefreshAhead(@QueryParameter Double refreshAhead) {
+        if (refreshAhead != null && !isValidRefreshAhead(refreshAhead)) {
+            return FormValidation.error(Messages.invalidRefreshAhead());
+        }
+        return FormValidation.ok();
+    }
+
+    @SuppressWarnings("unused")
+    public FormValidation doCheckMaxStaleness(@QueryParameter Integer maxStaleness, @QueryParameter Integer cacheDuration) {
+        if (maxStaleness != null && maxStaleness < 0) {
+            return FormValidation.error(Messages.invalidMaxStaleness());
+        }
+        final long duration = cacheDuration == null ? DEFAULT_CACHE.getSeconds() : cacheDuration;
+        if (maxStaleness != null && maxStaleness < duration) {
+            return FormValidation.warning(Messages.maxStalenessBelowCacheDuration(duration));
+        }
+        return FormValidation.ok();
+    }
+
+    @SuppressWarnings("unused")
+    public FormValidation doCheckValueCache(@QueryParameter Integer valueCache) {
+        if (valueCache != null && valueCache < 0) {
+            return FormValidation.error(Messages.invalidValueCache());
+        }
+        return FormValidation.ok();
+    }
+
+    @SuppressWarnings("unused")
+    public FormValidation doCheckValueCacheSize(@QueryParameter Integer valueCacheSize) {
+        if (valueCacheSize != null && valueCacheSize < 1) {
+            return FormValidation.error(Messages.invalidValueCacheSize());
+        }
+        return FormValidation.ok();
+    }
+
+    @SuppressWarnings("unused")
+    public FormValidation doCheckValueRateLimit(@QueryParameter Integer valueRateLimit) {
+        if (valueRateLimit != null && valueRateLimit < 0) {
+            return FormValidation.error(Messages.invalidValueRateLimit());
+        }
+        return FormValidation.ok();
+    }
+
+    @SuppressWarnings("unused")
+    public FormValidation doCheckMaxConcurrency(@QueryParameter Integer maxConcurrency) {
+        if (maxConcurrency != null && maxConcurrency < 1) {
+            return FormValidation.error(Messages.invalidMaxConcurrency());
+        }
+        return FormValidation.ok();
+    }
+
     @Override
     public synchronized boolean configure(StaplerRequest req, JSONObject json) {
         // This method is unnecessary, except to apply the following workaround.
         // Workaround: Set any optional struct fields to null before binding configuration.
         // https://groups.google.com/forum/#!msg/jenkinsci-dev/MuRJ-yPRRoo/AvoPZAgbAAAJ
         this.client = null;
+        this.additionalClients = null;
+        this.changeFeed = null;
         this.listSecrets = null;
         this.transformations = null;
 
@@ -0,0 +1,36 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.changeSource;
+
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import io.jenkins.plugins.credentials.secretsmanager.config.Client;
+import io.jenkins.plugins.credentials.secretsmanager.events.SecretChangeSource;
+
+import java.io.Serializable;
+
+/**
+ * Where the change feed receives Secrets Manager change events from. (an SQS queue etc.)
+ *
+ * Other plugins can add sources by extending this class, and registering a descriptor for it.
+ */
+public abstract class ChangeSource extends AbstractDescribableImpl<ChangeSource> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Connect to the source.
+     *
+     * @param client the main Secrets Manager client, whose connection settings the source may share (may be null)
+     */
+    public abstract SecretChangeSource build(Client client);
+
+    public abstract static class DescriptorImpl extends Descriptor<ChangeSource> {
+
+        protected DescriptorImpl() {
+            super();
+        }
+
+        protected DescriptorImpl(Class<? extends ChangeSource> clazz) {
+            super(clazz);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.changeSource;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.jenkins.plugins.credentials.secretsmanager.Messages;
+import io.jenkins.plugins.credentials.secretsmanager.config.Client;
+import io.jenkins.plugins.credentials.secretsmanager.events.SecretChangeSource;
+import io.jenkins.plugins.credentials.secretsmanager.events.SqsSecretChangeSource;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import javax.annotation.Nonnull;
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * An SQS queue that receives Secrets Manager change events (from an EventBridge rule).
+ */
+public class SqsQueue extends ChangeSource {
+
+    private static final long serialVersionUID = 1L;
+
+    private String queueUrl;
+
+    private String endpointUrl;
+
+    private String region;
+
+    @DataBoundConstructor
+    public SqsQueue(String queueUrl) {
+        this.queueUrl = Util.fixEmptyAndTrim(queueUrl);
+    }
+
+    public String getQueueUrl() {
+        return queueUrl;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setQueueUrl(String queueUrl) {
+        this.queueUrl = Util.fixEmptyAndTrim(queueUrl);
+    }
+
+    public String getEndpointUrl() {
+        return endpointUrl;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setEndpointUrl(String endpointUrl) {
+        this.endpointUrl = Util.fixEmptyAndTrim(endpointUrl);
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    @DataBoundSetter
+    @SuppressWarnings("unused")
+    public void setRegion(String region) {
+        this.region = Util.fixEmptyAndTrim(region);
+    }
+
+    /**
+     * Connect to the queue the same way as the Secrets Manager client (through the same proxy, with the same HTTP
+     * client, retry and timeout settings, credentials, endpoint and region), except where the queue overrides the
+     * endpoint or region.
+     */
+    @Override
+    public SecretChangeSource build(Client client) {
+        final var builder = (client != null ? client : new Client(null, null, null, null))
+                .configureOtherService(SqsClient.builder());
+
+        if (endpointUrl != null) {
+            builder.endpointOverride(URI.create(endpointUrl));
+        }
+
+        if (region != null) {
+            builder.region(Region.of(region));
+        }
+
+        return new SqsSecretChangeSource(builder.build(), queueUrl);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SqsQueue that = (SqsQueue) o;
+        return Objects.equals(queueUrl, that.queueUrl) &&
+                Objects.equals(endpointUrl, that.endpointUrl) &&
+                Objects.equals(region, that.region);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(queueUrl, endpointUrl, region);
+    }
+
+    @Extension
+    @Symbol("sqs")
+    @SuppressWarnings("unused")
+    public static class DescriptorImpl extends ChangeSource.DescriptorImpl {
+
+        @Override
+        @Nonnull
+        public String getDisplayName() {
+            return Messages.sqsQueue();
+        }
+
+        public FormValidation doCheckQueueUrl(@QueryParameter String queueUrl) {
+            if (Util.fixEmptyAndTrim(queueUrl) == null) {
+                return FormValidation.error(Messages.queueUrlRequired());
+            }
+            return FormValidation.ok();
+        }
+
+        public ListBoxModel doFillRegionItems() {
+            final ListBoxModel regions = new ListBoxModel();
+            regions.add("", "");
+            for (final var region : Region.regions()) {
+                final var metadata = region.metadata();
+                regions.add(metadata.description(), metadata.id());
+            }
+            return regions;
+        }
+    }
+}
@@ -4,19 +4,30 @@ import hudson.Util;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
- * A non-regex based remover of string prefixes
+ * A non-regex based remover of string prefixes.
+ *
+ * The prefixes are compiled once, into a trie, so that finding the longest matching prefix of a string takes one walk
+ * along the string (no longer than the longest prefix), however many prefixes there are, and allocates nothing.
  */
 @Restricted(NoExternalUse.class)
 public class PrefixRemover {
 
-    private final Set<String> prefixes;
+    private static final char[] NO_KEYS = new char[0];
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    /** The root of the trie, or null if there are no prefixes. */
+    private final Node root;
 
     private PrefixRemover(Set<String> prefixes) {
-        this.prefixes = prefixes;
+        this.root = (prefixes == null) ? null : compile(prefixes);
     }
 
     /**
@@ -33,39 +44,101 @@ public class PrefixRemover {
     }
 
     public String from(String str) {
-        if (prefixes == null) {
+        if (root == null) {
             return str;
         }
 
-        final int longestMatchingPrefix = longestMatchingPrefix(str, prefixes);
+        final int longestMatchingPrefix = longestMatchingPrefix(str);
 
-        return str.substring(longestMatchingPrefix);
+        return longestMatchingPrefix == 0 ? str : str.substring(longestMatchingPrefix);
     }
 
     /**
      * return the length of the longest matching prefix, or zero if the string did not contain any of the prefixes
      */
-    private static int longestMatchingPrefix(String str, Set<String> prefixes) {
+    private int longestMatchingPrefix(String str) {
         int longestMatch = 0;
 
-        for (String prefix: prefixes) {
-            final String canonicalPrefix = fixNullAndTrim(prefix);
-
-            if (str.startsWith(canonicalPrefix)) {
-                final int prefixLength = canonicalPrefix.length();
-                if (prefixLength > longestMatch) {
-                    longestMatch = prefixLength;
-                }
+        Node node = root;
+        for (int i = 0; i < str.length(); i++) {
+            node = node.next(str.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.terminal) {
+                longestMatch = i + 1;
             }
         }
 
         return longestMatch;
     }
 
+    private static Node compile(Set<String> prefixes) {
+        final Builder root = new Builder();
+        for (String prefix : prefixes) {
+            Builder builder = root;
+            for (char c : fixNullAndTrim(prefix).toCharArray()) {
+                builder = builder.children.computeIfAbsent(c, k -> new Builder());
+            }
+            builder.terminal = true;
+        }
+        return root.build();
+    }
+
     /**
      * Convert null to empty string, and trim whitespace.
      */
     private static String fixNullAndTrim(String s) {
         return Util.fixNull(s).trim();
     }
+
+    /**
+     * A node of the compiled trie. The children are kept in arrays sorted by character, and found by binary search.
+     */
+    private static final class Node {
+
+        private final char[] keys;
+
+        private final Node[] children;
+
+        /** Whether a prefix ends here. */
+        private final boolean terminal;
+
+        private Node(char[] keys, Node[] children, boolean terminal) {
+            this.keys = keys;
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        Node next(char c) {
+            final int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+    }
+
+    /**
+     * A node of the trie while it is being built.
+     */
+    private static final class Builder {
+
+        private final Map<Character, Builder> children = new TreeMap<>();
+
+        private boolean terminal = false;
+
+        Node build() {
+            if (children.isEmpty()) {
+                return new Node(NO_KEYS, NO_NODES, terminal);
+            }
+
+            final char[] keys = new char[children.size()];
+            final Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                keys[i] = child.getKey();
+                nodes[i] = child.getValue().build();
+                i++;
+            }
+            return new Node(keys, nodes, terminal);
+        }
+    }
 }
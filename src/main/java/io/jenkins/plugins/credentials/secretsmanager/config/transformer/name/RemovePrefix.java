@@ -16,6 +16,9 @@ public class RemovePrefix extends NameTransformer {
 
     private String prefix;
 
+    /** The prefix, compiled on first use, and dropped whenever it changes. */
+    private transient volatile PrefixRemover remover;
+
     @DataBoundConstructor
     public RemovePrefix(String prefix) {
         this.prefix = prefix;
@@ -28,11 +31,18 @@ public class RemovePrefix extends NameTransformer {
     @DataBoundSetter
     public void setPrefix(String prefix) {
         this.prefix = prefix;
+        this.remover = null;
     }
 
     @Override
     public String transform(String str) {
-        return PrefixRemover.removePrefix(prefix).from(str);
+        var r = remover;
+        if (r == null) {
+            r = PrefixRemover.removePrefix(prefix);
+            remover = r;
+        }
+
+        return r.from(str);
     }
 
     @Override
@@ -17,6 +17,9 @@ public class RemovePrefixes extends NameTransformer {
 
     private Set<Prefix> prefixes;
 
+    /** The prefixes, compiled on first use, and dropped whenever they change. */
+    private transient volatile PrefixRemover remover;
+
     @DataBoundConstructor
     public RemovePrefixes(Set<Prefix> prefixes) {
         this.prefixes = prefixes;
@@ -29,15 +32,22 @@ public class RemovePrefixes extends NameTransformer {
     @DataBoundSetter
     public void setPrefixes(Set<Prefix> prefixes) {
         this.prefixes = prefixes;
+        this.remover = null;
     }
 
     @Override
     public String transform(String str) {
-        final Set<String> p = prefixes.stream()
-                .map(Prefix::getValue)
-                .collect(Collectors.toSet());
+        var r = remover;
+        if (r == null) {
+            final Set<String> p = prefixes.stream()
+                    .map(Prefix::getValue)
+                    .collect(Collectors.toSet());
+
+            r = PrefixRemover.removePrefixes(p);
+            remover = r;
+        }
 
-        return PrefixRemover.removePrefixes(p).from(str);
+        return r.from(str);
     }
 
     @Override
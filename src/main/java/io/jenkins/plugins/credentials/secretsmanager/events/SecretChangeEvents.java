@@ -0,0 +1,69 @@
+package io.jenkins.plugins.credentials.secretsmanager.events;
+
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read the changed secret out of a Secrets Manager event, as delivered by EventBridge (or by EventBridge through SNS).
+ *
+ * Secrets Manager API calls reach EventBridge as CloudTrail events. Depending on the call, the secret is identified by
+ * the ARN in the response, or by the secret ID (a name or ARN) or name in the request.
+ */
+final class SecretChangeEvents {
+
+    private static final Logger LOG = Logger.getLogger(SecretChangeEvents.class.getName());
+
+    private static final String EVENT_SOURCE = "secretsmanager.amazonaws.com";
+
+    private SecretChangeEvents() {
+
+    }
+
+    static Set<String> secretIds(String message) {
+        final JSONObject event;
+        try {
+            event = unwrap(JSONObject.fromObject(message));
+        } catch (JSONException e) {
+            LOG.log(Level.WARNING, "Ignoring a change event that is not valid JSON: message=[{0}]", e.getMessage());
+            return Collections.emptySet();
+        }
+
+        final var detail = event.optJSONObject("detail");
+        if (detail == null || detail.isNullObject() || !EVENT_SOURCE.equals(detail.optString("eventSource"))) {
+            return Collections.emptySet();
+        }
+
+        final Set<String> secretIds = new LinkedHashSet<>();
+        addIfPresent(secretIds, detail.optJSONObject("responseElements"), "arn");
+        addIfPresent(secretIds, detail.optJSONObject("requestParameters"), "secretId");
+        addIfPresent(secretIds, detail.optJSONObject("requestParameters"), "name");
+        addIfPresent(secretIds, detail.optJSONObject("additionalEventData"), "SecretId");
+        return secretIds;
+    }
+
+    /**
+     * Unwrap an SNS notification, if the event was delivered through an SNS topic without raw message delivery.
+     */
+    private static JSONObject unwrap(JSONObject message) {
+        if ("Notification".equals(message.optString("Type")) && message.has("Message")) {
+            return JSONObject.fromObject(message.getString("Message"));
+        }
+        return message;
+    }
+
+    private static void addIfPresent(Set<String> secretIds, JSONObject object, String key) {
+        if (object == null || object.isNullObject()) {
+            return;
+        }
+        final var value = object.optString(key, "");
+        if (!value.isEmpty()) {
+            secretIds.add(value);
+        }
+    }
+}
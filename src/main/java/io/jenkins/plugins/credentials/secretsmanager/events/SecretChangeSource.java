@@ -0,0 +1,24 @@
+package io.jenkins.plugins.credentials.secretsmanager.events;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * A feed of notifications that secrets in Secrets Manager have changed (created, updated, tagged, deleted, and so on).
+ *
+ * A source may report a change more than once, or report several changes to one secret together. Only the identities
+ * of the changed secrets matter, as the plugin looks up their current state for itself.
+ */
+public interface SecretChangeSource extends AutoCloseable {
+
+    /**
+     * Wait for changes.
+     *
+     * @param wait the longest time to wait for a change to arrive
+     * @return the names or ARNs of the changed secrets (empty if there were none)
+     */
+    Collection<String> poll(Duration wait) throws InterruptedException;
+
+    @Override
+    void close();
+}
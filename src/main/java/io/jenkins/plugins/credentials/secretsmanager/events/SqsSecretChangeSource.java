@@ -0,0 +1,90 @@
+package io.jenkins.plugins.credentials.secretsmanager.events;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Receive Secrets Manager change events from an SQS queue, which an EventBridge rule (optionally via SNS) sends them to.
+ *
+ * Messages are deleted as soon as they are read. A change that is then lost (because the update fails) is picked up by
+ * the next full refresh of the credentials list.
+ */
+public class SqsSecretChangeSource implements SecretChangeSource {
+
+    private static final Logger LOG = Logger.getLogger(SqsSecretChangeSource.class.getName());
+
+    /** The most messages that SQS returns from one receive. */
+    private static final int MAX_MESSAGES = 10;
+
+    /** The longest that SQS can long poll for. */
+    private static final Duration MAX_WAIT = Duration.ofSeconds(20);
+
+    /** How much longer than the long poll a receive may take, before it times out. */
+    private static final Duration TIMEOUT_MARGIN = Duration.ofSeconds(10);
+
+    private final SqsClient client;
+
+    private final String queueUrl;
+
+    public SqsSecretChangeSource(SqsClient client, String queueUrl) {
+        this.client = client;
+        this.queueUrl = queueUrl;
+    }
+
+    @Override
+    public Collection<String> poll(Duration wait) {
+        final var waitSeconds = (int) Math.max(0, Math.min(wait.toSeconds(), MAX_WAIT.toSeconds()));
+
+        // The client shares the Secrets Manager client's API call timeouts, which may be shorter than the long poll
+        final var timeout = Duration.ofSeconds(waitSeconds).plus(TIMEOUT_MARGIN);
+
+        final var request = ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(MAX_MESSAGES)
+                .waitTimeSeconds(waitSeconds)
+                .overrideConfiguration(o -> o.apiCallTimeout(timeout).apiCallAttemptTimeout(timeout))
+                .build();
+
+        final List<Message> messages = client.receiveMessage(request).messages();
+        if (messages.isEmpty()) {
+            return Set.of();
+        }
+
+        final Set<String> secretIds = new LinkedHashSet<>();
+        final List<DeleteMessageBatchRequestEntry> receipts = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            secretIds.addAll(SecretChangeEvents.secretIds(message.body()));
+            receipts.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(receipts.size()))
+                    .receiptHandle(message.receiptHandle())
+                    .build());
+        }
+
+        final var deleted = client.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(receipts)
+                .build());
+        if (deleted.hasFailed() && !deleted.failed().isEmpty()) {
+            LOG.log(Level.FINE, "Could not delete {0} change messages, so they will be received again", deleted.failed().size());
+        }
+
+        return secretIds;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,54 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Helpers for holding secret ARNs and version IDs compactly.
+ */
+final class Arns {
+
+    private static final String SECRET_MARKER = ":secret:";
+
+    /**
+     * One copy of each ARN prefix ({@code arn:aws:secretsmanager:<region>:<account>:secret:}). There is a prefix for each
+     * account and region that secrets come from, so this stays small.
+     */
+    private static final Map<String, String> PREFIXES = new ConcurrentHashMap<>();
+
+    private Arns() {
+
+    }
+
+    /**
+     * The shared prefix of a secret ARN, or the empty string if it does not look like one.
+     */
+    static String prefix(String arn) {
+        if (arn == null) {
+            return "";
+        }
+        final var marker = arn.indexOf(SECRET_MARKER);
+        if (!arn.startsWith("arn:") || marker < 0) {
+            return "";
+        }
+        return PREFIXES.computeIfAbsent(arn.substring(0, marker + SECRET_MARKER.length()), p -> p);
+    }
+
+    /**
+     * The version ID as a UUID, or null if it is not a UUID in canonical form (so that it would not survive the round
+     * trip). The nil UUID is not accepted either, as it stands for no version ID.
+     */
+    static UUID toUuid(String versionId) {
+        if (versionId == null || versionId.length() != 36) {
+            return null;
+        }
+        try {
+            final var uuid = UUID.fromString(versionId);
+            final var isNil = uuid.getMostSignificantBits() == 0 && uuid.getLeastSignificantBits() == 0;
+            return !isNil && uuid.toString().equals(versionId) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jenkins.plugins.credentials.secretsmanager.SecretsManagerBulkhead;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Retrieve secret values with the non-blocking Secrets Manager client.
+ *
+ * {@link #getAsync(SecretRef)} holds no thread while a retrieval waits: the call runs on the client's event loop, and a
+ * call that the rate limiter holds back is started from a timer once its permit is free, rather than after a sleep.
+ * {@link #get(SecretRef)} is for callers that need the value straight away (like the Credentials API, which is
+ * synchronous), so it waits for the same future.
+ */
+class AsyncClientSecretValueSource implements SecretValueSource {
+
+    private final SecretsManagerAsyncClient client;
+
+    private final RateLimiter rateLimiter;
+
+    AsyncClientSecretValueSource(SecretsManagerAsyncClient client, RateLimiter rateLimiter) {
+        this.client = client;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @NonNull
+    @Override
+    public SecretValue get(SecretRef secret) {
+        try {
+            return getAsync(secret).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @NonNull
+    @Override
+    public CompletableFuture<SecretValue> getAsync(SecretRef secret) {
+        final var arn = secret.getArn();
+        final var request = GetSecretValueRequest.builder().secretId(arn).versionId(secret.getVersionId()).build();
+
+        final var bulkhead = SecretsManagerBulkhead.get();
+        return rateLimiter.acquireAsync(bulkhead.getExecutor())
+                .thenCompose(permit -> bulkhead.callAsync(() -> client.getSecretValue(request)))
+                .handle((result, e) -> {
+                    if (e != null) {
+                        throw SecretsManagerErrors.toException(arn, e);
+                    }
+                    return ClientSecretValueSource.toSecretValue(arn, result.secretBinary(), result.secretString());
+                });
+    }
+}
@@ -0,0 +1,249 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Coalesces concurrent secret value retrievals into BatchGetSecretValue calls.
+ *
+ * The first retrieval to arrive opens a batch. It waits for a short window, or until the batch is full, and then sends
+ * the batch on behalf of every retrieval that joined it. A retrieval that arrives while no other retrieval is in flight
+ * is sent straight away instead, so that batching only adds latency when there is concurrency to exploit. Retrievals of the same secret version within a batch share one
+ * result. A batch of one secret is sent as a plain GetSecretValue call.
+ *
+ * BatchGetSecretValue only returns the current version of each secret. A retrieval of any other version (for example,
+ * because the secret was rotated since the credentials list was loaded) is made with GetSecretValue instead.
+ *
+ * If the whole BatchGetSecretValue call is throttled, each retrieval in the batch falls back to GetSecretValue, which
+ * the SDK retries with backoff. If the BatchGetSecretValue call is denied (because IAM only allows GetSecretValue), this source stops batching, and
+ * uses GetSecretValue for every retrieval from then on.
+ */
+class BatchingSecretValueSource implements SecretValueSource {
+
+    private static final Logger LOG = Logger.getLogger(BatchingSecretValueSource.class.getName());
+
+    /** The most secrets that BatchGetSecretValue accepts in its SecretIdList. */
+    static final int MAX_BATCH_SIZE = 20;
+
+    static final Duration WINDOW = Duration.ofMillis(10);
+
+    private static final String ACCESS_DENIED = "AccessDeniedException";
+
+    private final SecretsManagerClient client;
+
+    private final RateLimiter rateLimiter;
+
+    private final SecretValueSource single;
+
+    private final Duration window;
+
+    private final int maxBatchSize;
+
+    private volatile boolean batchingDenied = false;
+
+    // A lock rather than synchronized, as a virtual thread that waits in a synchronized block pins its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** The batch that new retrievals join, or null if there is none. Guarded by lock. */
+    private Batch open;
+
+    /** The number of retrievals that have not returned yet. Guarded by lock. */
+    private int inFlight = 0;
+
+    BatchingSecretValueSource(SecretsManagerClient client, RateLimiter rateLimiter) {
+        this(client, rateLimiter, WINDOW, MAX_BATCH_SIZE);
+    }
+
+    BatchingSecretValueSource(SecretsManagerClient client, Duration window, int maxBatchSize) {
+        this(client, RateLimiter.unlimited(), window, maxBatchSize);
+    }
+
+    BatchingSecretValueSource(SecretsManagerClient client, RateLimiter rateLimiter, Duration window, int maxBatchSize) {
+        this.client = client;
+        this.rateLimiter = rateLimiter;
+        this.single = new ClientSecretValueSource(client, rateLimiter);
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @NonNull
+    @Override
+    public SecretValue get(SecretRef secret) {
+        if (batchingDenied) {
+            return single.get(secret);
+        }
+
+        final Batch batch;
+        final CompletableFuture<SecretValue> value;
+        final boolean leader;
+        final boolean alone;
+        lock.lock();
+        try {
+            leader = (open == null);
+            alone = (inFlight == 0);
+            inFlight++;
+            if (leader) {
+                open = new Batch();
+            }
+            batch = open;
+            value = batch.add(new Request(secret.getArn(), secret.getVersionId()));
+            if (batch.size() >= maxBatchSize || (leader && alone)) {
+                open = null;
+                batch.full.countDown();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            if (leader) {
+                batch.awaitFull(window);
+                lock.lock();
+                try {
+                    if (open == batch) {
+                        open = null;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                send(batch);
+            }
+
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            lock.lock();
+            try {
+                inFlight--;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void send(Batch batch) {
+        final var ids = batch.values.keySet().stream().map(Request::arn).distinct().toList();
+
+        if (ids.size() == 1 || batchingDenied) {
+            batch.values.forEach(this::fetchSingle);
+            return;
+        }
+
+        LOG.log(Level.FINE, "Retrieve {0} secret values in one batch", ids.size());
+
+        try {
+            rateLimiter.acquire();
+            final var batchRequest = BatchGetSecretValueRequest.builder().secretIdList(ids).build();
+            final var response = client.batchGetSecretValue(batchRequest);
+
+            for (var entry : response.secretValues()) {
+                batch.values.forEach((request, value) -> {
+                    // A retrieval of another version is left for the single retrieval below
+                    if (request.arn().equals(entry.arn()) && request.matches(entry.versionId())) {
+                        try {
+                            value.complete(ClientSecretValueSource.toSecretValue(entry.arn(), entry.secretBinary(), entry.secretString()));
+                        } catch (RuntimeException e) {
+                            value.completeExceptionally(e);
+                        }
+                    }
+                });
+            }
+
+            for (var error : response.errors()) {
+                final var kind = SecretsManagerErrors.classify(error.errorCode());
+                // A throttled entry is left for the single retrieval below, which the SDK retries with backoff
+                if (kind != SecretsManagerErrors.Kind.THROTTLED) {
+                    LOG.log(Level.WARNING, "AWS Secrets Manager retrieval error: code=[{0}], message=[{1}]", new Object[]{error.errorCode(), error.message()});
+                    batch.values.forEach((request, value) -> {
+                        if (request.arn().equals(error.secretId())) {
+                            value.completeExceptionally(SecretsManagerErrors.toException(error.secretId(), kind));
+                        }
+                    });
+                }
+            }
+        } catch (SecretsManagerException e) {
+            if (e.awsErrorDetails() != null && ACCESS_DENIED.equals(e.awsErrorDetails().errorCode())) {
+                LOG.log(Level.WARNING, "BatchGetSecretValue is not allowed, so secret values will be retrieved one at a time: message=[{0}]", e.getMessage());
+                batchingDenied = true;
+            } else if (e.isThrottlingException()) {
+                // Left for the single retrievals below, which the SDK retries with backoff
+                LOG.log(Level.FINE, "BatchGetSecretValue was throttled, so the batch will be retrieved one at a time: secrets=[{0}]", ids.size());
+            } else {
+                final var kind = SecretsManagerErrors.classify(e);
+                LOG.log(Level.WARNING, "AWS Secrets Manager batch retrieval error: secrets=[{0}], kind=[{1}], message=[{2}]", new Object[]{ids.size(), kind, e.getMessage()});
+                batch.values.forEach((request, value) ->
+                        value.completeExceptionally(SecretsManagerErrors.toException(request.arn(), kind)));
+            }
+        } catch (RuntimeException e) {
+            // E.g. the call timed out, or the endpoint could not be reached; fail the same way as a single retrieval
+            batch.values.forEach((request, value) ->
+                    value.completeExceptionally(SecretsManagerErrors.toException(request.arn(), e)));
+        }
+
+        // Anything the batch did not account for (or could not be sent) is retrieved on its own
+        batch.values.forEach((request, value) -> {
+            if (!value.isDone()) {
+                fetchSingle(request, value);
+            }
+        });
+    }
+
+    private void fetchSingle(Request request, CompletableFuture<SecretValue> value) {
+        try {
+            value.complete(single.get(request.arn(), request.versionId()));
+        } catch (RuntimeException e) {
+            value.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * A retrieval of a secret version, or of the current version if the version ID is null.
+     */
+    private record Request(String arn, String versionId) {
+
+        boolean matches(String currentVersionId) {
+            return versionId == null || versionId.equals(currentVersionId);
+        }
+    }
+
+    private static class Batch {
+
+        private final Map<Request, CompletableFuture<SecretValue>> values = new LinkedHashMap<>();
+
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        CompletableFuture<SecretValue> add(Request request) {
+            return values.computeIfAbsent(request, k -> new CompletableFuture<>());
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void awaitFull(Duration window) {
+            try {
+                full.await(window.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                // Send the batch now, as other retrievals are waiting on it
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
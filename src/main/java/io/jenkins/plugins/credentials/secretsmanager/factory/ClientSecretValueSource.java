@@ -0,0 +1,52 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jenkins.plugins.credentials.secretsmanager.Messages;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+class ClientSecretValueSource implements SecretValueSource {
+
+    private final SecretsManagerClient client;
+
+    private final RateLimiter rateLimiter;
+
+    ClientSecretValueSource(SecretsManagerClient client) {
+        this(client, RateLimiter.unlimited());
+    }
+
+    ClientSecretValueSource(SecretsManagerClient client, RateLimiter rateLimiter) {
+        this.client = client;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @NonNull
+    @Override
+    public SecretValue get(SecretRef secret) {
+        final var arn = secret.getArn();
+        // A null version ID is left out of the request, which then retrieves the current version
+        final var request = GetSecretValueRequest.builder().secretId(arn).versionId(secret.getVersionId()).build();
+
+        rateLimiter.acquire();
+
+        try {
+            final var result = client.getSecretValue(request);
+            return toSecretValue(arn, result.secretBinary(), result.secretString());
+        } catch (SecretsManagerException | SdkClientException ex) {
+            throw SecretsManagerErrors.toException(arn, ex);
+        }
+    }
+
+    static SecretValue toSecretValue(String arn, SdkBytes secretBinary, String secretString) {
+        if (secretBinary != null) {
+            return SecretValue.binary(secretBinary.asByteArray());
+        }
+        if (secretString != null) {
+            return SecretValue.string(secretString);
+        }
+        throw new IllegalStateException(Messages.emptySecretError(arn));
+    }
+}
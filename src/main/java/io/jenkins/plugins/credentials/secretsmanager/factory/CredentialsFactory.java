@@ -1,24 +1,18 @@
 package io.jenkins.plugins.credentials.secretsmanager.factory;
 
-import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
-import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
-import com.cloudbees.plugins.credentials.CredentialsUnavailableException;
 import com.cloudbees.plugins.credentials.SecretBytes;
 import com.cloudbees.plugins.credentials.common.StandardCredentials;
-import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.util.Secret;
-import io.jenkins.plugins.credentials.secretsmanager.Messages;
 import io.jenkins.plugins.credentials.secretsmanager.factory.certificate.AwsCertificateCredentials;
 import io.jenkins.plugins.credentials.secretsmanager.factory.file.AwsFileCredentials;
 import io.jenkins.plugins.credentials.secretsmanager.factory.ssh_user_private_key.AwsSshUserPrivateKey;
 import io.jenkins.plugins.credentials.secretsmanager.factory.string.AwsStringCredentials;
 import io.jenkins.plugins.credentials.secretsmanager.factory.username_password.AwsUsernamePasswordCredentials;
-import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
-import java.util.logging.Logger;
 
 public abstract class CredentialsFactory {
 
@@ -29,130 +23,107 @@ public abstract class CredentialsFactory {
     /**
      * Construct a Jenkins credential from a Secrets Manager secret.
      *
+     * @param arn the secret's ARN
+     * @param versionId the ID of the secret's current version (or null if that is not known)
      * @param name the secret's name (must be unique within the AWS account)
      * @param description the secret's description
      * @param tags the secret's AWS tags
-     * @param client the Secrets Manager client that will retrieve the secret's value on demand
+     * @param source where the secret's value will be retrieved from on demand
      * @return a credential (if one could be constructed from the secret's properties)
      */
-    public static Optional<StandardCredentials> create(String arn, String name, String description, Map<String, String> tags, SecretsManagerClient client) {
+    public static Optional<StandardCredentials> create(SecretArn arn, String versionId, String name, String description, Map<String, String> tags, SecretValueSource source) {
         final String type = tags.getOrDefault(Tags.type, "");
         final String username = tags.getOrDefault(Tags.username, "");
         final String filename = tags.getOrDefault(Tags.filename, name);
 
         switch (type) {
             case Type.string:
-                return Optional.of(new AwsStringCredentials(name, description, new SecretSupplier(client, arn)));
+                return Optional.of(new AwsStringCredentials(name, description, new SecretSupplier<>(arn, versionId, source, TO_SECRET)));
             case Type.usernamePassword:
-                return Optional.of(new AwsUsernamePasswordCredentials(name, description, new SecretSupplier(client, arn), username));
+                return Optional.of(new AwsUsernamePasswordCredentials(name, description, new SecretSupplier<>(arn, versionId, source, TO_SECRET), username));
             case Type.sshUserPrivateKey:
-                return Optional.of(new AwsSshUserPrivateKey(name, description, new StringSupplier(client, arn), username));
+                return Optional.of(new AwsSshUserPrivateKey(name, description, new SecretSupplier<>(arn, versionId, source, TO_STRING), username));
             case Type.certificate:
-                return Optional.of(new AwsCertificateCredentials(name, description, new SecretBytesSupplier(client, arn)));
+                return Optional.of(new AwsCertificateCredentials(name, description, new SecretSupplier<>(arn, versionId, source, TO_TEXT_OR_SECRET_BYTES), versionId != null));
             case Type.file:
-                return Optional.of(new AwsFileCredentials(name, description, filename, new SecretBytesSupplier(client, arn)));
+                return Optional.of(new AwsFileCredentials(name, description, filename, new SecretSupplier<>(arn, versionId, source, TO_SECRET_BYTES)));
             default:
                 return Optional.empty();
         }
     }
 
-    private static class SecretBytesSupplier extends RealSecretsManager implements Supplier<SecretBytes> {
-
-        private SecretBytesSupplier(SecretsManagerClient client, String name) {
-            super(client, name);
+    private static final SecretValue.Matcher<SecretBytes> TO_SECRET_BYTES = new SecretValue.Matcher<>() {
+        @Override
+        public SecretBytes string(String str) {
+            return null;
         }
 
         @Override
-        public SecretBytes get() {
-            return getSecretValue().match(new SecretValue.Matcher<SecretBytes>() {
-                @Override
-                public SecretBytes string(String str) {
-                    return null;
-                }
-
-                @Override
-                public SecretBytes binary(byte[] bytes) {
-                    return SecretBytes.fromBytes(bytes);
-                }
-            });
+        public SecretBytes binary(byte[] bytes) {
+            return SecretBytes.fromBytes(bytes);
         }
-    }
+    };
 
-    private static class SecretSupplier extends RealSecretsManager implements Supplier<Secret> {
+    /**
+     * Supplies a binary secret as it is, and a string secret (like a PEM bundle) as its UTF-8 bytes.
+     */
+    private static final SecretValue.Matcher<SecretBytes> TO_TEXT_OR_SECRET_BYTES = new SecretValue.Matcher<>() {
+        @Override
+        public SecretBytes string(String str) {
+            return SecretBytes.fromBytes(str.getBytes(StandardCharsets.UTF_8));
+        }
 
-        private SecretSupplier(SecretsManagerClient client, String name) {
-            super(client, name);
+        @Override
+        public SecretBytes binary(byte[] bytes) {
+            return SecretBytes.fromBytes(bytes);
         }
+    };
 
+    private static final SecretValue.Matcher<Secret> TO_SECRET = new SecretValue.Matcher<>() {
         @Override
-        public Secret get() {
-            return getSecretValue().match(new SecretValue.Matcher<Secret>() {
-                @Override
-                public Secret string(String str) {
-                    return Secret.fromString(str);
-                }
-
-                @Override
-                public Secret binary(byte[] bytes) {
-                    return null;
-                }
-            });
+        public Secret string(String str) {
+            return Secret.fromString(str);
         }
-    }
 
-    private static class StringSupplier extends RealSecretsManager implements Supplier<String> {
+        @Override
+        public Secret binary(byte[] bytes) {
+            return null;
+        }
+    };
 
-        private StringSupplier(SecretsManagerClient client, String name) {
-            super(client, name);
+    private static final SecretValue.Matcher<String> TO_STRING = new SecretValue.Matcher<>() {
+        @Override
+        public String string(String str) {
+            return str;
         }
 
         @Override
-        public String get() {
-            return getSecretValue().match(new SecretValue.Matcher<String>() {
-                @Override
-                public String string(String str) {
-                    return str;
-                }
-
-                @Override
-                public String binary(byte[] bytes) {
-                    return null;
-                }
-            });
+        public String binary(byte[] bytes) {
+            return null;
         }
-    }
+    };
 
-    private static class RealSecretsManager {
+    /**
+     * Supplies a credential's secret value. There is one of these per credential, so it holds nothing but the reference
+     * to the secret itself: the source and the conversion of the value are shared by every credential of the same type.
+     * The reference is also the key that the value cache looks it up by, so a retrieval does not build any strings
+     * unless it goes to Secrets Manager.
+     */
+    private static final class SecretSupplier<T> extends SecretRef implements Supplier<T> {
 
-        private static final Logger LOG = Logger.getLogger(RealSecretsManager.class.getName());
+        private final transient SecretValueSource source;
 
-        private final String id;
-        private final transient SecretsManagerClient client;
+        private final transient SecretValue.Matcher<T> conversion;
 
-        RealSecretsManager(SecretsManagerClient client, String id) {
-            this.client = client;
-            this.id = id;
+        private SecretSupplier(SecretArn arn, String versionId, SecretValueSource source, SecretValue.Matcher<T> conversion) {
+            super(arn, versionId);
+            this.source = source;
+            this.conversion = conversion;
         }
 
-        @NonNull
-        SecretValue getSecretValue() {
-            final var request = GetSecretValueRequest.builder().secretId(id).build();
-
-            try {
-                final var result = client.getSecretValue(request);
-                if (result.secretBinary() != null) {
-                    return SecretValue.binary(result.secretBinary().asByteArray());
-                }
-                if (result.secretString() != null) {
-                    return SecretValue.string(result.secretString());
-                }
-                throw new IllegalStateException(Messages.emptySecretError(id));
-            } catch (SecretsManagerException ex) {
-                LOG.warning("AWS Secrets Manager retrieval error");
-                LOG.warning(ex.getMessage());
-
-                throw new CredentialsUnavailableException("secret", Messages.couldNotRetrieveCredentialError(id));
-            }
+        @Override
+        public T get() {
+            return source.get(this).match(conversion);
         }
     }
 }
@@ -0,0 +1,108 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import io.jenkins.plugins.credentials.secretsmanager.metrics.SecretsManagerMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket that limits how many calls per second are made to Secrets Manager.
+ *
+ * The bucket holds up to one second's worth of permits, so a burst after a quiet period goes through at once. After
+ * that, each caller reserves the next free slot and waits for it, so callers go in the order that they arrived. The
+ * rate is looked up on every call, so a configuration change takes effect straight away. A rate of 0 means no limit.
+ */
+public final class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final IntSupplier permitsPerSecond;
+
+    private final LongSupplier ticker;
+
+    /** Permits that built up while the limiter was idle. Guarded by this. */
+    private double storedPermits = 0;
+
+    /** When the next permit that is not stored becomes free. Guarded by this. */
+    private long nextFreeNanos;
+
+    public RateLimiter(IntSupplier permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    RateLimiter(IntSupplier permitsPerSecond, LongSupplier ticker) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.ticker = ticker;
+        this.nextFreeNanos = ticker.getAsLong();
+    }
+
+    public static RateLimiter unlimited() {
+        return new RateLimiter(() -> 0);
+    }
+
+    /**
+     * Wait until a call may be made.
+     *
+     * @throws IllegalStateException if the thread was interrupted while waiting
+     */
+    public void acquire() {
+        final var waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return;
+        }
+
+        SecretsManagerMetrics.get().recordRateLimitDelay();
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the Secrets Manager rate limit", e);
+        }
+    }
+
+    /**
+     * Reserve a permit without waiting for it.
+     *
+     * @param executor where to complete the future once the permit is free, if there is a wait
+     * @return a future that completes when a call may be made
+     */
+    public CompletableFuture<Void> acquireAsync(Executor executor) {
+        final var waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        SecretsManagerMetrics.get().recordRateLimitDelay();
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, executor));
+    }
+
+    /**
+     * Reserve a permit.
+     *
+     * @return how long (in nanoseconds) to wait before using it
+     */
+    synchronized long reserve() {
+        final int rate = permitsPerSecond.getAsInt();
+        final long now = ticker.getAsLong();
+        if (rate <= 0) {
+            storedPermits = 0;
+            nextFreeNanos = now;
+            return 0;
+        }
+
+        final double intervalNanos = (double) NANOS_PER_SECOND / rate;
+        if (now - nextFreeNanos > 0) {
+            storedPermits = Math.min(rate, storedPermits + (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+
+        final long waitNanos = nextFreeNanos - now;
+        final double fromStore = Math.min(1, storedPermits);
+        storedPermits -= fromStore;
+        nextFreeNanos += (long) ((1 - fromStore) * intervalNanos);
+        return waitNanos;
+    }
+}
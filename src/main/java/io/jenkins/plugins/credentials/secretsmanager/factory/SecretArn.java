@@ -0,0 +1,65 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import java.util.Objects;
+
+/**
+ * A secret's ARN, held compactly.
+ *
+ * The ARN is split into a prefix ({@code arn:aws:secretsmanager:<region>:<account>:secret:}) that is shared by every
+ * secret in the same account and region, and a tail of its own. Two ARNs can be compared and hashed without joining
+ * the parts back together, so this can key a map of every secret without a full ARN string per secret.
+ */
+public final class SecretArn {
+
+    /** Secrets Manager appends a hyphen and 6 random characters to the secret name to make the ARN. */
+    private static final int SUFFIX_LENGTH = 7;
+
+    private final String prefix;
+
+    private final String tail;
+
+    private SecretArn(String prefix, String tail) {
+        this.prefix = prefix;
+        this.tail = tail;
+    }
+
+    public static SecretArn of(String arn) {
+        Objects.requireNonNull(arn, "arn");
+        final var prefix = Arns.prefix(arn);
+        return new SecretArn(prefix, arn.substring(prefix.length()));
+    }
+
+    /**
+     * Whether this is the ARN of the secret with the given name. The name is the tail of the ARN, with or without the
+     * random suffix.
+     */
+    public boolean hasName(String name) {
+        if (name == null || !tail.startsWith(name)) {
+            return false;
+        }
+        return tail.length() == name.length()
+                || (tail.length() == name.length() + SUFFIX_LENGTH && tail.charAt(name.length()) == '-');
+    }
+
+    /**
+     * The full ARN. This joins the parts, so call it when making a request, not to compare ARNs.
+     */
+    @Override
+    public String toString() {
+        return prefix.concat(tail);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SecretArn that = (SecretArn) o;
+        // Prefixes are interned
+        return prefix == that.prefix && tail.equals(that.tail);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * prefix.hashCode() + tail.hashCode();
+    }
+}
@@ -0,0 +1,99 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A reference to one version of a secret: its ARN, and the ID of its current version when it was last listed (or no
+ * version ID, if that is not known).
+ *
+ * There is one of these per credential, so it is kept small: the ARN is a {@link SecretArn}, and a version ID that is a
+ * UUID (as they usually are) is held as two longs rather than as a string. References are compared and hashed on
+ * those fields, so a cache can look one up without turning it back into strings; only a call to Secrets Manager needs
+ * {@link #getArn()} and {@link #getVersionId()}.
+ */
+public class SecretRef {
+
+    private final SecretArn arn;
+
+    private final long versionHigh;
+
+    private final long versionLow;
+
+    /** The version ID, if it could not be held as a UUID (or is null). */
+    private final String versionId;
+
+    protected SecretRef(SecretArn arn, String versionId) {
+        this.arn = Objects.requireNonNull(arn, "arn");
+
+        final var uuid = Arns.toUuid(versionId);
+        this.versionHigh = uuid == null ? 0 : uuid.getMostSignificantBits();
+        this.versionLow = uuid == null ? 0 : uuid.getLeastSignificantBits();
+        this.versionId = uuid == null ? versionId : null;
+    }
+
+    /**
+     * Copy a reference, without anything that a subclass holds on to.
+     */
+    SecretRef(SecretRef ref) {
+        this.arn = ref.arn;
+        this.versionHigh = ref.versionHigh;
+        this.versionLow = ref.versionLow;
+        this.versionId = ref.versionId;
+    }
+
+    public static SecretRef of(String arn, String versionId) {
+        return new SecretRef(SecretArn.of(arn), versionId);
+    }
+
+    public SecretArn getSecretArn() {
+        return arn;
+    }
+
+    public String getArn() {
+        return arn.toString();
+    }
+
+    public String getVersionId() {
+        if (versionId == null && (versionHigh != 0 || versionLow != 0)) {
+            return new UUID(versionHigh, versionLow).toString();
+        }
+        return versionId;
+    }
+
+    /**
+     * Whether the reference is to one particular version of the secret. The value of a version never changes, so
+     * whatever was derived from it can be kept for as long as the reference is.
+     */
+    public boolean hasVersionId() {
+        return versionHigh != 0 || versionLow != 0 || versionId != null;
+    }
+
+    /**
+     * A reference to the current version of the same secret, whichever version that is when it is retrieved.
+     */
+    public SecretRef withoutVersionId() {
+        return hasVersionId() ? new SecretRef(arn, null) : this;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SecretRef)) return false;
+        SecretRef that = (SecretRef) o;
+        return versionHigh == that.versionHigh &&
+                versionLow == that.versionLow &&
+                arn.equals(that.arn) &&
+                Objects.equals(versionId, that.versionId);
+    }
+
+    @Override
+    public final int hashCode() {
+        return 31 * arn.hashCode() + Long.hashCode(versionHigh ^ versionLow) + Objects.hashCode(versionId);
+    }
+
+    @Override
+    public String toString() {
+        return getArn();
+    }
+}
@@ -0,0 +1,189 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import com.cloudbees.plugins.credentials.SecretBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jenkins.plugins.credentials.secretsmanager.metrics.SecretsManagerMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A size-bounded, short-lived cache of secret values, keyed by secret ARN and version ID.
+ *
+ * A cached value is retrieved by the version ID that it is keyed on, so the key is the version that Secrets Manager
+ * returned. When the cache is disabled, the version ID is dropped, and the current version is retrieved instead, so
+ * that a rotation takes effect at once rather than at the next list refresh.
+ *
+ * Values are held as {@link SecretBytes}, so they stay encrypted while they are in memory. The least recently used
+ * values are evicted when the cache is full. When the cache duration is zero, the cache is bypassed entirely, and every
+ * retrieval goes to the underlying source.
+ */
+public final class SecretValueCache {
+
+    private final Supplier<Duration> duration;
+
+    private final IntSupplier maximumSize;
+
+    private final LongSupplier ticker;
+
+    private final Map<SecretRef, Entry> entries;
+
+    public SecretValueCache(Supplier<Duration> duration, IntSupplier maximumSize) {
+        this(duration, maximumSize, System::nanoTime);
+    }
+
+    SecretValueCache(Supplier<Duration> duration, IntSupplier maximumSize, LongSupplier ticker) {
+        this.duration = duration;
+        this.maximumSize = maximumSize;
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Serve retrievals from this cache, falling back to the source on a miss.
+     */
+    public SecretValueSource wrap(SecretValueSource source) {
+        return new SecretValueSource() {
+            @NonNull
+            @Override
+            public SecretValue get(SecretRef secret) {
+                return SecretValueCache.this.get(secret, source);
+            }
+
+            @NonNull
+            @Override
+            public CompletableFuture<SecretValue> getAsync(SecretRef secret) {
+                return SecretValueCache.this.getAsync(secret, source);
+            }
+        };
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    @NonNull
+    private SecretValue get(SecretRef secret, SecretValueSource source) {
+        final var ttl = duration.get();
+        if (ttl.isZero() || ttl.isNegative()) {
+            // Nothing is kept, so retrieve whatever is current now, rather than the version that was last listed
+            return source.get(secret.withoutVersionId());
+        }
+
+        final var now = ticker.getAsLong();
+        final var cached = lookup(secret, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Fetch outside the lock, so that one slow retrieval does not hold up hits for other secrets
+        final var value = source.get(secret);
+        put(secret, value, now + ttl.toNanos());
+        return value;
+    }
+
+    @NonNull
+    private CompletableFuture<SecretValue> getAsync(SecretRef secret, SecretValueSource source) {
+        final var ttl = duration.get();
+        if (ttl.isZero() || ttl.isNegative()) {
+            // Nothing is kept, so retrieve whatever is current now, rather than the version that was last listed
+            return source.getAsync(secret.withoutVersionId());
+        }
+
+        final var now = ticker.getAsLong();
+        final var cached = lookup(secret, now);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return source.getAsync(secret).thenApply(value -> {
+            put(secret, value, now + ttl.toNanos());
+            return value;
+        });
+    }
+
+    /**
+     * @return the cached value, or null on a miss
+     */
+    private SecretValue lookup(SecretRef secret, long now) {
+        synchronized (this) {
+            final var entry = entries.get(secret);
+            if (entry != null) {
+                if (now - entry.expirationNanos < 0) {
+                    SecretsManagerMetrics.get().recordValueCacheHit();
+                    return entry.decrypt();
+                }
+                entries.remove(secret);
+            }
+        }
+
+        SecretsManagerMetrics.get().recordValueCacheMiss();
+        return null;
+    }
+
+    private void put(SecretRef secret, SecretValue value, long expirationNanos) {
+        final var entry = Entry.encrypt(value, expirationNanos);
+
+        synchronized (this) {
+            // Key on a copy, so that the cache does not hold on to whatever else the caller's reference holds
+            entries.put(new SecretRef(secret), entry);
+            evict(maximumSize.getAsInt());
+        }
+    }
+
+    /**
+     * Evict the least recently used entries until the cache fits. The maximum size can shrink at runtime, so this may
+     * evict more than one entry.
+     */
+    private void evict(int maximumSize) {
+        final Iterator<SecretRef> eldest = entries.keySet().iterator();
+        while (entries.size() > maximumSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static final class Entry {
+
+        private final boolean binary;
+
+        private final SecretBytes value;
+
+        private final long expirationNanos;
+
+        private Entry(boolean binary, SecretBytes value, long expirationNanos) {
+            this.binary = binary;
+            this.value = value;
+            this.expirationNanos = expirationNanos;
+        }
+
+        static Entry encrypt(SecretValue value, long expirationNanos) {
+            return value.match(new SecretValue.Matcher<>() {
+                @Override
+                public Entry string(String str) {
+                    return new Entry(false, SecretBytes.fromBytes(str.getBytes(StandardCharsets.UTF_8)), expirationNanos);
+                }
+
+                @Override
+                public Entry binary(byte[] bytes) {
+                    return new Entry(true, SecretBytes.fromBytes(bytes), expirationNanos);
+                }
+            });
+        }
+
+        SecretValue decrypt() {
+            final var bytes = value.getPlainData();
+            if (binary) {
+                return SecretValue.binary(bytes);
+            }
+            return SecretValue.string(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+}
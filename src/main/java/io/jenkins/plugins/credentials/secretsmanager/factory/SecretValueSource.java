@@ -0,0 +1,78 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jenkins.plugins.credentials.secretsmanager.SecretsManagerBulkhead;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Somewhere that the value of a secret can be retrieved from, on demand.
+ */
+public interface SecretValueSource {
+
+    /**
+     * Retrieve the current value of a secret.
+     *
+     * @param secret the secret, and the ID of its current version when it was last listed (if that is known)
+     * @return the secret value
+     */
+    @NonNull
+    SecretValue get(SecretRef secret);
+
+    /**
+     * Start retrieving the current value of a secret, without waiting for it.
+     *
+     * By default, this runs {@link #get(SecretRef)} on the plugin's executor, as a blocking source holds a thread for
+     * the whole call. A non-blocking source overrides it, so that no thread waits while the call is in flight.
+     *
+     * @param secret the secret, and the ID of its current version when it was last listed (if that is known)
+     * @return the secret value, when it arrives
+     */
+    @NonNull
+    default CompletableFuture<SecretValue> getAsync(SecretRef secret) {
+        return CompletableFuture.supplyAsync(() -> get(secret), SecretsManagerBulkhead.get().getExecutor());
+    }
+
+    /**
+     * Retrieve the current value of a secret.
+     *
+     * @param arn the secret's ARN
+     * @param versionId the ID of the secret's current version when it was last listed, or null if that is not known
+     * @return the secret value
+     */
+    @NonNull
+    default SecretValue get(String arn, String versionId) {
+        return get(SecretRef.of(arn, versionId));
+    }
+
+    /**
+     * Retrieve secret values from Secrets Manager, with a GetSecretValue call for each retrieval.
+     */
+    static SecretValueSource of(SecretsManagerClient client) {
+        return new ClientSecretValueSource(client);
+    }
+
+    /**
+     * Retrieve secret values from Secrets Manager, coalescing concurrent retrievals into BatchGetSecretValue calls.
+     */
+    static SecretValueSource batching(SecretsManagerClient client) {
+        return new BatchingSecretValueSource(client, RateLimiter.unlimited());
+    }
+
+    /**
+     * Like {@link #batching(SecretsManagerClient)}, but wait for the rate limiter before each call.
+     */
+    static SecretValueSource batching(SecretsManagerClient client, RateLimiter rateLimiter) {
+        return new BatchingSecretValueSource(client, rateLimiter);
+    }
+
+    /**
+     * Retrieve secret values from Secrets Manager with the non-blocking client, with a GetSecretValue call for each
+     * retrieval, delaying each call until the rate limiter has a permit for it.
+     */
+    static SecretValueSource async(SecretsManagerAsyncClient client, RateLimiter rateLimiter) {
+        return new AsyncClientSecretValueSource(client, rateLimiter);
+    }
+}
@@ -0,0 +1,110 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import com.cloudbees.plugins.credentials.CredentialsUnavailableException;
+import io.jenkins.plugins.credentials.secretsmanager.Messages;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sorts Secrets Manager errors by what they mean for a credential.
+ *
+ * Throttling is transient, so the SDK retries it (with backoff) according to the client's retry strategy, and a batch
+ * entry that was throttled is retried on its own. The other errors are permanent for the secret, so they fail the
+ * retrieval straight away with a message that says why.
+ */
+final class SecretsManagerErrors {
+
+    private static final Logger LOG = Logger.getLogger(SecretsManagerErrors.class.getName());
+
+    enum Kind {
+        THROTTLED,
+        NOT_FOUND,
+        ACCESS_DENIED,
+        OTHER
+    }
+
+    private static final Set<String> THROTTLED = Set.of(
+            "ThrottlingException",
+            "Throttling",
+            "TooManyRequestsException",
+            "RequestLimitExceeded");
+
+    private static final Set<String> NOT_FOUND = Set.of("ResourceNotFoundException");
+
+    private static final Set<String> ACCESS_DENIED = Set.of(
+            "AccessDeniedException",
+            "DecryptionFailure");
+
+    private SecretsManagerErrors() {
+
+    }
+
+    static Kind classify(String errorCode) {
+        if (errorCode == null) {
+            return Kind.OTHER;
+        }
+        if (THROTTLED.contains(errorCode)) {
+            return Kind.THROTTLED;
+        }
+        if (NOT_FOUND.contains(errorCode)) {
+            return Kind.NOT_FOUND;
+        }
+        if (ACCESS_DENIED.contains(errorCode)) {
+            return Kind.ACCESS_DENIED;
+        }
+        return Kind.OTHER;
+    }
+
+    static Kind classify(AwsServiceException e) {
+        if (e.isThrottlingException()) {
+            return Kind.THROTTLED;
+        }
+        return classify(e.awsErrorDetails() == null ? null : e.awsErrorDetails().errorCode());
+    }
+
+    /**
+     * Turn the failure of a GetSecretValue call into the exception to throw for the credential. By now the SDK has
+     * retried whatever was transient.
+     */
+    static RuntimeException toException(String arn, Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            return toException(arn, e.getCause());
+        }
+
+        if (e instanceof SecretsManagerException) {
+            final var kind = classify((SecretsManagerException) e);
+            LOG.log(Level.WARNING, "AWS Secrets Manager retrieval error: arn=[{0}], kind=[{1}], message=[{2}]", new Object[]{arn, kind, e.getMessage()});
+            return toException(arn, kind);
+        }
+
+        if (e instanceof SdkClientException) {
+            // E.g. the API call timed out, or the endpoint could not be reached
+            LOG.log(Level.WARNING, "AWS Secrets Manager client error: arn=[{0}], message=[{1}]", new Object[]{arn, e.getMessage()});
+            return new CredentialsUnavailableException("secret", Messages.couldNotRetrieveCredentialError(arn));
+        }
+
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return new CompletionException(e);
+    }
+
+    static CredentialsUnavailableException toException(String arn, Kind kind) {
+        switch (kind) {
+            case THROTTLED:
+                return new CredentialsUnavailableException("secret", Messages.secretThrottledError(arn));
+            case NOT_FOUND:
+                return new CredentialsUnavailableException("secret", Messages.secretNotFoundError(arn));
+            case ACCESS_DENIED:
+                return new CredentialsUnavailableException("secret", Messages.secretAccessDeniedError(arn));
+            default:
+                return new CredentialsUnavailableException("secret", Messages.couldNotRetrieveCredentialError(arn));
+        }
+    }
+}
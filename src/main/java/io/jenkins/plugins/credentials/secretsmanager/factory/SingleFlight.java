@@ -0,0 +1,93 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent retrievals of the same secret (by ARN and version ID), so that they share one call to the
+ * underlying source instead of each making their own. Once that call completes, the next retrieval makes a new call;
+ * nothing is cached.
+ */
+public final class SingleFlight {
+
+    private final Map<SecretRef, CompletableFuture<SecretValue>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Coalesce retrievals from the source.
+     */
+    public SecretValueSource wrap(SecretValueSource source) {
+        return new SecretValueSource() {
+            @NonNull
+            @Override
+            public SecretValue get(SecretRef secret) {
+                return SingleFlight.this.get(secret, source);
+            }
+
+            @NonNull
+            @Override
+            public CompletableFuture<SecretValue> getAsync(SecretRef secret) {
+                return SingleFlight.this.getAsync(secret, source);
+            }
+        };
+    }
+
+    int size() {
+        return inFlight.size();
+    }
+
+    @NonNull
+    private SecretValue get(SecretRef secret, SecretValueSource source) {
+        final var call = new CompletableFuture<SecretValue>();
+
+        final var existing = inFlight.putIfAbsent(secret, call);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            final var value = source.get(secret);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(secret, call);
+        }
+    }
+
+    private CompletableFuture<SecretValue> getAsync(SecretRef secret, SecretValueSource source) {
+        final var call = new CompletableFuture<SecretValue>();
+
+        final var existing = inFlight.putIfAbsent(secret, call);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        source.getAsync(secret).whenComplete((value, e) -> {
+            inFlight.remove(secret, call);
+            if (e != null) {
+                call.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } else {
+                call.complete(value);
+            }
+        });
+
+        return call.copy();
+    }
+
+    private static SecretValue join(CompletableFuture<SecretValue> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -9,8 +9,16 @@ public abstract class Tags {
     public static final String filename = namespace + "filename";
     public static final String type = namespace + "type";
     public static final String username = namespace + "username";
+    public static final String prefetch = namespace + "prefetch";
 
     private Tags() {
 
     }
+
+    /**
+     * Whether a tag is one of ours (as opposed to a tag that is only there for other AWS users).
+     */
+    public static boolean isJenkinsTag(String key) {
+        return key != null && key.startsWith(namespace);
+    }
 }
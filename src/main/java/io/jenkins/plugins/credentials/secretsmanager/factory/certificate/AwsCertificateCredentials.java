@@ -12,39 +12,62 @@ import io.jenkins.plugins.credentials.secretsmanager.AwsCredentialsProvider;
 import io.jenkins.plugins.credentials.secretsmanager.Messages;
 
 import javax.annotation.Nonnull;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.security.GeneralSecurityException;
 import java.security.KeyStore;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
+import java.security.MessageDigest;
 import java.util.function.Supplier;
 
 public class AwsCertificateCredentials extends BaseStandardCredentials implements StandardCertificateCredentials {
 
     private final Supplier<SecretBytes> keyStore;
-    private static final char[] NO_PASSWORD = {};
+    /** Whether the key store is for one version of the secret, whose value never changes. */
+    private final boolean versioned;
     private static final Secret NO_SECRET = Secret.fromString("");
 
-    public AwsCertificateCredentials(String id, String description, Supplier<SecretBytes> keyStore) {
+    /**
+     * The key store that was last loaded from the secret value. Loading a keystore is costly (it runs a key derivation
+     * function), so it is only done again when the secret value changes. When the credential is for one version of the
+     * secret, whose value never changes, the value is not even retrieved again.
+     */
+    private transient volatile LoadedKeyStore loaded;
+
+    public AwsCertificateCredentials(String id, String description, Supplier<SecretBytes> keyStore, boolean versioned) {
         super(id, description);
         this.keyStore = keyStore;
+        this.versioned = versioned;
     }
 
+    /**
+     * @return a read-only view of the key store, which is shared between callers
+     */
     @NonNull
     @Override
     public KeyStore getKeyStore() {
-        final SecretBytes secretBytes = keyStore.get();
+        final LoadedKeyStore current = loaded;
+        if (current != null && versioned) {
+            return current.keyStore;
+        }
 
-        try (InputStream stream = new ByteArrayInputStream(secretBytes.getPlainData())) {
-            final KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
-            // JDK9 workaround: PKCS#12 keystores must have at least an empty password (not null)
-            keyStore.load(stream, NO_PASSWORD);
-            return keyStore;
-        } catch (IOException | CertificateException | KeyStoreException | NoSuchAlgorithmException ex) {
+        final SecretBytes secretBytes = keyStore.get();
+        if (secretBytes == null) {
             throw new CredentialsUnavailableException("keyStore", Messages.noCertificateError());
         }
+
+        final byte[] data = secretBytes.getPlainData();
+        final byte[] digest = KeyStores.digest(data);
+
+        LoadedKeyStore l = loaded;
+        if (l == null || !l.isLoadedFrom(digest)) {
+            try {
+                l = new LoadedKeyStore(digest, KeyStores.readOnly(KeyStores.load(data)));
+            } catch (IOException | GeneralSecurityException ex) {
+                throw new CredentialsUnavailableException("keyStore", Messages.noCertificateError());
+            }
+            loaded = l;
+        }
+
+        return l.keyStore;
     }
 
     @NonNull
@@ -57,6 +80,24 @@ public class AwsCertificateCredentials extends BaseStandardCredentials implement
         return keyStore.get();
     }
 
+    private static final class LoadedKeyStore {
+
+        /** The digest of the secret value that the key store was loaded from. */
+        private final byte[] digest;
+
+        /** A read-only view, so that it can be shared between callers. */
+        private final KeyStore keyStore;
+
+        private LoadedKeyStore(byte[] digest, KeyStore keyStore) {
+            this.digest = digest;
+            this.keyStore = keyStore;
+        }
+
+        boolean isLoadedFrom(byte[] digest) {
+            return MessageDigest.isEqual(this.digest, digest);
+        }
+    }
+
     @Extension
     @SuppressWarnings("unused")
     public static class DescriptorImpl extends BaseStandardCredentialsDescriptor {
@@ -16,7 +16,7 @@ public class AwsCertificateCredentialsSnapshotTaker extends CredentialsSnapshotT
     @Override
     public AwsCertificateCredentials snapshot(AwsCertificateCredentials credential) {
         final SecretBytes result = credential.getSecretBytes();
-        return new AwsCertificateCredentials(credential.getId(), credential.getDescription(), new SecretBytesSnapshot(result));
+        return new AwsCertificateCredentials(credential.getId(), credential.getDescription(), new SecretBytesSnapshot(result), true);
     }
 
     private static class SecretBytesSnapshot extends Snapshot<SecretBytes> {
@@ -0,0 +1,319 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory.certificate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.KeyStoreSpi;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load certificate secrets into key stores, and hand out read-only views of them.
+ *
+ * A certificate secret is either a PKCS#12 keystore (encrypted with a zero-length password), or a PEM bundle of an
+ * unencrypted private key and its certificate chain (leaf first).
+ */
+final class KeyStores {
+
+    /** The alias of the entry in a key store that was converted from a PEM bundle. */
+    static final String PEM_ALIAS = "1";
+
+    private static final char[] NO_PASSWORD = {};
+
+    private static final Pattern PEM_BLOCK = Pattern.compile("-----BEGIN ([A-Z0-9 ]+)-----(.*?)-----END \\1-----", Pattern.DOTALL);
+
+    /** The key algorithms to try, in turn, on a PKCS#8 private key. */
+    private static final String[] KEY_ALGORITHMS = {"RSA", "EC", "EdDSA", "DSA"};
+
+    /** The DER prefix of a PKCS#8 structure's algorithm identifier for an RSA key. */
+    private static final byte[] RSA_ALGORITHM_IDENTIFIER = {
+            0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x01, 0x05, 0x00
+    };
+
+    private KeyStores() {
+
+    }
+
+    /**
+     * Identify a secret value, without holding on to the value itself.
+     */
+    static byte[] digest(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JDK has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static KeyStore load(byte[] data) throws IOException, GeneralSecurityException {
+        if (isPem(data)) {
+            return fromPem(new String(data, StandardCharsets.US_ASCII));
+        }
+
+        try (InputStream stream = new ByteArrayInputStream(data)) {
+            final KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            // JDK9 workaround: PKCS#12 keystores must have at least an empty password (not null)
+            keyStore.load(stream, NO_PASSWORD);
+            return keyStore;
+        }
+    }
+
+    /**
+     * Wrap a key store so that it can be handed to callers without them being able to change it.
+     */
+    static KeyStore readOnly(KeyStore keyStore) {
+        final KeyStore view = new ReadOnlyKeyStore(keyStore);
+        try {
+            view.load(null, null);
+        } catch (IOException | GeneralSecurityException e) {
+            // Loading the view does nothing
+            throw new IllegalStateException(e);
+        }
+        return view;
+    }
+
+    /**
+     * A PKCS#12 keystore is a DER sequence, which never starts with text.
+     */
+    private static boolean isPem(byte[] data) {
+        return data.length > 0 && data[0] != 0x30 && new String(data, StandardCharsets.US_ASCII).contains("-----BEGIN ");
+    }
+
+    private static KeyStore fromPem(String pem) throws IOException, GeneralSecurityException {
+        final CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+
+        PrivateKey privateKey = null;
+        final List<Certificate> chain = new ArrayList<>();
+
+        final Matcher block = PEM_BLOCK.matcher(pem);
+        while (block.find()) {
+            final String type = block.group(1);
+            final byte[] der;
+            try {
+                der = Base64.getMimeDecoder().decode(block.group(2).trim());
+            } catch (IllegalArgumentException e) {
+                throw new KeyStoreException("Malformed PEM block: " + type, e);
+            }
+
+            switch (type) {
+                case "CERTIFICATE":
+                    chain.add(certificateFactory.generateCertificate(new ByteArrayInputStream(der)));
+                    break;
+                case "PRIVATE KEY":
+                case "RSA PRIVATE KEY":
+                    if (privateKey != null) {
+                        throw new KeyStoreException("PEM bundle has more than one private key");
+                    }
+                    privateKey = privateKey(type.equals("PRIVATE KEY") ? der : pkcs1ToPkcs8(der));
+                    break;
+                default:
+                    // Anything else (like EC parameters) is not needed for the key store
+                    break;
+            }
+        }
+
+        if (privateKey == null || chain.isEmpty()) {
+            throw new KeyStoreException("PEM bundle must have a private key and at least one certificate");
+        }
+
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setKeyEntry(PEM_ALIAS, privateKey, NO_PASSWORD, chain.toArray(new Certificate[0]));
+        return keyStore;
+    }
+
+    private static PrivateKey privateKey(byte[] pkcs8) throws GeneralSecurityException {
+        final PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(pkcs8);
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(spec);
+            } catch (InvalidKeySpecException e) {
+                // Try the next algorithm
+            }
+        }
+        throw new InvalidKeySpecException("Unsupported private key");
+    }
+
+    /**
+     * Wrap a PKCS#1 RSA private key in a PKCS#8 structure, which is what the JDK can read.
+     */
+    private static byte[] pkcs1ToPkcs8(byte[] pkcs1) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        // Version 0
+        body.write(new byte[]{0x02, 0x01, 0x00});
+        body.write(RSA_ALGORITHM_IDENTIFIER);
+        body.write(0x04);
+        writeLength(body, pkcs1.length);
+        body.write(pkcs1);
+
+        final ByteArrayOutputStream pkcs8 = new ByteArrayOutputStream();
+        pkcs8.write(0x30);
+        writeLength(pkcs8, body.size());
+        body.writeTo(pkcs8);
+        return pkcs8.toByteArray();
+    }
+
+    private static void writeLength(ByteArrayOutputStream out, int length) {
+        if (length < 0x80) {
+            out.write(length);
+            return;
+        }
+
+        final int bytes = (Integer.SIZE - Integer.numberOfLeadingZeros(length) + 7) / 8;
+        out.write(0x80 | bytes);
+        for (int i = bytes - 1; i >= 0; i--) {
+            out.write(length >>> (i * 8));
+        }
+    }
+
+    private static final class ReadOnlyKeyStore extends KeyStore {
+        private ReadOnlyKeyStore(KeyStore keyStore) {
+            super(new ReadOnlyKeyStoreSpi(keyStore), keyStore.getProvider(), keyStore.getType());
+        }
+    }
+
+    /**
+     * Reads go through to the underlying key store; writes are refused.
+     *
+     * The underlying key store is always loaded, so it never throws the KeyStoreException that it would if it were
+     * not.
+     */
+    private static final class ReadOnlyKeyStoreSpi extends KeyStoreSpi {
+
+        private final KeyStore keyStore;
+
+        private ReadOnlyKeyStoreSpi(KeyStore keyStore) {
+            this.keyStore = keyStore;
+        }
+
+        @Override
+        public Key engineGetKey(String alias, char[] password) throws NoSuchAlgorithmException, UnrecoverableKeyException {
+            try {
+                return keyStore.getKey(alias, password);
+            } catch (KeyStoreException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Certificate[] engineGetCertificateChain(String alias) {
+            return read(() -> keyStore.getCertificateChain(alias));
+        }
+
+        @Override
+        public Certificate engineGetCertificate(String alias) {
+            return read(() -> keyStore.getCertificate(alias));
+        }
+
+        @Override
+        public Date engineGetCreationDate(String alias) {
+            return read(() -> keyStore.getCreationDate(alias));
+        }
+
+        @Override
+        public void engineSetKeyEntry(String alias, Key key, char[] password, Certificate[] chain) throws KeyStoreException {
+            throw readOnly();
+        }
+
+        @Override
+        public void engineSetKeyEntry(String alias, byte[] key, Certificate[] chain) throws KeyStoreException {
+            throw readOnly();
+        }
+
+        @Override
+        public void engineSetCertificateEntry(String alias, Certificate cert) throws KeyStoreException {
+            throw readOnly();
+        }
+
+        @Override
+        public void engineDeleteEntry(String alias) throws KeyStoreException {
+            throw readOnly();
+        }
+
+        @Override
+        public Enumeration<String> engineAliases() {
+            return read(keyStore::aliases);
+        }
+
+        @Override
+        public boolean engineContainsAlias(String alias) {
+            return read(() -> keyStore.containsAlias(alias));
+        }
+
+        @Override
+        public int engineSize() {
+            return read(keyStore::size);
+        }
+
+        @Override
+        public boolean engineIsKeyEntry(String alias) {
+            return read(() -> keyStore.isKeyEntry(alias));
+        }
+
+        @Override
+        public boolean engineIsCertificateEntry(String alias) {
+            return read(() -> keyStore.isCertificateEntry(alias));
+        }
+
+        @Override
+        public String engineGetCertificateAlias(Certificate cert) {
+            return read(() -> keyStore.getCertificateAlias(cert));
+        }
+
+        @Override
+        public void engineStore(OutputStream stream, char[] password) throws IOException, NoSuchAlgorithmException, CertificateException {
+            try {
+                keyStore.store(stream, password);
+            } catch (KeyStoreException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void engineLoad(InputStream stream, char[] password) throws IOException {
+            if (stream != null) {
+                throw new IOException("The key store is read-only");
+            }
+        }
+
+        private static KeyStoreException readOnly() {
+            return new KeyStoreException("The key store is read-only");
+        }
+
+        private static <T> T read(Read<T> read) {
+            try {
+                return read.get();
+            } catch (KeyStoreException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Read<T> {
+        T get() throws KeyStoreException;
+    }
+}
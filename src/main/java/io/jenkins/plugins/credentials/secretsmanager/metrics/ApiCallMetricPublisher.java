@@ -0,0 +1,59 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Turns the AWS SDK's metrics for each API call into the plugin's metrics. The SDK reports one collection per API call,
+ * with a child collection for each attempt (the first try, plus any retries).
+ */
+class ApiCallMetricPublisher implements MetricPublisher {
+
+    /** The error type that the SDK reports for an attempt that was throttled. */
+    private static final String THROTTLING = "Throttling";
+
+    private static final String ATTEMPT = "ApiCallAttempt";
+
+    private final SecretsManagerMetrics metrics;
+
+    ApiCallMetricPublisher(SecretsManagerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void publish(MetricCollection call) {
+        final var operation = first(call, CoreMetric.OPERATION_NAME);
+        if (operation == null) {
+            return;
+        }
+
+        final var duration = first(call, CoreMetric.API_CALL_DURATION);
+        final var successful = first(call, CoreMetric.API_CALL_SUCCESSFUL);
+        final var retries = first(call, CoreMetric.RETRY_COUNT);
+        final var throttles = (int) call.childrenWithName(ATTEMPT)
+                .filter(attempt -> attempt.metricValues(CoreMetric.ERROR_TYPE).contains(THROTTLING))
+                .count();
+
+        metrics.recordApiCall(
+                operation,
+                duration == null ? Duration.ZERO : duration,
+                Boolean.TRUE.equals(successful),
+                retries == null ? 0 : retries,
+                throttles);
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    private static <T> T first(MetricCollection collection, SdkMetric<T> metric) {
+        final List<T> values = collection.metricValues(metric);
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
@@ -0,0 +1,29 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count that only goes up.
+ */
+public final class Counter implements Metric {
+
+    private final LongAdder count = new LongAdder();
+
+    public void inc() {
+        count.increment();
+    }
+
+    public void add(long n) {
+        count.add(n);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public Map<String, Number> getValues() {
+        return Map.of("", getCount());
+    }
+}
@@ -0,0 +1,29 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A value that is read from somewhere else when it is needed. It reads as 0 until it has a source.
+ */
+public final class Gauge implements Metric {
+
+    private volatile LongSupplier source = () -> 0;
+
+    public void set(LongSupplier source) {
+        this.source = source;
+    }
+
+    public void set(long value) {
+        this.source = () -> value;
+    }
+
+    public long getValue() {
+        return source.getAsLong();
+    }
+
+    @Override
+    public Map<String, Number> getValues() {
+        return Map.of("", getValue());
+    }
+}
@@ -0,0 +1,107 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The distribution of a series of non-negative values (such as durations in milliseconds), since startup.
+ *
+ * Values are counted in fixed buckets on a 1-2-5 scale, so recording is cheap and lock-free, and memory use does not
+ * grow. In return, a percentile is only accurate to its bucket: it reads as the bucket's upper bound (or the maximum,
+ * if that is lower).
+ */
+public final class Histogram implements Metric {
+
+    static final long[] BOUNDS = bounds();
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        final var v = Math.max(0, value);
+        buckets[bucket(v)].increment();
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMean() {
+        final var n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile a fraction between 0 and 1 (e.g. 0.95 for the 95th percentile)
+     */
+    public long getPercentile(double quantile) {
+        final var n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+
+        final var rank = (long) Math.ceil(quantile * n);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return Math.min(BOUNDS[i], getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override
+    public Map<String, Number> getValues() {
+        final Map<String, Number> values = new LinkedHashMap<>();
+        values.put("count", getCount());
+        values.put("mean", getMean());
+        values.put("p50", getPercentile(0.5));
+        values.put("p95", getPercentile(0.95));
+        values.put("p99", getPercentile(0.99));
+        values.put("max", getMax());
+        return values;
+    }
+
+    private static int bucket(long value) {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            if (value <= BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS.length;
+    }
+
+    private static long[] bounds() {
+        // 1, 2, 5, 10, 20, 50 ... 5,000,000,000
+        final long[] bounds = new long[30];
+        long scale = 1;
+        for (int i = 0; i < bounds.length; i += 3) {
+            bounds[i] = scale;
+            bounds[i + 1] = 2 * scale;
+            bounds[i + 2] = 5 * scale;
+            scale *= 10;
+        }
+        return bounds;
+    }
+}
@@ -0,0 +1,14 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import java.util.Map;
+
+/**
+ * A measurement that can be read as one or more numbers.
+ */
+public interface Metric {
+
+    /**
+     * The current values, keyed by suffix. A metric with a single value uses the empty suffix.
+     */
+    Map<String, Number> getValues();
+}
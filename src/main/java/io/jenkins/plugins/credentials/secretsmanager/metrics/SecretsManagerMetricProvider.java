@@ -0,0 +1,38 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import hudson.Extension;
+import jenkins.metrics.api.MetricProvider;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Publishes the plugin's metrics through the Metrics plugin (when it is installed), as gauges named
+ * {@code aws-secrets-manager.<metric>}.
+ */
+@Extension(optional = true)
+@Restricted(NoExternalUse.class)
+@SuppressWarnings("unused")
+public class SecretsManagerMetricProvider extends MetricProvider {
+
+    static final String PREFIX = "aws-secrets-manager.";
+
+    @Override
+    public MetricSet getMetricSet() {
+        final var metrics = SecretsManagerMetrics.get();
+
+        final Map<String, Metric> gauges = new LinkedHashMap<>();
+        for (String name : metrics.getValues().keySet()) {
+            gauges.put(PREFIX + name, (Gauge<Number>) () -> metrics.getValue(name));
+        }
+
+        final var set = Collections.unmodifiableMap(gauges);
+        return () -> set;
+    }
+}
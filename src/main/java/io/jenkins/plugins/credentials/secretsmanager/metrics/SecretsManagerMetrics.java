@@ -0,0 +1,245 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import com.cloudbees.jenkins.plugins.sshcredentials.SSHUserPrivateKey;
+import com.cloudbees.plugins.credentials.common.StandardCertificateCredentials;
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.factory.Type;
+import org.jenkinsci.plugins.plaincredentials.FileCredentials;
+import org.jenkinsci.plugins.plaincredentials.StringCredentials;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The plugin's own metrics: how long refreshes take, how many pages and secrets they see, how the AWS API calls fare,
+ * and how well the caches work.
+ *
+ * Every metric is registered up front, under a fixed name, so that the set of names never changes at runtime. They are
+ * shown on the plugin's status page, and published through the Metrics plugin when it is installed.
+ */
+public final class SecretsManagerMetrics {
+
+    /** The operations whose API calls are measured. */
+    static final List<String> OPERATIONS = List.of("ListSecrets", "GetSecretValue", "BatchGetSecretValue");
+
+    private static final List<String> TYPES = List.of(Type.string, Type.usernamePassword, Type.sshUserPrivateKey, Type.certificate, Type.file);
+
+    private static final SecretsManagerMetrics INSTANCE = new SecretsManagerMetrics();
+
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+
+    private final Histogram refreshDuration = register("refresh.duration", new Histogram());
+
+    private final Histogram refreshPages = register("refresh.pages", new Histogram());
+
+    private final Counter refreshFailures = register("refresh.failures", new Counter());
+
+    private final Counter updates = register("refresh.updates", new Counter());
+
+    private final Gauge secrets = register("secrets", new Gauge());
+
+    private final Map<String, Gauge> credentials = registerAll("credentials.", TYPES, Gauge::new);
+
+    private final Gauge snapshotAge = register("credentials.age", new Gauge());
+
+    private final Gauge credentialsCacheHits = register("credentialsCache.hits", new Gauge());
+
+    private final Gauge credentialsCacheMisses = register("credentialsCache.misses", new Gauge());
+
+    private final Gauge warmUpDuration = register("warmUp.duration", new Gauge());
+
+    private final Gauge warmUpPrefetched = register("warmUp.prefetched", new Gauge());
+
+    private final Counter valueCacheHits = register("valueCache.hits", new Counter());
+
+    private final Counter valueCacheMisses = register("valueCache.misses", new Counter());
+
+    private final Counter rateLimitDelays = register("rateLimit.delays", new Counter());
+
+    private final Map<String, Histogram> apiDurations = registerAll("api.", OPERATIONS, ".duration", Histogram::new);
+
+    private final Map<String, Counter> apiErrors = registerAll("api.", OPERATIONS, ".errors", Counter::new);
+
+    private final Map<String, Counter> apiThrottles = registerAll("api.", OPERATIONS, ".throttles", Counter::new);
+
+    private final Map<String, Counter> apiRetries = registerAll("api.", OPERATIONS, ".retries", Counter::new);
+
+    private final MetricPublisher publisher = new ApiCallMetricPublisher(this);
+
+    SecretsManagerMetrics() {
+
+    }
+
+    public static SecretsManagerMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record a successful full refresh of the credentials list.
+     *
+     * @param duration how long it took
+     * @param pages how many ListSecrets pages it fetched
+     * @param secrets how many secrets it listed
+     */
+    public void recordRefresh(Duration duration, int pages, int secrets) {
+        refreshDuration.record(duration.toMillis());
+        refreshPages.record(pages);
+        this.secrets.set(secrets);
+    }
+
+    public void recordRefreshFailure() {
+        refreshFailures.inc();
+    }
+
+    /**
+     * Record a targeted update of some credentials (rather than a full refresh).
+     */
+    public void recordUpdate() {
+        updates.inc();
+    }
+
+    /**
+     * Record the credentials list that is now being served, so that it can be counted by type.
+     */
+    public void recordCredentials(Collection<? extends StandardCredentials> list) {
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        for (StandardCredentials c : list) {
+            counts.merge(typeOf(c), 1, Integer::sum);
+        }
+        credentials.forEach((type, gauge) -> gauge.set(counts.getOrDefault(type, 0)));
+    }
+
+    /**
+     * Record the warm-up of the credentials cache at startup.
+     *
+     * @param duration how long it took until the credentials list was available (and values were prefetched)
+     * @param prefetched how many secret values were prefetched
+     */
+    public void recordWarmUp(Duration duration, int prefetched) {
+        warmUpDuration.set(duration.toMillis());
+        warmUpPrefetched.set(prefetched);
+    }
+
+    public void recordValueCacheHit() {
+        valueCacheHits.inc();
+    }
+
+    public void recordValueCacheMiss() {
+        valueCacheMisses.inc();
+    }
+
+    /**
+     * Record a secret value retrieval call that had to wait for the rate limit.
+     */
+    public void recordRateLimitDelay() {
+        rateLimitDelays.inc();
+    }
+
+    /**
+     * Read the state of the credentials list cache from somewhere else.
+     *
+     * @param ageSeconds how long ago the credentials list was loaded (-1 if it has not been loaded)
+     * @param hits how many lookups were served from the cache
+     * @param misses how many lookups had to wait for the credentials list to load
+     */
+    public void trackCredentialsCache(LongSupplier ageSeconds, LongSupplier hits, LongSupplier misses) {
+        snapshotAge.set(ageSeconds);
+        credentialsCacheHits.set(hits);
+        credentialsCacheMisses.set(misses);
+    }
+
+    /**
+     * Publishes the AWS SDK's per-call metrics into this registry. Attach it to a client with
+     * {@code overrideConfiguration(o -> o.addMetricPublisher(...))}.
+     */
+    public MetricPublisher getPublisher() {
+        return publisher;
+    }
+
+    void recordApiCall(String operation, Duration duration, boolean successful, int retries, int throttles) {
+        final var histogram = apiDurations.get(operation);
+        if (histogram == null) {
+            return;
+        }
+
+        histogram.record(duration.toMillis());
+        apiRetries.get(operation).add(retries);
+        apiThrottles.get(operation).add(throttles);
+        if (!successful) {
+            apiErrors.get(operation).inc();
+        }
+    }
+
+    /**
+     * Every value of every metric, by full name (metric name, plus the value's suffix if it has one), in a stable order.
+     */
+    public Map<String, Number> getValues() {
+        final Map<String, Number> values = new LinkedHashMap<>();
+        metrics.forEach((name, metric) ->
+                metric.getValues().forEach((suffix, value) -> values.put(fullName(name, suffix), value)));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * One value, by full name (see {@link #getValues()}), or null if there is no such value.
+     */
+    public Number getValue(String fullName) {
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            final var name = entry.getKey();
+            if (fullName.equals(name)) {
+                return entry.getValue().getValues().get("");
+            }
+            if (fullName.startsWith(name + ".")) {
+                final var value = entry.getValue().getValues().get(fullName.substring(name.length() + 1));
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private <M extends Metric> M register(String name, M metric) {
+        metrics.put(name, metric);
+        return metric;
+    }
+
+    private <M extends Metric> Map<String, M> registerAll(String prefix, List<String> keys, Supplier<M> factory) {
+        return registerAll(prefix, keys, "", factory);
+    }
+
+    private <M extends Metric> Map<String, M> registerAll(String prefix, List<String> keys, String suffix, Supplier<M> factory) {
+        final Map<String, M> registered = new LinkedHashMap<>();
+        for (String key : keys) {
+            registered.put(key, register(prefix + key + suffix, factory.get()));
+        }
+        return registered;
+    }
+
+    private static String fullName(String name, String suffix) {
+        return suffix.isEmpty() ? name : name + "." + suffix;
+    }
+
+    private static String typeOf(StandardCredentials c) {
+        if (c instanceof StringCredentials) {
+            return Type.string;
+        } else if (c instanceof StandardUsernamePasswordCredentials) {
+            return Type.usernamePassword;
+        } else if (c instanceof SSHUserPrivateKey) {
+            return Type.sshUserPrivateKey;
+        } else if (c instanceof StandardCertificateCredentials) {
+            return Type.certificate;
+        } else if (c instanceof FileCredentials) {
+            return Type.file;
+        }
+        return "other";
+    }
+}
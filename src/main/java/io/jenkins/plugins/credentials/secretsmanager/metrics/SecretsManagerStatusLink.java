@@ -0,0 +1,45 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import io.jenkins.plugins.credentials.secretsmanager.Messages;
+
+import java.util.Map;
+
+/**
+ * A status page for the plugin under Manage Jenkins, which shows its metrics. (The page needs the Administer
+ * permission.)
+ */
+@Extension
+@SuppressWarnings("unused")
+public class SecretsManagerStatusLink extends ManagementLink {
+
+    @Override
+    public String getIconFileName() {
+        return "/plugin/aws-secrets-manager-credentials-provider/images/48x48/icon.png";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.awsSecretsManager();
+    }
+
+    @Override
+    public String getDescription() {
+        return Messages.statusDescription();
+    }
+
+    @Override
+    public String getUrlName() {
+        return "aws-secrets-manager";
+    }
+
+    @Override
+    public Category getCategory() {
+        return Category.STATUS;
+    }
+
+    public Map<String, Number> getMetrics() {
+        return SecretsManagerMetrics.get().getValues();
+    }
+}
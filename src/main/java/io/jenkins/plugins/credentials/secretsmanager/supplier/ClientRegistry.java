@@ -0,0 +1,126 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.Client;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps one long-lived Secrets Manager client per client configuration, so that its HTTP connection pool (and the warm
+ * connections in it) is reused by every ListSecrets and GetSecretValue call.
+ *
+ * A client whose configuration is no longer in use is retired rather than closed straight away, because credentials
+ * that were handed out before (for example to a running build) may still hold it. A retired client is only closed once
+ * it has been retired for a grace period, however often the list is refreshed in the meantime.
+ *
+ * @param <C> the kind of client (blocking or non-blocking)
+ */
+class ClientRegistry<C extends SdkAutoCloseable> {
+
+    private static final Logger LOG = Logger.getLogger(ClientRegistry.class.getName());
+
+    /** How long a retired client is kept open for the credentials that may still hold it. */
+    static final Duration GRACE_PERIOD = Duration.ofHours(1);
+
+    private final Function<Client, C> factory;
+
+    private final LongSupplier ticker;
+
+    private final long gracePeriodNanos;
+
+    // A lock rather than synchronized, as a virtual thread that waits in a synchronized block pins its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Guarded by lock. */
+    private final Map<Client, C> clients = new HashMap<>();
+
+    /** Guarded by lock. */
+    private final List<Retired<C>> retired = new ArrayList<>();
+
+    ClientRegistry(Function<Client, C> factory) {
+        this(factory, System::nanoTime, GRACE_PERIOD);
+    }
+
+    ClientRegistry(Function<Client, C> factory, LongSupplier ticker, Duration gracePeriod) {
+        this.factory = factory;
+        this.ticker = ticker;
+        this.gracePeriodNanos = gracePeriod.toNanos();
+    }
+
+    /**
+     * Get the client for a configuration, building it if this configuration has not been seen before.
+     */
+    C get(Client config) {
+        lock.lock();
+        try {
+            return clients.computeIfAbsent(config, c -> {
+                LOG.log(Level.FINE, "Building a new Secrets Manager client");
+                return factory.apply(c);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retire the clients for all configurations except the given ones, and close the clients that have been retired
+     * for longer than the grace period.
+     */
+    void retainOnly(Collection<Client> configs) {
+        final List<C> expired = new ArrayList<>();
+
+        lock.lock();
+        try {
+            final long now = ticker.getAsLong();
+
+            retired.removeIf(r -> {
+                if (now - r.retiredNanos < gracePeriodNanos) {
+                    return false;
+                }
+                expired.add(r.client);
+                return true;
+            });
+
+            clients.entrySet().removeIf(entry -> {
+                if (configs.contains(entry.getKey())) {
+                    return false;
+                }
+                retired.add(new Retired<>(entry.getValue(), now));
+                return true;
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        // Closing a client shuts down its connections, so do it without holding up other callers
+        expired.forEach(ClientRegistry::close);
+    }
+
+    private static void close(SdkAutoCloseable client) {
+        try {
+            client.close();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Could not close retired Secrets Manager client: message=[{0}]", e.getMessage());
+        }
+    }
+
+    private static final class Retired<C> {
+        private final C client;
+        private final long retiredNanos;
+
+        private Retired(C client, long retiredNanos) {
+            this.client = client;
+            this.retiredNanos = retiredNanos;
+        }
+    }
+}
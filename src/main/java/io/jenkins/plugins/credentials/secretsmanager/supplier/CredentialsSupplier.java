@@ -1,73 +1,517 @@
 package io.jenkins.plugins.credentials.secretsmanager.supplier;
 
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 import software.amazon.awssdk.services.secretsmanager.model.Filter;
+import software.amazon.awssdk.services.secretsmanager.model.FilterNameStringType;
 import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
 import software.amazon.awssdk.services.secretsmanager.model.Tag;
 import com.cloudbees.plugins.credentials.common.StandardCredentials;
 import io.jenkins.plugins.credentials.secretsmanager.FiltersFactory;
-import io.jenkins.plugins.credentials.secretsmanager.config.Client;
-import io.jenkins.plugins.credentials.secretsmanager.config.ListSecrets;
-import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
 import io.jenkins.plugins.credentials.secretsmanager.config.*;
+import io.jenkins.plugins.credentials.secretsmanager.config.transformer.description.DescriptionTransformer;
+import io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.NameTransformer;
 import io.jenkins.plugins.credentials.secretsmanager.factory.CredentialsFactory;
+import io.jenkins.plugins.credentials.secretsmanager.factory.RateLimiter;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretArn;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretRef;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretValue;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretValueCache;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretValueSource;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SingleFlight;
+import io.jenkins.plugins.credentials.secretsmanager.factory.Tags;
+import io.jenkins.plugins.credentials.secretsmanager.metrics.SecretsManagerMetrics;
 
+import jenkins.model.Jenkins;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class CredentialsSupplier implements Supplier<Collection<StandardCredentials>> {
 
     private static final Logger LOG = Logger.getLogger(CredentialsSupplier.class.getName());
 
-    private CredentialsSupplier() {
+    static final String AWSCURRENT = "AWSCURRENT";
+
+    private static final String ARN_SECRET_MARKER = ":secret:";
+
+    private static final Pattern ARN_SUFFIX = Pattern.compile("-[a-zA-Z0-9]{6}$");
+
+    /** The most values that a ListSecrets filter accepts. */
+    private static final int MAX_FILTER_VALUES = 10;
+
+    /** Where the secret list snapshot is kept, relative to JENKINS_HOME. */
+    private static final String SNAPSHOT_FILE = "aws-secrets-manager-credentials-provider/secret-list.snapshot";
+
+    private final ClientRegistry<SecretsManagerClient> clients = new ClientRegistry<>(Client::build);
+
+    private final ClientRegistry<SecretsManagerAsyncClient> asyncClients = new ClientRegistry<>(Client::buildAsync);
+
+    private final Map<Client, IncrementalCredentialsFactory> factories = new ConcurrentHashMap<>();
+
+    private final SecretValueCache valueCache = new SecretValueCache(
+            () -> PluginConfiguration.normalizeValueCache(PluginConfiguration.getInstance().getValueCache()),
+            () -> PluginConfiguration.normalizeValueCacheSize(PluginConfiguration.getInstance().getValueCacheSize()));
+
+    /** One limit across all clients, as they usually share an account (and so a quota). */
+    private final RateLimiter rateLimiter = new RateLimiter(() ->
+            PluginConfiguration.normalizeValueRateLimit(PluginConfiguration.getInstance().getValueRateLimit()));
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /** How to retrieve the value of each secret that is tagged for prefetching, by ARN. */
+    private final Map<SecretArn, Supplier<CompletableFuture<SecretValue>>> prefetchable = new ConcurrentHashMap<>();
+
+    /** Where to keep the secret list snapshot, or empty to not keep one. */
+    private final Supplier<Optional<Path>> snapshotFile;
 
+    /**
+     * The key of the snapshot that is on disk and matches the credentials (because they were saved to it, or restored
+     * from it), or null if there is none.
+     */
+    private volatile String savedSnapshotKey;
+
+    private CredentialsSupplier(Supplier<Optional<Path>> snapshotFile) {
+        this.snapshotFile = snapshotFile;
     }
 
-    public static Supplier<Collection<StandardCredentials>> standard() {
-        return new CredentialsSupplier();
+    public static CredentialsSupplier standard() {
+        return new CredentialsSupplier(() -> Optional.ofNullable(Jenkins.getInstanceOrNull())
+                .map(jenkins -> jenkins.getRootDir().toPath().resolve(SNAPSHOT_FILE)));
     }
 
     @Override
     public Collection<StandardCredentials> get() {
         LOG.log(Level.FINE,"Retrieve secrets from AWS Secrets Manager");
 
+        final var metrics = SecretsManagerMetrics.get();
+        final var start = System.nanoTime();
+        final var listed = new Listed();
+
+        final Collection<StandardCredentials> credentials;
+        try {
+            credentials = get(listed);
+        } catch (RuntimeException e) {
+            metrics.recordRefreshFailure();
+            throw e;
+        }
+
+        metrics.recordRefresh(Duration.ofNanos(System.nanoTime() - start), listed.pages.intValue(), listed.secrets.intValue());
+        metrics.recordCredentials(credentials);
+
+        return credentials;
+    }
+
+    private Collection<StandardCredentials> get(Listed listed) {
         final var config = PluginConfiguration.getInstance();
 
-        final Function<String, String> nameFormatter = createNameFormatter(config);
-        final Function<String, String> descriptionFormatter = createDescriptionFormatter(config);
+        final var nameTransformer = getNameTransformer(config);
+        final var descriptionTransformer = getDescriptionTransformer(config);
 
         final var filters = createListSecretsFilters(config);
+        final var async = PluginConfiguration.normalizeAsyncClient(config.getAsyncClient());
+
+        final var clientConfigs = getClientConfigs(config);
+        // Only the clients of the kind in use are kept
+        clients.retainOnly(async ? Collections.emptyList() : clientConfigs);
+        asyncClients.retainOnly(async ? clientConfigs : Collections.emptyList());
+        factories.keySet().retainAll(clientConfigs);
+
+        // Each client's secret list is recorded for the snapshot as it streams in
+        final List<SecretListSnapshot.Recording> recordings = new ArrayList<>();
+        final List<Supplier<IncrementalCredentialsFactory.Result>> suppliers = new ArrayList<>();
+        for (Client clientConfig : clientConfigs) {
+            final var recording = new SecretListSnapshot.Recording();
+            recordings.add(recording);
+            suppliers.add(() -> list(clientConfig, async, filters, nameTransformer, descriptionTransformer, listed, recording));
+        }
+
+        final var results = getAll(suppliers);
+        final Collection<Collection<StandardCredentials>> credentialsByClient = new ArrayList<>();
+        results.forEach(result -> credentialsByClient.add(result.getCredentials()));
+        final var credentials = merge(credentialsByClient);
+
+        prefetchable.keySet().removeIf(arn -> factories.values().stream().noneMatch(factory -> factory.contains(arn)));
+
+        // The snapshot only needs saving if the secret list has changed since it was last saved
+        final var snapshotKey = getSnapshotKey(clientConfigs, filters);
+        if (!snapshotKey.equals(savedSnapshotKey) || results.stream().anyMatch(IncrementalCredentialsFactory.Result::hasChanges)) {
+            saveSnapshot(snapshotKey, recordings);
+        }
+
+        return credentials;
+    }
 
-        final var client = createClient(config);
-
-        final ListSecretsOperation listSecretsOperation = new ListSecretsOperation(client, filters);
-
-        final Collection<SecretListEntry> secretList = listSecretsOperation.get();
-
-        return secretList.stream()
-                .map(secretListEntry -> {
-                    final var name = secretListEntry.name();
-                    final var description = Optional.ofNullable(secretListEntry.description()).orElse("");
-
-                    // Return the secretListEntry, but apply formatting to the relevant fields
-                    return secretListEntry.copy((builder) -> {
-                        builder.name(nameFormatter.apply(name));
-                        builder.description(descriptionFormatter.apply(description));
-                    });
-                })
-                .flatMap(secretListEntry -> {
-                    final var arn = secretListEntry.arn();
-                    final var name = secretListEntry.name();
-                    final var description = secretListEntry.description();
-                    final var tags = Lists.toMap(secretListEntry.tags(), Tag::key, Tag::value);
-                    final var cred = CredentialsFactory.create(arn, name, description, tags, client);
-                    return cred.stream();
-                })
+    /**
+     * Build the credentials from the secret list snapshot of the last successful refresh (if there is one, and it was
+     * listed with the current configuration), without calling AWS. The credentials are provisional, and should be
+     * revalidated with a full refresh soon.
+     *
+     * @return the credentials, or empty if there is no usable snapshot
+     */
+    public Optional<Collection<StandardCredentials>> restore() {
+        final var file = snapshotFile.get();
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Optional<SecretListSnapshot> snapshot;
+        try {
+            snapshot = SecretListSnapshot.read(file.get());
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not read the secret list snapshot, ignoring it: message=[{0}]", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final var config = PluginConfiguration.getInstance();
+        final var filters = createListSecretsFilters(config);
+        final var clientConfigs = getClientConfigs(config);
+
+        final var snapshotKey = getSnapshotKey(clientConfigs, filters);
+        if (!snapshotKey.equals(snapshot.get().getKey())) {
+            LOG.log(Level.FINE, "Ignoring the secret list snapshot, as the configuration has changed since it was saved");
+            return Optional.empty();
+        }
+
+        final var nameTransformer = getNameTransformer(config);
+        final var descriptionTransformer = getDescriptionTransformer(config);
+        final var async = PluginConfiguration.normalizeAsyncClient(config.getAsyncClient());
+        final var secretListsByClient = snapshot.get().getSecretListsByClient();
+
+        final Collection<Collection<StandardCredentials>> credentialsByClient = new ArrayList<>();
+        for (int i = 0; i < clientConfigs.size(); i++) {
+            final var clientConfig = clientConfigs.get(i);
+            final var client = getClient(clientConfig, async);
+
+            // Seed the factory too, so that the next refresh can reuse the restored credentials
+            final var context = List.of(client, nameTransformer, descriptionTransformer);
+            final var factory = factories.computeIfAbsent(clientConfig, c -> new IncrementalCredentialsFactory());
+
+            credentialsByClient.add(factory.build(secretListsByClient.get(i), context, credentialFactory(getValueSource(clientConfig, async), nameTransformer, descriptionTransformer))
+                    .getCredentials());
+        }
+
+        final var credentials = merge(credentialsByClient);
+        savedSnapshotKey = snapshotKey;
+
+        LOG.log(Level.INFO, "Restored credentials from the secret list snapshot: credentials=[{0}]", credentials.size());
+        SecretsManagerMetrics.get().recordCredentials(credentials);
+
+        return Optional.of(credentials);
+    }
+
+    /**
+     * Retrieve the values of the secrets that are tagged for prefetching (all at once, so that they can be batched, or
+     * so that the non-blocking client can have them all in flight), so that the value cache has them before they are
+     * first used. Does nothing if the value cache is disabled, as the values would not be kept.
+     *
+     * @return how many values were prefetched
+     */
+    public int prefetch() {
+        final var duration = PluginConfiguration.normalizeValueCache(PluginConfiguration.getInstance().getValueCache());
+        if (duration.isZero() || prefetchable.isEmpty()) {
+            return 0;
+        }
+
+        final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (Map.Entry<SecretArn, Supplier<CompletableFuture<SecretValue>>> secret : prefetchable.entrySet()) {
+            futures.add(secret.getValue().get().handle((value, e) -> {
+                if (e != null) {
+                    final var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    LOG.log(Level.FINE, "Could not prefetch a secret value: arn=[{0}], message=[{1}]",
+                            new Object[]{secret.getKey(), cause.getMessage()});
+                    return false;
+                }
+                return true;
+            }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        return (int) futures.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count();
+    }
+
+    private void saveSnapshot(String key, List<SecretListSnapshot.Recording> recordings) {
+        final var file = snapshotFile.get();
+        if (file.isEmpty()) {
+            return;
+        }
+
+        try {
+            SecretListSnapshot.write(file.get(), key, recordings);
+            savedSnapshotKey = key;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not save the secret list snapshot: message=[{0}]", e.getMessage());
+        }
+    }
+
+    /**
+     * Identify the configuration that a secret list was listed with, as far as it can be identified across restarts:
+     * a hash of the full configuration of every client (in order) and of the filters. The client configuration's
+     * hashes cover exactly what its equality does, and are stable across restarts, as they only hash strings, numbers
+     * and booleans. The hash is one-way, so the key does not reveal any secret (like a static access key) in the
+     * configuration.
+     */
+    static String getSnapshotKey(List<Client> clientConfigs, Collection<Filter> filters) {
+        final var key = new StringBuilder();
+        for (Client clientConfig : clientConfigs) {
+            final var credentialsProvider = clientConfig.getCredentialsProvider();
+            key.append(clientConfig.getRegion())
+                    .append('|')
+                    .append(clientConfig.getEndpointUrl())
+                    .append('|')
+                    .append(credentialsProvider == null ? "" : credentialsProvider.getClass().getName())
+                    .append('|')
+                    .append(Objects.hashCode(credentialsProvider))
+                    .append('|')
+                    .append(Objects.hashCode(clientConfig.getClientConfiguration()))
+                    .append(';');
+        }
+        key.append(filters);
+
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JDK has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Update the credentials of some secrets only (for example, after they were reported as changed), and keep the
+     * credentials from the last refresh for every other secret.
+     *
+     * @param secretIds the names or ARNs of the secrets to update
+     * @return the full list of credentials after the update, or empty if a targeted update is not possible right now (in
+     * which case a full refresh is needed instead)
+     */
+    public Optional<Collection<StandardCredentials>> update(Collection<String> secretIds) {
+        final var config = PluginConfiguration.getInstance();
+
+        final var filters = createListSecretsFilters(config);
+        if (filters.stream().anyMatch(filter -> filter.key() == FilterNameStringType.NAME)) {
+            // The secrets are looked up by name, which would clash with a configured name filter
+            return Optional.empty();
+        }
+
+        final var clientConfigs = getClientConfigs(config);
+        if (!factories.keySet().containsAll(clientConfigs)) {
+            // The client configuration changed since the last refresh
+            return Optional.empty();
+        }
+
+        final var names = toNames(secretIds);
+        final var nameTransformer = getNameTransformer(config);
+        final var descriptionTransformer = getDescriptionTransformer(config);
+        final var async = PluginConfiguration.normalizeAsyncClient(config.getAsyncClient());
+
+        LOG.log(Level.FINE, "Update {0} secrets from AWS Secrets Manager", names.size());
+
+        final List<Supplier<Optional<Collection<StandardCredentials>>>> suppliers = clientConfigs.stream()
+                .map(clientConfig -> (Supplier<Optional<Collection<StandardCredentials>>>) () ->
+                        update(clientConfig, async, filters, names, nameTransformer, descriptionTransformer))
                 .collect(Collectors.toList());
+
+        final Collection<Collection<StandardCredentials>> credentialsByClient = new ArrayList<>();
+        for (Optional<Collection<StandardCredentials>> credentials : getAll(suppliers)) {
+            if (credentials.isEmpty()) {
+                return Optional.empty();
+            }
+            credentialsByClient.add(credentials.get());
+        }
+
+        final var merged = merge(credentialsByClient);
+
+        final var metrics = SecretsManagerMetrics.get();
+        metrics.recordUpdate();
+        metrics.recordCredentials(merged);
+
+        return Optional.of(merged);
+    }
+
+    private IncrementalCredentialsFactory.Result list(Client clientConfig,
+                                                      boolean async,
+                                                      Collection<Filter> filters,
+                                                      NameTransformer nameTransformer,
+                                                      DescriptionTransformer descriptionTransformer,
+                                                      Listed listed,
+                                                      SecretListSnapshot.Recording recording) {
+        final var client = getClient(clientConfig, async);
+
+        final ListSecretsOperation listSecretsOperation = listSecrets(clientConfig, async, filters);
+        final Iterable<SecretListEntry> entries = () -> new Iterator<>() {
+            private final Iterator<SecretListEntry> it = listSecretsOperation.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public SecretListEntry next() {
+                final var entry = it.next();
+                recording.add(entry);
+                return entry;
+            }
+        };
+
+        // Credentials from the last refresh are only reusable if they were built the same way
+        final var context = List.of(client, nameTransformer, descriptionTransformer);
+        final var factory = factories.computeIfAbsent(clientConfig, c -> new IncrementalCredentialsFactory());
+
+        // Build the credentials as the pages stream in, rather than after the whole list has arrived
+        final var result = factory.build(entries, context, credentialFactory(getValueSource(clientConfig, async), nameTransformer, descriptionTransformer));
+
+        listed.pages.add(listSecretsOperation.getPages());
+        listed.secrets.add(listSecretsOperation.getSecrets());
+
+        return result;
+    }
+
+    private Optional<Collection<StandardCredentials>> update(Client clientConfig,
+                                                             boolean async,
+                                                             Collection<Filter> filters,
+                                                             Set<String> names,
+                                                             NameTransformer nameTransformer,
+                                                             DescriptionTransformer descriptionTransformer) {
+        final var client = getClient(clientConfig, async);
+
+        final List<SecretListEntry> secretList = new ArrayList<>();
+        for (List<String> someNames : Lists.partition(new ArrayList<>(names), MAX_FILTER_VALUES)) {
+            final List<Filter> filtersWithNames = new ArrayList<>(filters);
+            filtersWithNames.add(Filter.builder().key(FilterNameStringType.NAME).values(someNames).build());
+
+            // The name filter matches by prefix, so drop any secrets whose names only start with one of ours
+            listSecrets(clientConfig, async, filtersWithNames).get().stream()
+                    .filter(entry -> names.contains(entry.name()))
+                    .forEach(secretList::add);
+        }
+
+        final var context = List.of(client, nameTransformer, descriptionTransformer);
+        final var factory = factories.get(clientConfig);
+
+        return factory.update(secretList, names, context, credentialFactory(getValueSource(clientConfig, async), nameTransformer, descriptionTransformer))
+                .map(result -> {
+                    if (result.hasChanges()) {
+                        // The snapshot is now out of date, so the next refresh saves it even if it sees no changes
+                        savedSnapshotKey = null;
+                    }
+                    return result.getCredentials();
+                });
+    }
+
+    /**
+     * Build a credential straight from a secret list entry, in one step, without copying the entry.
+     */
+    BiFunction<SecretArn, SecretListEntry, Optional<StandardCredentials>> credentialFactory(SecretValueSource source,
+                                                                                           NameTransformer nameTransformer,
+                                                                                           DescriptionTransformer descriptionTransformer) {
+        // Cache hits first; then a retrieval that is already in flight; and only then a (rate limited) call
+        final var values = valueCache.wrap(singleFlight.wrap(source));
+
+        return (arn, entry) -> {
+            final var versionId = getCurrentVersionId(entry);
+            final var name = nameTransformer.transform(entry.name());
+            final var description = descriptionTransformer.transform(Optional.ofNullable(entry.description()).orElse(""));
+            // Only the plugin's own tags are needed, however many other tags the secret has
+            final var tags = Lists.toMap(entry.tags(), Tag::key, Tag::value, Tags::isJenkinsTag);
+
+            if (Boolean.parseBoolean(tags.get(Tags.prefetch))) {
+                final var secret = SecretRef.of(entry.arn(), versionId);
+                prefetchable.put(arn, () -> values.getAsync(secret));
+            } else {
+                prefetchable.remove(arn);
+            }
+
+            return CredentialsFactory.create(arn, versionId, name, description, tags, values);
+        };
+    }
+
+    /**
+     * Get the client for a configuration, of the kind in use. The client is also part of the context that credentials
+     * are built in, so that switching between the kinds rebuilds them.
+     */
+    private Object getClient(Client clientConfig, boolean async) {
+        return async ? asyncClients.get(clientConfig) : clients.get(clientConfig);
+    }
+
+    private ListSecretsOperation listSecrets(Client clientConfig, boolean async, Collection<Filter> filters) {
+        if (async) {
+            return new ListSecretsOperation(asyncClients.get(clientConfig), filters);
+        }
+        return new ListSecretsOperation(clients.get(clientConfig), filters);
+    }
+
+    /**
+     * Where the credentials of a client retrieve their values from. The blocking client coalesces concurrent
+     * retrievals into batches; the non-blocking client makes a call per retrieval, as its calls in flight only cost a
+     * little memory on the event loop.
+     */
+    private SecretValueSource getValueSource(Client clientConfig, boolean async) {
+        if (async) {
+            return SecretValueSource.async(asyncClients.get(clientConfig), rateLimiter);
+        }
+        return SecretValueSource.batching(clients.get(clientConfig), rateLimiter);
+    }
+
+    /**
+     * List the secrets of every client. When there is more than one client, they are listed in parallel, so that the
+     * refresh takes as long as the slowest client rather than the sum of all of them.
+     */
+    private static <T> Collection<T> getAll(List<Supplier<T>> suppliers) {
+        if (suppliers.size() == 1) {
+            return Collections.singletonList(suppliers.get(0).get());
+        }
+
+        try {
+            return new ParallelSupplier<>(suppliers).get();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Merge the credentials from each client, in client order. If more than one client has a credential with the same
+     * ID, the one from the earliest client wins.
+     */
+    static Collection<StandardCredentials> merge(Collection<Collection<StandardCredentials>> credentialsByClient) {
+        if (credentialsByClient.size() == 1) {
+            return credentialsByClient.iterator().next();
+        }
+
+        final Map<String, StandardCredentials> merged = new LinkedHashMap<>();
+        for (Collection<StandardCredentials> credentials : credentialsByClient) {
+            for (StandardCredentials credential : credentials) {
+                final var existing = merged.putIfAbsent(credential.getId(), credential);
+                if (existing != null) {
+                    LOG.log(Level.FINE, "Ignoring a credential from a later client, as its ID is already in use: id=[{0}]", credential.getId());
+                }
+            }
+        }
+        return new ArrayList<>(merged.values());
     }
 
     private static Collection<Filter> createListSecretsFilters(PluginConfiguration config) {
@@ -78,22 +522,66 @@ public class CredentialsSupplier implements Supplier<Collection<StandardCredenti
         return FiltersFactory.create(filtersConfig);
     }
 
-    private static Function<String, String> createNameFormatter(PluginConfiguration config) {
+    private static NameTransformer getNameTransformer(PluginConfiguration config) {
         return Optional.ofNullable(config.getTransformations())
                 .map(Transformations::getName)
-                .orElse(new io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.Default())::transform;
+                .orElse(new io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.Default());
     }
 
-    private static Function<String, String> createDescriptionFormatter(PluginConfiguration config) {
+    private static DescriptionTransformer getDescriptionTransformer(PluginConfiguration config) {
         return Optional.ofNullable(config.getTransformations())
                 .map(Transformations::getDescription)
-                .orElse(new io.jenkins.plugins.credentials.secretsmanager.config.transformer.description.Default())::transform;
+                .orElse(new io.jenkins.plugins.credentials.secretsmanager.config.transformer.description.Default());
     }
 
-    private static SecretsManagerClient createClient(PluginConfiguration config) {
-        final Client clientConfig = Optional.ofNullable(config.getClient())
-                .orElse(new Client(null, null, null, null));
+    /**
+     * Work out the secret names to look up from a mix of secret names and ARNs. The last part of a full ARN is the
+     * secret name plus a 6 character random suffix, which may or may not be part of the name, so both are returned.
+     */
+    static Set<String> toNames(Collection<String> secretIds) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (String secretId : secretIds) {
+            final var marker = secretId.indexOf(ARN_SECRET_MARKER);
+            if (secretId.startsWith("arn:") && marker >= 0) {
+                final var name = secretId.substring(marker + ARN_SECRET_MARKER.length());
+                names.add(name);
+                if (ARN_SUFFIX.matcher(name).find()) {
+                    names.add(name.substring(0, name.length() - 7));
+                }
+            } else {
+                names.add(secretId);
+            }
+        }
+        return names;
+    }
+
+    static String getCurrentVersionId(SecretListEntry secretListEntry) {
+        if (!secretListEntry.hasSecretVersionsToStages()) {
+            return null;
+        }
+
+        return secretListEntry.secretVersionsToStages().entrySet().stream()
+                .filter(version -> version.getValue().contains(AWSCURRENT))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static List<Client> getClientConfigs(PluginConfiguration config) {
+        // Deduplicate, so that a client configured twice is only listed once
+        final Set<Client> clientConfigs = new LinkedHashSet<>();
+        clientConfigs.add(Optional.ofNullable(config.getClient())
+                .orElse(new Client(null, null, null, null)));
+        Optional.ofNullable(config.getAdditionalClients())
+                .ifPresent(clientConfigs::addAll);
+        return new ArrayList<>(clientConfigs);
+    }
 
-        return clientConfig.build();
+    /**
+     * What a full refresh listed, across all clients.
+     */
+    private static final class Listed {
+        private final LongAdder pages = new LongAdder();
+        private final LongAdder secrets = new LongAdder();
     }
 }
@@ -0,0 +1,265 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretArn;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Build credentials from a secret list, reusing the credentials from the previous build for secrets that have not
+ * changed since then.
+ *
+ * A secret counts as unchanged when its ARN, description, last changed date, the plugin's own tags and current version
+ * are all the same as before. (The name is part of the ARN.) These are exactly what the {@link SecretListSnapshot}
+ * keeps, so credentials that were restored from a snapshot are reused by the next refresh. Everything else that the credentials depend on (like the client and the
+ * transformations) is passed in as a context; when the context changes, every credential is rebuilt.
+ *
+ * This holds an entry for every secret for as long as the credentials are in use, so each entry is kept small: it is
+ * keyed by the compact {@link SecretArn} that the credential also holds, and the fingerprint is a handful of hashes
+ * that are kept alongside the credential.
+ */
+class IncrementalCredentialsFactory {
+
+    private static final Logger LOG = Logger.getLogger(IncrementalCredentialsFactory.class.getName());
+
+    // Builds consume the secret list as it is listed, so they hold this while AWS calls are made. A lock rather than
+    // synchronized, as a virtual thread that waits in a synchronized block pins its carrier thread.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Guarded by lock. */
+    private Object context;
+
+    /** Written under the lock, and replaced rather than changed, so that it can be read without the lock. */
+    private volatile Map<SecretArn, Built> built = Collections.emptyMap();
+
+    /**
+     * Build credentials for a full secret list.
+     *
+     * @param entries the secret list; if it is a stream (like a {@link ListSecretsOperation}), each credential is built
+     *                as its entry arrives
+     */
+    Result build(Iterable<SecretListEntry> entries,
+                 Object context,
+                 BiFunction<SecretArn, SecretListEntry, Optional<StandardCredentials>> factory) {
+        lock.lock();
+        try {
+            final var reuse = context.equals(this.context);
+
+            final var result = apply(Collections.emptyMap(), built, entries, reuse, factory);
+            final var removed = (int) built.keySet().stream().filter(arn -> !result.next.containsKey(arn)).count();
+
+            this.context = context;
+            this.built = result.next;
+
+            return result.toResult(removed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a targeted update for some secrets, keeping the credentials for every other secret as they are.
+     *
+     * @param entries the current list entries for the affected secrets (an affected secret without an entry has been
+     *                deleted, or no longer matches the filters)
+     * @param names the names of the affected secrets (which are matched against the ends of their ARNs)
+     * @return the result, or empty if the credentials were built in a different context (in which case a full build is
+     * needed instead)
+     */
+    Optional<Result> update(Collection<SecretListEntry> entries,
+                            Set<String> names,
+                            Object context,
+                            BiFunction<SecretArn, SecretListEntry, Optional<StandardCredentials>> factory) {
+        lock.lock();
+        try {
+            if (!context.equals(this.context)) {
+                return Optional.empty();
+            }
+
+            final Map<SecretArn, Built> kept = new LinkedHashMap<>(built);
+            kept.keySet().removeIf(arn -> names.stream().anyMatch(arn::hasName));
+
+            final var result = apply(kept, built, entries, true, factory);
+            final var removed = (int) built.keySet().stream().filter(arn -> !result.next.containsKey(arn)).count();
+
+            this.built = result.next;
+
+            return Optional.of(result.toResult(removed));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether there is a secret with the ARN in the last build. This does not wait for a build that is in progress.
+     */
+    boolean contains(SecretArn arn) {
+        return built.containsKey(arn);
+    }
+
+    private static Applied apply(Map<SecretArn, Built> kept,
+                                 Map<SecretArn, Built> previous,
+                                 Iterable<SecretListEntry> entries,
+                                 boolean reuse,
+                                 BiFunction<SecretArn, SecretListEntry, Optional<StandardCredentials>> factory) {
+        final Map<SecretArn, Built> next = new LinkedHashMap<>(kept);
+        int added = 0;
+        int changed = 0;
+
+        for (SecretListEntry entry : entries) {
+            if (entry.arn() == null) {
+                // Secrets Manager always lists the ARN, which is what the secret value is retrieved by
+                continue;
+            }
+
+            final var arn = SecretArn.of(entry.arn());
+            final var old = previous.get(arn);
+
+            final Built current;
+            if (reuse && old != null && old.isUnchanged(entry)) {
+                current = old;
+            } else {
+                current = new Built(entry, factory.apply(arn, entry).orElse(null));
+                if (old == null) {
+                    added++;
+                } else {
+                    changed++;
+                }
+            }
+
+            next.put(arn, current);
+        }
+
+        return new Applied(next, added, changed);
+    }
+
+    private static final class Applied {
+
+        private final Map<SecretArn, Built> next;
+        private final int added;
+        private final int changed;
+
+        private Applied(Map<SecretArn, Built> next, int added, int changed) {
+            this.next = next;
+            this.added = added;
+            this.changed = changed;
+        }
+
+        Result toResult(int removed) {
+            final List<StandardCredentials> credentials = new ArrayList<>(next.size());
+            for (Built b : next.values()) {
+                if (b.credential != null) {
+                    credentials.add(b.credential);
+                }
+            }
+
+            final var unchanged = next.size() - added - changed;
+
+            LOG.log(Level.FINE, "Built credentials: added=[{0}], changed=[{1}], removed=[{2}], unchanged=[{3}]",
+                    new Object[]{added, changed, removed, unchanged});
+
+            return new Result(credentials, added, changed, removed, unchanged);
+        }
+    }
+
+    static final class Result {
+
+        private final List<StandardCredentials> credentials;
+        private final int added;
+        private final int changed;
+        private final int removed;
+        private final int unchanged;
+
+        private Result(List<StandardCredentials> credentials, int added, int changed, int removed, int unchanged) {
+            this.credentials = credentials;
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+            this.unchanged = unchanged;
+        }
+
+        List<StandardCredentials> getCredentials() {
+            return credentials;
+        }
+
+        int getAdded() {
+            return added;
+        }
+
+        int getChanged() {
+            return changed;
+        }
+
+        int getRemoved() {
+            return removed;
+        }
+
+        int getUnchanged() {
+            return unchanged;
+        }
+
+        boolean hasChanges() {
+            return added > 0 || changed > 0 || removed > 0;
+        }
+    }
+
+    /**
+     * A credential, and the fingerprint of the secret that it was built from. Only hashes are kept, as the fingerprint
+     * is only ever compared with the next list entry for the same secret.
+     */
+    private static final class Built {
+
+        private final int descriptionHash;
+        /** In epoch milliseconds, or {@link Long#MIN_VALUE} if there is none. */
+        private final long lastChangedDate;
+        private final int tagsHash;
+        private final int versionHash;
+
+        /** Null if the secret could not be turned into a credential (e.g. it has no type tag). */
+        private final StandardCredentials credential;
+
+        private Built(SecretListEntry entry, StandardCredentials credential) {
+            this.descriptionHash = descriptionHash(entry);
+            this.lastChangedDate = lastChangedDate(entry);
+            this.tagsHash = tagsHash(entry);
+            this.versionHash = versionHash(entry);
+            this.credential = credential;
+        }
+
+        boolean isUnchanged(SecretListEntry entry) {
+            return descriptionHash == descriptionHash(entry) &&
+                    lastChangedDate == lastChangedDate(entry) &&
+                    tagsHash == tagsHash(entry) &&
+                    versionHash == versionHash(entry);
+        }
+
+        private static int descriptionHash(SecretListEntry entry) {
+            return Objects.hashCode(entry.description());
+        }
+
+        private static long lastChangedDate(SecretListEntry entry) {
+            return entry.lastChangedDate() == null ? Long.MIN_VALUE : entry.lastChangedDate().toEpochMilli();
+        }
+
+        private static int tagsHash(SecretListEntry entry) {
+            return SecretListSnapshot.jenkinsTags(entry).hashCode();
+        }
+
+        private static int versionHash(SecretListEntry entry) {
+            return Objects.hashCode(CredentialsSupplier.getCurrentVersionId(entry));
+        }
+    }
+}
@@ -1,61 +1,182 @@
 package io.jenkins.plugins.credentials.secretsmanager.supplier;
 
+import io.jenkins.plugins.credentials.secretsmanager.SecretsManagerBulkhead;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 import software.amazon.awssdk.services.secretsmanager.model.Filter;
 import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
 import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Look up all secrets in Secrets Manager using the ListSecrets command. Paginate through secrets
  * until there are none left to get.
+ *
+ * Pages are requested at the maximum page size. Iterating over the operation streams the secrets page by page: as soon
+ * as a page arrives, the next one is requested in the background, so that the caller's work on one page overlaps with
+ * the round trip for the next. With the blocking client, the next page is requested on the plugin's own executor;
+ * with the non-blocking client, it is simply left in flight on the client's event loop.
  */
-class ListSecretsOperation implements Supplier<Collection<SecretListEntry>> {
+class ListSecretsOperation implements Supplier<Collection<SecretListEntry>>, Iterable<SecretListEntry> {
 
+    /** The largest page that ListSecrets returns. */
+    static final int MAX_RESULTS = 100;
+
+    /** The blocking client, or null if the non-blocking client is used. */
     private final SecretsManagerClient client;
 
+    /** The non-blocking client, or null if the blocking client is used. */
+    private final SecretsManagerAsyncClient asyncClient;
+
     private final Collection<Filter> filters;
 
+    private int pages = 0;
+
+    private int secrets = 0;
+
     ListSecretsOperation(SecretsManagerClient client, Collection<Filter> filters) {
         this.client = client;
+        this.asyncClient = null;
+        this.filters = filters;
+    }
+
+    ListSecretsOperation(SecretsManagerAsyncClient asyncClient, Collection<Filter> filters) {
+        this.client = null;
+        this.asyncClient = asyncClient;
         this.filters = filters;
     }
 
     @Override
     public Collection<SecretListEntry> get() {
         final List<SecretListEntry> secretList = new ArrayList<>();
+        forEach(secretList::add);
+        return secretList;
+    }
 
-        Optional<String> nextToken = Optional.empty();
-        do {
-            final var request = ListSecretsRequest.builder()
-                    .filters(filters);
+    /**
+     * Stream the secrets. Each iteration lists them again from the start.
+     */
+    @Override
+    public Iterator<SecretListEntry> iterator() {
+        pages = 0;
+        secrets = 0;
+        return new Pages();
+    }
 
-            nextToken.ifPresent((nt) -> {
-                request.nextToken(nt);
-            });
+    /**
+     * How many pages the last listing fetched.
+     */
+    int getPages() {
+        return pages;
+    }
 
-            final var result = client.listSecrets(request.build());
+    /**
+     * How many secrets the last listing returned (so far, if it is still in progress).
+     */
+    int getSecrets() {
+        return secrets;
+    }
 
-            final List<SecretListEntry> secrets = result.secretList()
-                    .stream()
-                    .filter(ListSecretsOperation::isNotDeleted)
-                    .toList();
+    private ListSecretsRequest request(String nextToken) {
+        return ListSecretsRequest.builder()
+                .filters(filters)
+                .maxResults(MAX_RESULTS)
+                .nextToken(nextToken)
+                .build();
+    }
 
-            secretList.addAll(secrets);
+    private ListSecretsResponse fetch(String nextToken) {
+        if (asyncClient != null) {
+            return join(fetchAsync(nextToken));
+        }
+        return client.listSecrets(request(nextToken));
+    }
 
-            nextToken = Optional.ofNullable(result.nextToken());
-        } while (nextToken.isPresent());
+    private CompletableFuture<ListSecretsResponse> fetchAhead(String nextToken) {
+        if (asyncClient != null) {
+            return fetchAsync(nextToken);
+        }
+        return CompletableFuture.supplyAsync(() -> fetch(nextToken), SecretsManagerBulkhead.get().getExecutor());
+    }
 
-        return secretList;
+    private CompletableFuture<ListSecretsResponse> fetchAsync(String nextToken) {
+        return SecretsManagerBulkhead.get().callAsync(() -> asyncClient.listSecrets(request(nextToken)));
+    }
+
+    private static ListSecretsResponse join(CompletableFuture<ListSecretsResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     private static boolean isNotDeleted(SecretListEntry entry) {
         return entry.deletedDate() == null;
     }
+
+    /**
+     * Walks the pages, skipping deleted secrets, with the next page (if any) always in flight.
+     */
+    private class Pages implements Iterator<SecretListEntry> {
+
+        private Iterator<SecretListEntry> page = Collections.emptyIterator();
+
+        private CompletableFuture<ListSecretsResponse> next;
+
+        private SecretListEntry lookahead;
+
+        private Pages() {
+            receive(fetch(null));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (lookahead == null) {
+                if (page.hasNext()) {
+                    final var entry = page.next();
+                    if (isNotDeleted(entry)) {
+                        lookahead = entry;
+                        secrets++;
+                    }
+                } else if (next != null) {
+                    receive(join(next));
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public SecretListEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final var entry = lookahead;
+            lookahead = null;
+            return entry;
+        }
+
+        private void receive(ListSecretsResponse response) {
+            pages++;
+            page = response.secretList().iterator();
+
+            final var nextToken = response.nextToken();
+            next = (nextToken == null) ? null : fetchAhead(nextToken);
+        }
+    }
 }
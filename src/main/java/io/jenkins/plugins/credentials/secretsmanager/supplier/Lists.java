@@ -2,6 +2,7 @@ package io.jenkins.plugins.credentials.secretsmanager.supplier;
 
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 abstract class Lists {
@@ -15,4 +16,29 @@ abstract class Lists {
                 .filter(tag -> (keyMapper.apply(tag) != null) && (valueMapper.apply(tag) != null))
                 .collect(Collectors.toMap(keyMapper, valueMapper));
     }
+
+    /**
+     * Like {@link #toMap(List, Function, Function)}, but only keep the things whose keys pass the filter.
+     */
+    static <T> Map<String, String> toMap(List<T> things, Function<? super T, ? extends String> keyMapper, Function<? super T, ? extends String> valueMapper, Predicate<String> keyFilter) {
+        final Map<String, String> map = new HashMap<>();
+        for (T thing : Optional.ofNullable(things).orElse(Collections.emptyList())) {
+            final String key = keyMapper.apply(thing);
+            final String value = valueMapper.apply(thing);
+            if (key != null && value != null && keyFilter.test(key)) {
+                if (map.putIfAbsent(key, value) != null) {
+                    throw new IllegalStateException(String.format("Duplicate key %s", key));
+                }
+            }
+        }
+        return map;
+    }
+
+    static <T> List<List<T>> partition(List<T> things, int size) {
+        final List<List<T>> partitions = new ArrayList<>();
+        for (int i = 0; i < things.size(); i += size) {
+            partitions.add(things.subList(i, Math.min(i + size, things.size())));
+        }
+        return partitions;
+    }
 }
@@ -1,21 +1,32 @@
 package io.jenkins.plugins.credentials.secretsmanager.supplier;
 
+import io.jenkins.plugins.credentials.secretsmanager.SecretsManagerBulkhead;
+
 import java.util.Collection;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
- * Run multiple synchronous suppliers in parallel, and collect their results in one big list.
+ * Run multiple synchronous suppliers in parallel, and collect their results in one big list. By default, the suppliers
+ * run on the plugin's own executor, as they usually block on AWS calls.
  */
 class ParallelSupplier<T> implements Supplier<Collection<T>> {
 
     private final Collection<Supplier<T>> suppliers;
 
+    private final Executor executor;
+
     ParallelSupplier(Collection<Supplier<T>> suppliers) {
+        this(suppliers, SecretsManagerBulkhead.get().getExecutor());
+    }
+
+    ParallelSupplier(Collection<Supplier<T>> suppliers, Executor executor) {
         this.suppliers = suppliers;
+        this.executor = executor;
     }
 
     /**
@@ -28,7 +39,7 @@ class ParallelSupplier<T> implements Supplier<Collection<T>> {
     @Override
     public Collection<T> get() {
         final Collection<CompletableFuture<T>> supplierFutures = suppliers.stream()
-                .map(CompletableFuture::supplyAsync)
+                .map(supplier -> CompletableFuture.supplyAsync(supplier, executor))
                 .collect(Collectors.toList());
 
         final CompletableFuture<Collection<T>> future = flip(supplierFutures);
@@ -0,0 +1,259 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import io.jenkins.plugins.credentials.secretsmanager.factory.Tags;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The secret list from the last successful refresh, saved to disk, so that the credentials are available straight
+ * away after a restart (even if AWS is unreachable at the time).
+ *
+ * Only the metadata that the credentials are built from is saved: ARNs, names, descriptions, last changed dates,
+ * the plugin's own tags, and current version IDs. Secret values are never saved.
+ *
+ * The file is gzipped, and ends with a CRC32 checksum of its contents. It is only read back if it was written by the
+ * same format version and for the same configuration key; anything else (including a corrupt or truncated file)
+ * counts as no snapshot.
+ *
+ * A snapshot is written from {@link Recording}s, which encode each entry as it is listed, so that the secret list is
+ * never held in memory as list entries.
+ */
+final class SecretListSnapshot {
+
+    private static final int MAGIC = 0x41534d53; // "ASMS"
+
+    private static final int VERSION = 1;
+
+    private final String key;
+
+    private final List<List<SecretListEntry>> secretListsByClient;
+
+    private SecretListSnapshot(String key, List<List<SecretListEntry>> secretListsByClient) {
+        this.key = key;
+        this.secretListsByClient = secretListsByClient;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    List<List<SecretListEntry>> getSecretListsByClient() {
+        return secretListsByClient;
+    }
+
+    /**
+     * Replace the file with a snapshot. The file is swapped in whole, so readers never see a partial write.
+     *
+     * @param key identifies the configuration that the secret lists were listed with
+     * @param recordings the secret list of each client, in client order
+     */
+    static void write(Path file, String key, List<Recording> recordings) throws IOException {
+        Files.createDirectories(file.getParent());
+        final var tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                write(os, key, recordings);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    static void write(OutputStream os, String key, List<Recording> recordings) throws IOException {
+        final var header = new DataOutputStream(os);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.flush();
+
+        final var gzip = new GZIPOutputStream(os);
+        final var checksum = new CRC32();
+        final var out = new DataOutputStream(new CheckedOutputStream(gzip, checksum));
+
+        out.writeUTF(key);
+        out.writeInt(recordings.size());
+        for (Recording recording : recordings) {
+            out.writeInt(recording.entries);
+            recording.bytes.writeTo(out);
+        }
+        out.flush();
+
+        // The checksum itself is written around the checked stream
+        new DataOutputStream(gzip).writeLong(checksum.getValue());
+        gzip.finish();
+    }
+
+    /**
+     * Read a snapshot from the file.
+     *
+     * @return the snapshot, or empty if there is no file
+     * @throws IOException if the file could not be read, or is not a valid snapshot
+     */
+    static Optional<SecretListSnapshot> read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            return Optional.of(read(is));
+        }
+    }
+
+    static SecretListSnapshot read(InputStream is) throws IOException {
+        final var header = new DataInputStream(is);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not a secret list snapshot");
+        }
+        final var version = header.readInt();
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported snapshot version %d", version));
+        }
+
+        final var gzip = new GZIPInputStream(is);
+        final var checksum = new CRC32();
+        final var in = new DataInputStream(new CheckedInputStream(gzip, checksum));
+
+        final var key = in.readUTF();
+        final var clients = in.readInt();
+        final List<List<SecretListEntry>> secretListsByClient = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            final var entries = in.readInt();
+            final List<SecretListEntry> secretList = new ArrayList<>(entries);
+            for (int j = 0; j < entries; j++) {
+                secretList.add(readEntry(in));
+            }
+            secretListsByClient.add(secretList);
+        }
+
+        final var expected = new DataInputStream(gzip).readLong();
+        if (checksum.getValue() != expected) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        // Reading to the end also checks the gzip trailer, which catches a truncated file
+        if (gzip.read() != -1) {
+            throw new IOException("Unexpected data at the end of the snapshot");
+        }
+
+        return new SecretListSnapshot(key, secretListsByClient);
+    }
+
+    /**
+     * The secret list of one client, encoded as it is listed. Only one thread may add to a recording.
+     */
+    static final class Recording {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        private int entries = 0;
+
+        static Recording of(Iterable<SecretListEntry> secretList) {
+            final var recording = new Recording();
+            secretList.forEach(recording::add);
+            return recording;
+        }
+
+        void add(SecretListEntry entry) {
+            try {
+                writeEntry(out, entry);
+            } catch (IOException e) {
+                // Writing to memory does not fail
+                throw new UncheckedIOException(e);
+            }
+            entries++;
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, SecretListEntry entry) throws IOException {
+        writeNullableUTF(out, entry.arn());
+        writeNullableUTF(out, entry.name());
+        writeNullableUTF(out, entry.description());
+        out.writeLong(Optional.ofNullable(entry.lastChangedDate()).map(Instant::toEpochMilli).orElse(Long.MIN_VALUE));
+
+        final List<Tag> tags = jenkinsTags(entry);
+        out.writeInt(tags.size());
+        for (Tag tag : tags) {
+            out.writeUTF(tag.key());
+            out.writeUTF(tag.value());
+        }
+
+        writeNullableUTF(out, CredentialsSupplier.getCurrentVersionId(entry));
+    }
+
+    private static SecretListEntry readEntry(DataInputStream in) throws IOException {
+        final var arn = readNullableUTF(in);
+        final var name = readNullableUTF(in);
+        final var description = readNullableUTF(in);
+        final var lastChangedDate = in.readLong();
+
+        final var tagCount = in.readInt();
+        final Collection<Tag> tags = new ArrayList<>(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(Tag.builder().key(in.readUTF()).value(in.readUTF()).build());
+        }
+
+        final var versionId = readNullableUTF(in);
+
+        final var builder = SecretListEntry.builder()
+                .arn(arn)
+                .name(name)
+                .description(description)
+                .lastChangedDate(lastChangedDate == Long.MIN_VALUE ? null : Instant.ofEpochMilli(lastChangedDate));
+        if (!tags.isEmpty()) {
+            builder.tags(tags);
+        }
+        if (versionId != null) {
+            builder.secretVersionsToStages(Map.of(versionId, List.of(CredentialsSupplier.AWSCURRENT)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * The plugin's own tags on a secret, which are the only tags that are saved.
+     */
+    static List<Tag> jenkinsTags(SecretListEntry entry) {
+        final List<Tag> tags = new ArrayList<>();
+        for (Tag tag : entry.tags()) {
+            if (Tags.isJenkinsTag(tag.key()) && tag.value() != null) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String str) throws IOException {
+        out.writeBoolean(str != null);
+        if (str != null) {
+            out.writeUTF(str);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
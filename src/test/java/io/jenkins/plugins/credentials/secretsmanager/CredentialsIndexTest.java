@@ -0,0 +1,113 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import com.cloudbees.jenkins.plugins.sshcredentials.SSHUserPrivateKey;
+import com.cloudbees.plugins.credentials.Credentials;
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.cloudbees.plugins.credentials.common.StandardUsernameCredentials;
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import hudson.util.Secret;
+import io.jenkins.plugins.credentials.secretsmanager.factory.ssh_user_private_key.AwsSshUserPrivateKey;
+import io.jenkins.plugins.credentials.secretsmanager.factory.string.AwsStringCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.factory.username_password.AwsUsernamePasswordCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.util.ObjectSizes;
+import org.jenkinsci.plugins.plaincredentials.StringCredentials;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class CredentialsIndexTest {
+
+    private static final int CREDENTIALS = 10_000;
+
+    /**
+     * The budget for indexing a credential, on top of the credential itself. Each list that a credential is in takes a
+     * reference to it.
+     */
+    private static final long MAX_BYTES_PER_CREDENTIAL = 8;
+
+    private static final AwsStringCredentials FOO = string("foo");
+    private static final AwsUsernamePasswordCredentials BAR = usernamePassword("bar");
+    private static final AwsSshUserPrivateKey BAZ = sshUserPrivateKey("baz");
+
+    @Test
+    public void shouldIndexEmptyList() {
+        final var index = CredentialsIndex.of(Collections.emptyList());
+
+        assertThat(index.get(Credentials.class)).isEmpty();
+    }
+
+    @Test
+    public void shouldGetCredentialsByType() {
+        final var index = CredentialsIndex.of(List.of(FOO, BAR, BAZ));
+
+        assertSoftly(s -> {
+            s.assertThat(index.get(Credentials.class)).as("Credentials").containsExactly(FOO, BAR, BAZ);
+            s.assertThat(index.get(StringCredentials.class)).as("String").containsExactly(FOO);
+            s.assertThat(index.get(StandardUsernamePasswordCredentials.class)).as("Username Password").containsExactly(BAR);
+            s.assertThat(index.get(SSHUserPrivateKey.class)).as("SSH User Private Key").containsExactly(BAZ);
+        });
+    }
+
+    @Test
+    public void shouldGetCredentialsByTypeThatIsNotPrecomputed() {
+        final var index = CredentialsIndex.of(List.of(FOO, BAR, BAZ));
+
+        assertThat(index.get(StandardUsernameCredentials.class)).containsExactly(BAR, BAZ);
+    }
+
+    @Test
+    public void shouldReuseListBetweenCalls() {
+        final var index = CredentialsIndex.of(List.of(FOO, BAR, BAZ));
+
+        assertSoftly(s -> {
+            s.assertThat(index.get(StringCredentials.class)).as("Precomputed").isSameAs(index.get(StringCredentials.class));
+            s.assertThat(index.get(StandardUsernameCredentials.class)).as("Computed on demand").isSameAs(index.get(StandardUsernameCredentials.class));
+        });
+    }
+
+    @Test
+    public void shouldShareListBetweenTypesThatEveryCredentialHas() {
+        final var index = CredentialsIndex.of(List.of(FOO, BAR, BAZ));
+
+        assertThat(index.get(StandardCredentials.class)).isSameAs(index.get(Credentials.class));
+    }
+
+    @Test
+    public void shouldKeepIndexSmall() {
+        final List<StandardCredentials> credentials = new ArrayList<>(CREDENTIALS);
+        for (int i = 0; i < CREDENTIALS; i++) {
+            credentials.add(string("foo-" + i));
+        }
+
+        final var index = CredentialsIndex.of(credentials);
+        final var bytesPerCredential = (ObjectSizes.deepSizeOf(index) - ObjectSizes.deepSizeOfAll(credentials)) / CREDENTIALS;
+
+        assertThat(bytesPerCredential).isLessThanOrEqualTo(MAX_BYTES_PER_CREDENTIAL);
+    }
+
+    @Test
+    public void shouldReturnUnmodifiableList() {
+        final var index = CredentialsIndex.of(List.of(FOO));
+
+        assertThatThrownBy(() -> index.get(StringCredentials.class).clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static AwsStringCredentials string(String id) {
+        return new AwsStringCredentials(id, "", () -> Secret.fromString("supersecret"));
+    }
+
+    private static AwsUsernamePasswordCredentials usernamePassword(String id) {
+        return new AwsUsernamePasswordCredentials(id, "", () -> Secret.fromString("supersecret"), "joe");
+    }
+
+    private static AwsSshUserPrivateKey sshUserPrivateKey(String id) {
+        return new AwsSshUserPrivateKey(id, "", () -> "key", "joe");
+    }
+}
@@ -3,6 +3,10 @@ package io.jenkins.plugins.credentials.secretsmanager;
 import org.junit.Test;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -11,6 +15,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
 
 /**
  * Adaptation of Guava's SuppliersTest.
@@ -19,59 +24,14 @@ import static org.assertj.core.api.Assertions.*;
  */
 public class CustomSuppliersTest {
 
-    @Test
-    public void shouldMemoizeValues() throws InterruptedException {
-        CountingSupplier countingSupplier = new CountingSupplier();
-
-        Supplier<Integer> memoizedSupplier =
-                CustomSuppliers.memoizeWithExpiration(countingSupplier, () -> Duration.ofMillis(75));
-
-        checkExpiration(countingSupplier, memoizedSupplier);
-    }
-
-    @Test
-    public void shouldNotMemoizeExceptions() {
-        ThrowingSupplier throwingSupplier = new ThrowingSupplier();
-
-        Supplier<Integer> memoizedSupplier =
-                CustomSuppliers.memoizeWithExpiration(throwingSupplier, () -> Duration.ofSeconds(1));
-
-        assertThatNullPointerException()
-                .isThrownBy(memoizedSupplier::get);
-
-        assertThatNullPointerException()
-                .isThrownBy(memoizedSupplier::get);
-
-        // Exception should not have been cached
-        assertThat(throwingSupplier.calls).isEqualTo(2);
-    }
-
-    @Test
-    public void shouldRejectNegativeDuration() {
-        CountingSupplier countingSupplier = new CountingSupplier();
-
-        Supplier<Integer> memoizedSupplier =
-                CustomSuppliers.memoizeWithExpiration(countingSupplier, () -> Duration.ofMillis(-1));
-
-        assertThatIllegalArgumentException()
-                .isThrownBy(memoizedSupplier::get);
-    }
-
-    @Test
-    public void shouldRejectZeroDuration() {
-        CountingSupplier countingSupplier = new CountingSupplier();
-
-        Supplier<Integer> memoizedSupplier =
-                CustomSuppliers.memoizeWithExpiration(countingSupplier, () -> Duration.ZERO);
-
-        assertThatIllegalArgumentException()
-                .isThrownBy(memoizedSupplier::get);
-    }
+    private static final double REFRESH_AHEAD = 0.8;
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(1000);
+    private static final Duration BACKOFF_CAP = Duration.ofSeconds(30);
 
     @Test
     public void shouldBeThreadSafe() throws Throwable {
         Function<Supplier<Boolean>, Supplier<Boolean>> memoizer =
-                supplier -> CustomSuppliers.memoizeWithExpiration(supplier, () -> Duration.ofNanos(Long.MAX_VALUE));
+                supplier -> CustomSuppliers.memoizeWithRefreshAhead(supplier, () -> Duration.ofHours(1), () -> REFRESH_AHEAD, () -> MAX_STALENESS, Runnable::run);
 
         final AtomicInteger count = new AtomicInteger(0);
         final AtomicReference<Throwable> thrown = new AtomicReference<>(null);
@@ -142,29 +102,390 @@ public class CustomSuppliersTest {
         assertThat(count.get()).isEqualTo(1);
     }
 
-    private static void checkExpiration(
-            CountingSupplier countingSupplier, Supplier<Integer> memoizedSupplier)
-            throws InterruptedException {
-        // the underlying supplier hasn't executed yet
-        assertThat(countingSupplier.calls).isEqualTo(0);
+    @Test
+    public void shouldLoadSynchronouslyOnFirstCall() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, new FakeTicker());
 
         assertThat(memoizedSupplier.get()).isEqualTo(10);
-        // now it has
         assertThat(countingSupplier.calls).isEqualTo(1);
+        assertThat(executor.tasks).isEmpty();
+    }
+
+    @Test
+    public void shouldNotRefreshBeforeRefreshAheadPoint() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, ticker);
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(79));
+
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+        assertThat(executor.tasks).isEmpty();
+    }
+
+    @Test
+    public void shouldRefreshAtConfiguredFraction() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = new CustomSuppliers.RefreshAheadMemoizingSupplier<>(countingSupplier,
+                () -> Duration.ofSeconds(100), () -> 0.5, () -> MAX_STALENESS, executor, ticker::read,
+                new CustomSuppliers.Backoff(Duration.ofSeconds(1), BACKOFF_CAP, () -> new FixedRandom(1.0)));
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(49));
+        memoizedSupplier.get();
+        assertThat(executor.tasks).isEmpty();
 
+        ticker.advance(Duration.ofSeconds(1));
+        memoizedSupplier.get();
+        assertThat(executor.tasks).hasSize(1);
+    }
+
+    @Test
+    public void shouldServeCurrentValueWhileRefreshingInBackground() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, ticker);
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(80));
+
+        // the current value is served while a single refresh is scheduled
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
         assertThat(memoizedSupplier.get()).isEqualTo(10);
-        // it still should only have executed once due to memoization
+        assertThat(executor.tasks).hasSize(1);
         assertThat(countingSupplier.calls).isEqualTo(1);
 
-        Thread.sleep(150);
+        executor.runAll();
 
         assertThat(memoizedSupplier.get()).isEqualTo(20);
-        // old value expired
         assertThat(countingSupplier.calls).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldServeExpiredValueWhileRefreshingInBackground() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, ticker);
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(100));
+
+        // no caller waits for the refresh, even after expiry
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+        assertThat(executor.tasks).hasSize(1);
+        assertThat(countingSupplier.calls).isEqualTo(1);
+
+        executor.runAll();
 
         assertThat(memoizedSupplier.get()).isEqualTo(20);
-        // it still should only have executed twice due to memoization
-        assertThat(countingSupplier.calls).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldLoadSynchronouslyWhenNotCaching() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = new CustomSuppliers.RefreshAheadMemoizingSupplier<>(countingSupplier,
+                () -> Duration.ofNanos(1), () -> REFRESH_AHEAD, () -> MAX_STALENESS, executor, ticker::read,
+                new CustomSuppliers.Backoff(Duration.ofSeconds(1), BACKOFF_CAP, () -> new FixedRandom(1.0)));
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(1));
+
+        assertThat(memoizedSupplier.get()).isEqualTo(20);
+        assertThat(executor.tasks).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepCurrentValueWhenBackgroundRefreshFails() {
+        FailingAfterFirstCallSupplier supplier = new FailingAfterFirstCallSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(supplier, executor, ticker);
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(80));
+        memoizedSupplier.get();
+        executor.runAll();
+
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldServeUpdatedValue() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        CustomSuppliers.RefreshAheadMemoizingSupplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, ticker);
+
+        memoizedSupplier.get();
+        memoizedSupplier.update(memoizedSupplier.getGeneration(), 15);
+
+        assertThat(memoizedSupplier.get()).isEqualTo(15);
+        assertThat(countingSupplier.calls).isEqualTo(1);
+
+        // the update does not move the refresh point
+        ticker.advance(Duration.ofSeconds(80));
+        memoizedSupplier.get();
+        assertThat(executor.tasks).hasSize(1);
+    }
+
+    @Test
+    public void shouldIgnoreUpdateBeforeFirstLoad() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+
+        CustomSuppliers.RefreshAheadMemoizingSupplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, new ManualExecutor(), new FakeTicker());
+
+        assertThat(memoizedSupplier.update(memoizedSupplier.getGeneration(), 15)).isFalse();
+
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldIgnoreUpdateFromBeforeRefresh() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        CustomSuppliers.RefreshAheadMemoizingSupplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, ticker);
+
+        memoizedSupplier.get();
+        final long generation = memoizedSupplier.getGeneration();
+        // A background refresh lands while the update is being worked out
+        ticker.advance(Duration.ofSeconds(80));
+        memoizedSupplier.get();
+        executor.runAll();
+
+        assertSoftly(s -> {
+            s.assertThat(memoizedSupplier.update(generation, 15)).as("Applied").isFalse();
+            s.assertThat(memoizedSupplier.get()).as("Value").isEqualTo(20);
+        });
+    }
+
+    @Test
+    public void shouldServeSeededValueWhileRevalidatingInBackground() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        CustomSuppliers.RefreshAheadMemoizingSupplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, ticker);
+
+        memoizedSupplier.seed(5);
+
+        assertThat(memoizedSupplier.get()).isEqualTo(5);
+        assertThat(countingSupplier.calls).isEqualTo(0);
+        assertThat(executor.tasks).hasSize(1);
+
+        executor.runAll();
+
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldIgnoreSeedAfterFirstLoad() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+
+        CustomSuppliers.RefreshAheadMemoizingSupplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, new FakeTicker());
+
+        memoizedSupplier.get();
+        memoizedSupplier.seed(5);
+
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+        assertThat(executor.tasks).isEmpty();
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        CustomSuppliers.RefreshAheadMemoizingSupplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, ticker);
+
+        assertThat(memoizedSupplier.getAge()).isEmpty();
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(80));
+        memoizedSupplier.get();
+        memoizedSupplier.get();
+
+        assertSoftly(s -> {
+            s.assertThat(memoizedSupplier.getMisses()).as("Misses").isEqualTo(1);
+            s.assertThat(memoizedSupplier.getHits()).as("Hits").isEqualTo(2);
+            s.assertThat(memoizedSupplier.getAge()).as("Age").contains(Duration.ofSeconds(80));
+        });
+    }
+
+    @Test
+    public void shouldRefreshInBackgroundOnRequest() {
+        CountingSupplier countingSupplier = new CountingSupplier();
+        ManualExecutor executor = new ManualExecutor();
+
+        CustomSuppliers.RefreshAheadMemoizingSupplier<Integer> memoizedSupplier = refreshAhead(countingSupplier, executor, new FakeTicker());
+
+        memoizedSupplier.get();
+        memoizedSupplier.refreshNow();
+
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+        assertThat(executor.tasks).hasSize(1);
+
+        executor.runAll();
+
+        assertThat(memoizedSupplier.get()).isEqualTo(20);
+    }
+
+    @Test
+    public void shouldBackOffAfterFailedFirstLoad() {
+        ThrowingSupplier throwingSupplier = new ThrowingSupplier();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(throwingSupplier, new ManualExecutor(), ticker);
+
+        assertThatNullPointerException()
+                .isThrownBy(memoizedSupplier::get);
+
+        // fail fast without calling the delegate during the backoff
+        assertThatIllegalStateException()
+                .isThrownBy(memoizedSupplier::get)
+                .withCauseInstanceOf(NullPointerException.class);
+        assertThat(throwingSupplier.calls).isEqualTo(1);
+
+        ticker.advance(BACKOFF_CAP);
+
+        assertThatNullPointerException()
+                .isThrownBy(memoizedSupplier::get);
+        assertThat(throwingSupplier.calls).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldServeStaleValueWhenRefreshAfterExpiryFails() {
+        FailingAfterFirstCallSupplier supplier = new FailingAfterFirstCallSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(supplier, executor, ticker);
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(100));
+        memoizedSupplier.get();
+        executor.runAll();
+
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+        assertThat(supplier.calls).isEqualTo(2);
+
+        // no further attempts during the backoff
+        assertThat(executor.tasks).isEmpty();
+    }
+
+    @Test
+    public void shouldNotRefreshInBackgroundDuringBackoff() {
+        FailingAfterFirstCallSupplier supplier = new FailingAfterFirstCallSupplier();
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(supplier, executor, ticker);
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(80));
+        memoizedSupplier.get();
+        executor.runAll();
+
+        assertThat(memoizedSupplier.get()).isEqualTo(10);
+        assertThat(executor.tasks).isEmpty();
+    }
+
+    @Test
+    public void shouldDropValueOlderThanMaxStaleness() {
+        FailingAfterFirstCallSupplier supplier = new FailingAfterFirstCallSupplier();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(supplier, new ManualExecutor(), ticker);
+
+        memoizedSupplier.get();
+        ticker.advance(MAX_STALENESS);
+
+        assertThatIllegalStateException()
+                .isThrownBy(memoizedSupplier::get)
+                .withMessage("Refresh failed");
+    }
+
+    @Test
+    public void shouldDropValueAtExpiryWhenMaxStalenessIsBelowDuration() {
+        FailingAfterFirstCallSupplier supplier = new FailingAfterFirstCallSupplier();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = new CustomSuppliers.RefreshAheadMemoizingSupplier<>(supplier, () -> Duration.ofSeconds(100),
+                () -> REFRESH_AHEAD, () -> Duration.ofSeconds(10), new ManualExecutor(), ticker::read,
+                new CustomSuppliers.Backoff(Duration.ofSeconds(1), BACKOFF_CAP, () -> new FixedRandom(1.0)));
+
+        memoizedSupplier.get();
+        ticker.advance(Duration.ofSeconds(50));
+
+        assertThat(memoizedSupplier.get()).as("Before expiry").isEqualTo(10);
+
+        ticker.advance(Duration.ofSeconds(50));
+
+        assertThatIllegalStateException()
+                .isThrownBy(memoizedSupplier::get)
+                .withMessage("Refresh failed");
+    }
+
+    @Test
+    public void shouldRecoverAfterBackoff() {
+        FailingOnceSupplier supplier = new FailingOnceSupplier();
+        FakeTicker ticker = new FakeTicker();
+
+        Supplier<Integer> memoizedSupplier = refreshAhead(supplier, new ManualExecutor(), ticker);
+
+        assertThatIllegalStateException()
+                .isThrownBy(memoizedSupplier::get);
+
+        ticker.advance(BACKOFF_CAP);
+
+        assertThat(memoizedSupplier.get()).isEqualTo(20);
+    }
+
+    @Test
+    public void shouldIncreaseBackoffExponentially() {
+        CustomSuppliers.Backoff backoff = new CustomSuppliers.Backoff(Duration.ofSeconds(1), Duration.ofSeconds(10), () -> new FixedRandom(1.0));
+
+        assertSoftly(s -> {
+            s.assertThat(backoff.delayNanos(1)).isEqualTo(Duration.ofSeconds(1).toNanos());
+            s.assertThat(backoff.delayNanos(2)).isEqualTo(Duration.ofSeconds(2).toNanos());
+            s.assertThat(backoff.delayNanos(3)).isEqualTo(Duration.ofSeconds(4).toNanos());
+            s.assertThat(backoff.delayNanos(5)).as("Capped").isEqualTo(Duration.ofSeconds(10).toNanos());
+            s.assertThat(backoff.delayNanos(1000)).as("Capped without overflow").isEqualTo(Duration.ofSeconds(10).toNanos());
+        });
+    }
+
+    @Test
+    public void shouldJitterBackoff() {
+        CustomSuppliers.Backoff backoff = new CustomSuppliers.Backoff(Duration.ofSeconds(1), Duration.ofSeconds(10), () -> new FixedRandom(0.0));
+
+        assertThat(backoff.delayNanos(3)).isEqualTo(Duration.ofSeconds(2).toNanos());
+    }
+
+    private static CustomSuppliers.RefreshAheadMemoizingSupplier<Integer> refreshAhead(Supplier<Integer> supplier, Executor executor, FakeTicker ticker) {
+        return new CustomSuppliers.RefreshAheadMemoizingSupplier<>(supplier, () -> Duration.ofSeconds(100), () -> REFRESH_AHEAD, () -> MAX_STALENESS,
+                executor, ticker::read, new CustomSuppliers.Backoff(Duration.ofSeconds(1), BACKOFF_CAP, () -> new FixedRandom(1.0)));
     }
 
     private static class CountingSupplier implements Supplier<Integer> {
@@ -186,4 +507,71 @@ public class CustomSuppliersTest {
             throw new NullPointerException();
         }
     }
-}
\ No newline at end of file
+
+    private static class FailingAfterFirstCallSupplier implements Supplier<Integer> {
+        int calls = 0;
+
+        @Override
+        public Integer get() {
+            calls++;
+            if (calls > 1) {
+                throw new IllegalStateException("Refresh failed");
+            }
+            return calls * 10;
+        }
+    }
+
+    private static class ManualExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+
+    private static class FakeTicker {
+        long nanos = 0;
+
+        long read() {
+            return nanos;
+        }
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+    }
+
+    private static class FailingOnceSupplier implements Supplier<Integer> {
+        int calls = 0;
+
+        @Override
+        public Integer get() {
+            calls++;
+            if (calls == 1) {
+                throw new IllegalStateException("Refresh failed");
+            }
+            return calls * 10;
+        }
+    }
+
+    private static class FixedRandom extends Random {
+        private final double value;
+
+        FixedRandom(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double nextDouble() {
+            return value;
+        }
+    }
+}
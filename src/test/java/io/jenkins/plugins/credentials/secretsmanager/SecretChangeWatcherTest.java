@@ -0,0 +1,70 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import io.jenkins.plugins.credentials.secretsmanager.events.SecretChangeSource;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecretChangeWatcherTest {
+
+    private static final Duration LISTEN_TIME = Duration.ofMillis(100);
+
+    @Test
+    public void shouldPassOnChanges() throws InterruptedException {
+        final var source = new InMemorySecretChangeSource(List.of("foo", "bar"), List.of("baz"));
+        final List<Collection<String>> changes = new ArrayList<>();
+
+        SecretChangeWatcher.listen(source, LISTEN_TIME, changes::add);
+
+        assertThat(changes).containsExactly(List.of("foo", "bar"), List.of("baz"));
+    }
+
+    @Test
+    public void shouldNotPassOnEmptyPolls() throws InterruptedException {
+        final var source = new InMemorySecretChangeSource();
+        final List<Collection<String>> changes = new ArrayList<>();
+
+        SecretChangeWatcher.listen(source, LISTEN_TIME, changes::add);
+
+        assertThat(changes).isEmpty();
+        assertThat(source.polls).isPositive();
+    }
+
+    /**
+     * Returns the queued changes one batch at a time, then waits out each poll like a real (empty) feed.
+     */
+    private static class InMemorySecretChangeSource implements SecretChangeSource {
+
+        final Queue<Collection<String>> changes = new ArrayDeque<>();
+        int polls = 0;
+
+        @SafeVarargs
+        InMemorySecretChangeSource(Collection<String>... changes) {
+            this.changes.addAll(List.of(changes));
+        }
+
+        @Override
+        public Collection<String> poll(Duration wait) throws InterruptedException {
+            polls++;
+            final var next = changes.poll();
+            if (next != null) {
+                return next;
+            }
+            Thread.sleep(wait.toMillis());
+            return Set.of();
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import org.junit.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class SecretsManagerBulkheadTest {
+
+    @Test
+    public void shouldRunTasksOnVirtualThreads() {
+        final var bulkhead = new SecretsManagerBulkhead(() -> 1);
+
+        final var virtual = CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), bulkhead.getExecutor()).join();
+
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    public void shouldCapCallsInFlight() throws Exception {
+        final var bulkhead = new SecretsManagerBulkhead(() -> 2);
+        final var maxInFlight = new AtomicInteger();
+        final var started = new CountDownLatch(5);
+        final var proceed = new CountDownLatch(1);
+
+        final CompletableFuture<?>[] calls = new CompletableFuture<?>[5];
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = CompletableFuture.runAsync(() -> {
+                started.countDown();
+                bulkhead.acquire();
+                try {
+                    maxInFlight.accumulateAndGet(bulkhead.getInFlight(), Math::max);
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    bulkhead.release();
+                }
+            }, bulkhead.getExecutor());
+        }
+
+        started.await(10, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        final var inFlightWhileBlocked = bulkhead.getInFlight();
+        proceed.countDown();
+        CompletableFuture.allOf(calls).get(10, TimeUnit.SECONDS);
+
+        assertSoftly(s -> {
+            s.assertThat(inFlightWhileBlocked).as("In flight while blocked").isEqualTo(2);
+            s.assertThat(maxInFlight.get()).as("Most in flight").isEqualTo(2);
+            s.assertThat(bulkhead.getInFlight()).as("In flight after").isZero();
+        });
+    }
+
+    @Test
+    public void shouldReleaseEachCallOnce() {
+        final var bulkhead = new SecretsManagerBulkhead(() -> 1);
+        final var interceptor = bulkhead.getInterceptor();
+        final var attributes = new ExecutionAttributes();
+
+        interceptor.beforeExecution(null, attributes);
+        final var during = bulkhead.getInFlight();
+        interceptor.onExecutionFailure(null, attributes);
+        interceptor.afterExecution(null, attributes);
+
+        assertSoftly(s -> {
+            s.assertThat(during).as("In flight during the call").isEqualTo(1);
+            s.assertThat(bulkhead.getInFlight()).as("In flight after the call").isZero();
+        });
+    }
+
+    @Test
+    public void shouldQueueAsyncCallsWithoutBlocking() throws Exception {
+        final var bulkhead = new SecretsManagerBulkhead(() -> 1);
+        final List<CompletableFuture<String>> calls = new CopyOnWriteArrayList<>();
+
+        final var first = bulkhead.callAsync(() -> newCall(calls));
+        // The slot is taken, so this one waits, without blocking this thread
+        final var second = bulkhead.callAsync(() -> newCall(calls));
+        final var startedWhileFull = calls.size();
+
+        calls.get(0).complete("first");
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (calls.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        final var inFlightAfterFirst = bulkhead.getInFlight();
+        calls.get(1).complete("second");
+
+        assertSoftly(s -> {
+            s.assertThat(startedWhileFull).as("Calls started while the slot was taken").isEqualTo(1);
+            s.assertThat(first).as("First").isCompletedWithValue("first");
+            s.assertThat(inFlightAfterFirst).as("In flight after the first call").isEqualTo(1);
+            s.assertThat(second.join()).as("Second").isEqualTo("second");
+            s.assertThat(bulkhead.getInFlight()).as("In flight after").isZero();
+        });
+    }
+
+    @Test
+    public void shouldReleaseSlotWhenAsyncCallFails() {
+        final var bulkhead = new SecretsManagerBulkhead(() -> 1);
+
+        final CompletableFuture<String> failed = bulkhead.callAsync(() -> {
+            throw new IllegalStateException("Could not start");
+        });
+
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(bulkhead.getInFlight()).isZero();
+    }
+
+    private static CompletableFuture<String> newCall(List<CompletableFuture<String>> calls) {
+        final var call = new CompletableFuture<String>();
+        calls.add(call);
+        return call;
+    }
+}
@@ -19,6 +19,7 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 
 import java.security.KeyPair;
+import java.security.KeyStoreException;
 import java.security.cert.Certificate;
 import java.util.List;
 
@@ -178,6 +179,49 @@ public class StandardCertificateCredentialsIT implements CredentialsTests {
                 .isInstanceOf(CredentialsUnavailableException.class);
     }
 
+    @Test
+    @ConfiguredWithCode(value = "/integration.yml")
+    public void shouldSupportPemBundle() {
+        // Given
+        final var pem = Crypto.save(KEY_PAIR.getPrivate()) + Crypto.save(CERTIFICATE_CHAIN[0]);
+        final var secret = createCertificateSecret(pem);
+
+        // When
+        final var credential = lookup(StandardCertificateCredentials.class, secret.name());
+
+        // Then
+        assertThat(credential.getKeyStore())
+                .containsEntry("1", CERTIFICATE_CHAIN);
+    }
+
+    @Test
+    @ConfiguredWithCode(value = "/integration.yml")
+    public void shouldNotLetCallersChangeTheKeyStore() {
+        // Given
+        final var keyStore = Crypto.singletonKeyStore(ALIAS, KEY_PAIR.getPrivate(), PASSWORD, CERTIFICATE_CHAIN);
+        final var secret = createCertificateSecret(Crypto.save(keyStore, PASSWORD));
+        final var credential = lookup(StandardCertificateCredentials.class, secret.name());
+
+        // When
+        final var first = credential.getKeyStore();
+
+        // Then
+        assertThatThrownBy(() -> first.deleteEntry(ALIAS))
+                .isInstanceOf(KeyStoreException.class);
+        assertThat(credential.getKeyStore())
+                .containsEntry(ALIAS, CERTIFICATE_CHAIN);
+    }
+
+    private CreateSecretResponse createCertificateSecret(String secretString) {
+        final var tags = List.of(AwsTags.type(Type.certificate));
+
+        return secretsManager.getClient().createSecret((b) -> {
+            b.name(CredentialNames.random());
+            b.secretString(secretString);
+            b.tags(tags);
+        });
+    }
+
     private CreateSecretResponse createCertificateSecret(byte[] secretBinary) {
         final var tags = List.of(AwsTags.type(Type.certificate));
 
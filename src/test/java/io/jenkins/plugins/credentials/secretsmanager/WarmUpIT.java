@@ -0,0 +1,58 @@
+package io.jenkins.plugins.credentials.secretsmanager;
+
+import hudson.ExtensionList;
+import io.jenkins.plugins.casc.misc.ConfiguredWithCode;
+import io.jenkins.plugins.credentials.secretsmanager.factory.Tags;
+import io.jenkins.plugins.credentials.secretsmanager.factory.Type;
+import io.jenkins.plugins.credentials.secretsmanager.metrics.SecretsManagerMetrics;
+import io.jenkins.plugins.credentials.secretsmanager.util.AwsTags;
+import io.jenkins.plugins.credentials.secretsmanager.util.FakeSecretsManager;
+import io.jenkins.plugins.credentials.secretsmanager.util.MyJenkinsConfiguredWithCodeRule;
+import io.jenkins.plugins.credentials.secretsmanager.util.Rules;
+import org.jenkinsci.plugins.plaincredentials.StringCredentials;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.List;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class WarmUpIT {
+
+    public final MyJenkinsConfiguredWithCodeRule jenkins = new MyJenkinsConfiguredWithCodeRule();
+    public final FakeSecretsManager secretsManager = new FakeSecretsManager();
+
+    @Rule
+    public final TestRule chain = Rules.jenkinsWithSecretsManager(jenkins, secretsManager);
+
+    @Test
+    @ConfiguredWithCode("/warm-up.yml")
+    public void shouldLoadCredentialsAndPrefetchTaggedValues() {
+        // Given
+        secretsManager.createSecret("foo", "supersecret", List.of(AwsTags.type(Type.string), AwsTags.tag(Tags.prefetch, "true")));
+        secretsManager.createSecret("bar", "supersecret", List.of(AwsTags.type(Type.string)));
+
+        // The harness turns off the warm-up at startup, so that it does not list the secrets before they are created
+        final var listedAtStartup = secretsManager.getRequestCount("ListSecrets");
+
+        // When
+        ExtensionList.lookupSingleton(AwsCredentialsProvider.class).warmUp();
+
+        // Then
+        final var listed = secretsManager.getRequestCount("ListSecrets");
+        final var retrieved = secretsManager.getRequestCount("GetSecretValue");
+        final var credentials = jenkins.getCredentials().lookup(StringCredentials.class);
+        final var foo = jenkins.getCredentials().lookup(StringCredentials.class, "foo").getSecret().getPlainText();
+
+        assertSoftly(s -> {
+            s.assertThat(listedAtStartup).as("ListSecrets calls at startup").isZero();
+            s.assertThat(credentials).as("Credentials").extracting("id").containsOnly("foo", "bar");
+            s.assertThat(foo).as("Prefetched value").isEqualTo("supersecret");
+            s.assertThat(listed).as("ListSecrets calls during warm-up").isEqualTo(1);
+            s.assertThat(retrieved).as("GetSecretValue calls during warm-up").isEqualTo(1);
+            s.assertThat(secretsManager.getRequestCount("GetSecretValue")).as("GetSecretValue calls after use").isEqualTo(1);
+            s.assertThat(SecretsManagerMetrics.get().getValue("warmUp.prefetched")).as("Prefetched").isEqualTo(1L);
+        });
+    }
+}
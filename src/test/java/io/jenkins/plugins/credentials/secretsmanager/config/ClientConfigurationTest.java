@@ -0,0 +1,115 @@
+package io.jenkins.plugins.credentials.secretsmanager.config;
+
+import org.junit.Test;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class ClientConfigurationTest {
+
+    @Test
+    public void shouldMapRetryModes() {
+        assertSoftly(s -> {
+            s.assertThat(ClientConfiguration.toRetryMode(null)).as("Default").isEqualTo(RetryMode.defaultRetryMode());
+            s.assertThat(ClientConfiguration.toRetryMode("standard")).as("Standard").isEqualTo(RetryMode.STANDARD);
+            s.assertThat(ClientConfiguration.toRetryMode("adaptive")).as("Adaptive").isEqualTo(RetryMode.ADAPTIVE_V2);
+        });
+    }
+
+    @Test
+    public void shouldRejectUnknownRetryMode() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ClientConfiguration.toRetryMode("foo"));
+    }
+
+    @Test
+    public void shouldRejectUnknownRetryModeWhenItIsSet() {
+        final var clientConfiguration = new ClientConfiguration(null, null, null, null, null);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> clientConfiguration.setRetryMode("foo"));
+        assertThat(clientConfiguration.getRetryMode()).isNull();
+    }
+
+    @Test
+    public void shouldNormalizeRetryModeWhenItIsSet() {
+        final var clientConfiguration = new ClientConfiguration(null, null, null, null, null);
+
+        assertSoftly(s -> {
+            clientConfiguration.setRetryMode(" Adaptive ");
+            s.assertThat(clientConfiguration.getRetryMode()).as("Mixed case").isEqualTo("adaptive");
+            clientConfiguration.setRetryMode("");
+            s.assertThat(clientConfiguration.getRetryMode()).as("Empty").isNull();
+        });
+    }
+
+    @Test
+    public void shouldRejectMaxAttemptsBelowOneWhenItIsSet() {
+        final var clientConfiguration = new ClientConfiguration(null, null, null, null, null);
+
+        assertSoftly(s -> {
+            s.assertThatIllegalArgumentException().as("Zero").isThrownBy(() -> clientConfiguration.setMaxAttempts(0));
+            s.assertThatIllegalArgumentException().as("Negative").isThrownBy(() -> clientConfiguration.setMaxAttempts(-1));
+            s.assertThat(clientConfiguration.getMaxAttempts()).as("Max attempts").isNull();
+        });
+    }
+
+    @Test
+    public void shouldLeaveSdkDefaultsWhenNothingIsSet() {
+        final var clientConfiguration = new ClientConfiguration(null, null, null, null, null);
+
+        final var builder = ClientOverrideConfiguration.builder();
+        clientConfiguration.configure(builder);
+        final var config = builder.build();
+
+        assertSoftly(s -> {
+            s.assertThat(config.retryStrategy()).as("Retry strategy").isEmpty();
+            s.assertThat(config.apiCallTimeout()).as("API call timeout").isEmpty();
+            s.assertThat(config.apiCallAttemptTimeout()).as("API call attempt timeout").isEmpty();
+        });
+    }
+
+    @Test
+    public void shouldConfigureRetriesAndTimeouts() {
+        final var clientConfiguration = new ClientConfiguration(null, null, null, null, null);
+        clientConfiguration.setRetryMode("adaptive");
+        clientConfiguration.setMaxAttempts(5);
+        clientConfiguration.setApiCallTimeout(30);
+        clientConfiguration.setApiCallAttemptTimeout(10);
+
+        final var builder = ClientOverrideConfiguration.builder();
+        clientConfiguration.configure(builder);
+        final var config = builder.build();
+
+        assertSoftly(s -> {
+            s.assertThat(config.retryStrategy()).as("Retry strategy").hasValueSatisfying(strategy -> assertThat(strategy.maxAttempts()).isEqualTo(5));
+            s.assertThat(config.apiCallTimeout()).as("API call timeout").contains(Duration.ofSeconds(30));
+            s.assertThat(config.apiCallAttemptTimeout()).as("API call attempt timeout").contains(Duration.ofSeconds(10));
+        });
+    }
+
+    @Test
+    public void shouldBuildHttpClientsWithTransportSettingsAndNoProxy() {
+        final var clientConfiguration = new ClientConfiguration(null, null, null, null, null);
+        clientConfiguration.setMaxConnections(200);
+        clientConfiguration.setConnectionTimeToLive(60);
+        clientConfiguration.setConnectionMaxIdleTime(30);
+        clientConfiguration.setDisableIdleConnectionReaper(true);
+        clientConfiguration.setTcpKeepAlive(true);
+        clientConfiguration.setSocketTimeout(10);
+        clientConfiguration.setConnectionTimeout(5);
+
+        assertThat(clientConfiguration.hasProxy()).isFalse();
+
+        try (var httpClient = clientConfiguration.build().build();
+             var asyncHttpClient = clientConfiguration.buildAsync().build()) {
+            assertSoftly(s -> {
+                s.assertThat(httpClient).as("HTTP client").isNotNull();
+                s.assertThat(asyncHttpClient).as("Async HTTP client").isNotNull();
+            });
+        }
+    }
+}
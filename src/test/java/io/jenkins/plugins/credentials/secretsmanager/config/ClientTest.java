@@ -2,7 +2,11 @@ package io.jenkins.plugins.credentials.secretsmanager.config;
 
 import hudson.ProxyConfiguration;
 import org.junit.Test;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsClient;
 
+import java.net.URI;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
@@ -31,4 +35,34 @@ public class ClientTest {
            s.assertThat(awsProxyConfiguration.nonProxyHosts()).as("Non-Proxy Hosts").isEqualTo(Set.of(noProxyHost));
         });
     }
+
+    @Test
+    public void shouldOnlyUseJenkinsProxyWithoutClientConfiguration() {
+        // Given
+        final var jenkinsProxy = Optional.of(new ProxyConfiguration("localhost", 8000, null, null, null));
+        final var clientConfigurationWithoutProxy = new ClientConfiguration(null, null, null, null, null);
+
+        // Then
+        assertSoftly(s -> {
+            s.assertThat(Client.getJenkinsProxy(null, jenkinsProxy)).as("No client configuration").isEqualTo(jenkinsProxy);
+            s.assertThat(Client.getJenkinsProxy(clientConfigurationWithoutProxy, jenkinsProxy)).as("Client configuration without proxy").isEmpty();
+        });
+    }
+
+    @Test
+    public void shouldConnectToOtherServiceLikeSecretsManager() {
+        // Given
+        final var client = new Client(null, null, "http://localhost:4566", "eu-west-1");
+
+        // When
+        try (var sqs = client.configureOtherService(SqsClient.builder()).build()) {
+            final var configuration = sqs.serviceClientConfiguration();
+
+            // Then
+            assertSoftly(s -> {
+                s.assertThat(configuration.endpointOverride()).as("Endpoint").isEqualTo(Optional.of(URI.create("http://localhost:4566")));
+                s.assertThat(configuration.region()).as("Region").isEqualTo(Region.EU_WEST_1);
+            });
+        }
+    }
 }
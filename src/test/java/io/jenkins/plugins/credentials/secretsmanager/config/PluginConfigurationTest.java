@@ -10,22 +10,156 @@ public class PluginConfigurationTest {
 
     private static final Duration DEFAULT_CACHE_DURATION = Duration.ofSeconds(300);
     private static final Duration MINIMUM_CACHE_DURATION = Duration.ofNanos(1);
+    private static final double DEFAULT_REFRESH_AHEAD = 0.8;
+    private static final Duration DEFAULT_MAX_STALENESS = Duration.ofHours(1);
 
     @Test
     public void shouldNormalizeNullToDefaultDuration() {
-        assertThat(PluginConfiguration.normalize(null))
+        assertThat(PluginConfiguration.normalizeCacheDuration(null))
                 .isEqualTo(DEFAULT_CACHE_DURATION);
     }
 
     @Test
-    public void shouldNormalizeTrueToDefaultDuration() {
-        assertThat(PluginConfiguration.normalize(true))
-                .isEqualTo(DEFAULT_CACHE_DURATION);
+    public void shouldNormalizeZeroToMinimumDuration() {
+        assertThat(PluginConfiguration.normalizeCacheDuration(0))
+                .isEqualTo(MINIMUM_CACHE_DURATION);
     }
 
     @Test
-    public void shouldNormalizeFalseToMinimumDuration() {
-        assertThat(PluginConfiguration.normalize(false))
+    public void shouldNormalizeNegativeToMinimumDuration() {
+        assertThat(PluginConfiguration.normalizeCacheDuration(-1))
                 .isEqualTo(MINIMUM_CACHE_DURATION);
     }
+
+    @Test
+    public void shouldNormalizeCacheDurationToSeconds() {
+        assertThat(PluginConfiguration.normalizeCacheDuration(1800))
+                .isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    public void shouldNormalizeNullRefreshAheadToDefault() {
+        assertThat(PluginConfiguration.normalizeRefreshAhead(null))
+                .isEqualTo(DEFAULT_REFRESH_AHEAD);
+    }
+
+    @Test
+    public void shouldNormalizeInvalidRefreshAheadToDefault() {
+        assertThat(PluginConfiguration.normalizeRefreshAhead(0.0))
+                .isEqualTo(DEFAULT_REFRESH_AHEAD);
+        assertThat(PluginConfiguration.normalizeRefreshAhead(1.5))
+                .isEqualTo(DEFAULT_REFRESH_AHEAD);
+    }
+
+    @Test
+    public void shouldKeepValidRefreshAhead() {
+        assertThat(PluginConfiguration.normalizeRefreshAhead(0.5))
+                .isEqualTo(0.5);
+        assertThat(PluginConfiguration.normalizeRefreshAhead(1.0))
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    public void shouldNormalizeNullMaxStalenessToDefault() {
+        assertThat(PluginConfiguration.normalizeMaxStaleness(null))
+                .isEqualTo(DEFAULT_MAX_STALENESS);
+    }
+
+    @Test
+    public void shouldNormalizeNegativeMaxStalenessToDefault() {
+        assertThat(PluginConfiguration.normalizeMaxStaleness(-1))
+                .isEqualTo(DEFAULT_MAX_STALENESS);
+    }
+
+    @Test
+    public void shouldNormalizeMaxStalenessToSeconds() {
+        assertThat(PluginConfiguration.normalizeMaxStaleness(0))
+                .isEqualTo(Duration.ZERO);
+        assertThat(PluginConfiguration.normalizeMaxStaleness(600))
+                .isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void shouldNormalizeNullValueCacheToDisabled() {
+        assertThat(PluginConfiguration.normalizeValueCache(null))
+                .isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void shouldNormalizeNegativeValueCacheToDisabled() {
+        assertThat(PluginConfiguration.normalizeValueCache(-1))
+                .isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void shouldNormalizeValueCacheToSeconds() {
+        assertThat(PluginConfiguration.normalizeValueCache(30))
+                .isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void shouldNormalizeNullValueCacheSizeToDefault() {
+        assertThat(PluginConfiguration.normalizeValueCacheSize(null))
+                .isEqualTo(1000);
+    }
+
+    @Test
+    public void shouldNormalizeZeroValueCacheSizeToDefault() {
+        assertThat(PluginConfiguration.normalizeValueCacheSize(0))
+                .isEqualTo(1000);
+    }
+
+    @Test
+    public void shouldNormalizeValueCacheSize() {
+        assertThat(PluginConfiguration.normalizeValueCacheSize(5000))
+                .isEqualTo(5000);
+    }
+
+    @Test
+    public void shouldNormalizeNullValueRateLimitToUnlimited() {
+        assertThat(PluginConfiguration.normalizeValueRateLimit(null))
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void shouldNormalizeNegativeValueRateLimitToUnlimited() {
+        assertThat(PluginConfiguration.normalizeValueRateLimit(-1))
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void shouldNormalizeValueRateLimit() {
+        assertThat(PluginConfiguration.normalizeValueRateLimit(50))
+                .isEqualTo(50);
+    }
+
+    @Test
+    public void shouldNormalizeNullMaxConcurrencyToDefault() {
+        assertThat(PluginConfiguration.normalizeMaxConcurrency(null))
+                .isEqualTo(50);
+    }
+
+    @Test
+    public void shouldNormalizeZeroMaxConcurrencyToDefault() {
+        assertThat(PluginConfiguration.normalizeMaxConcurrency(0))
+                .isEqualTo(50);
+    }
+
+    @Test
+    public void shouldNormalizeMaxConcurrency() {
+        assertThat(PluginConfiguration.normalizeMaxConcurrency(10))
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void shouldNormalizeNullAsyncClientToBlocking() {
+        assertThat(PluginConfiguration.normalizeAsyncClient(null))
+                .isFalse();
+    }
+
+    @Test
+    public void shouldNormalizeAsyncClient() {
+        assertThat(PluginConfiguration.normalizeAsyncClient(true))
+                .isTrue();
+    }
 }
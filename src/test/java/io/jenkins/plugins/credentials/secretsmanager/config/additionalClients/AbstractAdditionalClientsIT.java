@@ -0,0 +1,34 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.additionalClients;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractAdditionalClientsIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setAdditionalClientRegions(String... regions);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getAdditionalClients()).isNullOrEmpty();
+    }
+
+    @Test
+    public void shouldHaveAdditionalClients() {
+        // Given
+        setAdditionalClientRegions("eu-west-1", "us-west-2");
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getAdditionalClients())
+                .extracting("region")
+                .containsExactly("eu-west-1", "us-west-2");
+    }
+}
@@ -0,0 +1,38 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.additionalClients;
+
+import io.jenkins.plugins.casc.misc.ConfiguredWithCode;
+import io.jenkins.plugins.casc.misc.JenkinsConfiguredWithCodeRule;
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class CasCAdditionalClientsIT extends AbstractAdditionalClientsIT {
+
+    @Rule
+    public final JenkinsRule r = new JenkinsConfiguredWithCodeRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setAdditionalClientRegions(String... regions) {
+        // no-op (configured by annotations)
+    }
+
+    @Override
+    @Test
+    @ConfiguredWithCode("/config/additionalClients/default.yml")
+    public void shouldHaveDefault() {
+        super.shouldHaveDefault();
+    }
+
+    @Override
+    @Test
+    @ConfiguredWithCode("/config/additionalClients/custom.yml")
+    public void shouldHaveAdditionalClients() {
+        super.shouldHaveAdditionalClients();
+    }
+}
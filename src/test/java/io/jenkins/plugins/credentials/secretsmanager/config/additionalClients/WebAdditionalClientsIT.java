@@ -0,0 +1,46 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.additionalClients;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import io.jenkins.plugins.credentials.secretsmanager.util.PluginConfigurationForm;
+import org.junit.Ignore;
+import org.junit.Rule;
+
+import java.io.IOException;
+
+@Ignore("Form configuration is currently not working")
+public class WebAdditionalClientsIT extends AbstractAdditionalClientsIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setAdditionalClientRegions(String... regions) {
+        r.configure(form -> {
+            final var f = new PluginConfigurationForm(form);
+
+            for (String region : regions) {
+                final var addClientButton = f.getRepeatableAddButtons("Additional Clients")
+                        .stream()
+                        .findFirst()
+                        .orElseThrow(() -> new RuntimeException("The 'Add' button for the Additional Clients element was not found"));
+                try {
+                    addClientButton.click();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            // The first region select belongs to the main client
+            final var selects = form.getSelectsByName("_.region");
+            for (int i = 0; i < regions.length; i++) {
+                selects.get(i + 1).setSelectedAttribute(regions[i], true);
+            }
+        });
+    }
+}
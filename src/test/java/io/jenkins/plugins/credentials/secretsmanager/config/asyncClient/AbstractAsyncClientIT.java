@@ -0,0 +1,32 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.asyncClient;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractAsyncClientIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setAsyncClient(boolean asyncClient);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getAsyncClient()).isNull();
+    }
+
+    @Test
+    public void shouldHaveAsyncClient() {
+        // Given
+        setAsyncClient(true);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getAsyncClient()).isTrue();
+    }
+}
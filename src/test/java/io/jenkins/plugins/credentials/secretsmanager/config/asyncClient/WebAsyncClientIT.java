@@ -0,0 +1,23 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.asyncClient;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import org.junit.Rule;
+
+public class WebAsyncClientIT extends AbstractAsyncClientIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setAsyncClient(boolean asyncClient) {
+        r.configure(form -> {
+            form.getInputByName("_.asyncClient").setChecked(asyncClient);
+        });
+    }
+}
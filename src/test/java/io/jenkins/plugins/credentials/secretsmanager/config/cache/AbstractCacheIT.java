@@ -9,36 +9,36 @@ public abstract class AbstractCacheIT {
 
     protected abstract PluginConfiguration getPluginConfiguration();
 
-    protected abstract void setCache(boolean cache);
+    protected abstract void setCacheDuration(int cacheDuration);
 
     @Test
     public void shouldHaveDefault() {
         final var config = getPluginConfiguration();
 
-        assertThat(config.getCache()).isNull();
+        assertThat(config.getCacheDuration()).isNull();
     }
 
     @Test
-    public void shouldEnableCache() {
+    public void shouldHaveCacheDuration() {
         // Given
-        setCache(true);
+        setCacheDuration(1800);
 
         // When
         final var config = getPluginConfiguration();
 
         // Then
-        assertThat(config.getCache()).isTrue();
+        assertThat(config.getCacheDuration()).isEqualTo(1800);
     }
 
     @Test
     public void shouldDisableCache() {
         // Given
-        setCache(false);
+        setCacheDuration(0);
 
         // When
         final var config = getPluginConfiguration();
 
         // Then
-        assertThat(config.getCache()).isFalse();
+        assertThat(config.getCacheDuration()).isZero();
     }
 }
@@ -7,6 +7,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.jvnet.hudson.test.JenkinsRule;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class CasCCacheIT extends AbstractCacheIT {
 
     @Rule
@@ -18,7 +20,7 @@ public class CasCCacheIT extends AbstractCacheIT {
     }
 
     @Override
-    protected void setCache(boolean cache) {
+    protected void setCacheDuration(int cacheDuration) {
         // no-op (configured by annotations)
     }
 
@@ -31,15 +33,27 @@ public class CasCCacheIT extends AbstractCacheIT {
 
     @Override
     @Test
-    @ConfiguredWithCode("/config/cache/true.yml")
-    public void shouldEnableCache() {
-        super.shouldEnableCache();
+    @ConfiguredWithCode("/config/cache/custom.yml")
+    public void shouldHaveCacheDuration() {
+        super.shouldHaveCacheDuration();
     }
 
     @Override
     @Test
-    @ConfiguredWithCode("/config/cache/false.yml")
+    @ConfiguredWithCode("/config/cache/zero.yml")
     public void shouldDisableCache() {
         super.shouldDisableCache();
     }
+
+    @Test
+    @ConfiguredWithCode("/config/cache/true.yml")
+    public void shouldKeepDefaultWithLegacyCacheEnabled() {
+        assertThat(getPluginConfiguration().getCacheDuration()).isNull();
+    }
+
+    @Test
+    @ConfiguredWithCode("/config/cache/false.yml")
+    public void shouldDisableCacheWithLegacyCacheDisabled() {
+        assertThat(getPluginConfiguration().getCacheDuration()).isZero();
+    }
 }
@@ -15,9 +15,9 @@ public class WebCacheIT extends AbstractCacheIT {
     }
 
     @Override
-    protected void setCache(boolean cache) {
+    protected void setCacheDuration(int cacheDuration) {
         r.configure(form -> {
-            form.getInputByName("_.cache").setChecked(cache);
+            form.getInputByName("_.cacheDuration").setValue(String.valueOf(cacheDuration));
         });
     }
 }
@@ -0,0 +1,35 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.changeFeed;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.config.changeSource.SqsQueue;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractChangeFeedIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setQueueUrl(String queueUrl);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getChangeFeed()).isNull();
+    }
+
+    @Test
+    public void shouldHaveQueueUrl() {
+        // Given
+        final var queueUrl = "https://sqs.us-east-1.amazonaws.com/111122223333/jenkins-secrets";
+        setQueueUrl(queueUrl);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getChangeFeed().getSource())
+                .isEqualTo(new SqsQueue(queueUrl));
+    }
+}
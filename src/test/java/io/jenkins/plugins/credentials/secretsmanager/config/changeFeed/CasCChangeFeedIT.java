@@ -0,0 +1,38 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.changeFeed;
+
+import io.jenkins.plugins.casc.misc.ConfiguredWithCode;
+import io.jenkins.plugins.casc.misc.JenkinsConfiguredWithCodeRule;
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class CasCChangeFeedIT extends AbstractChangeFeedIT {
+
+    @Rule
+    public final JenkinsRule r = new JenkinsConfiguredWithCodeRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setQueueUrl(String queueUrl) {
+        // no-op (configured by annotations)
+    }
+
+    @Override
+    @Test
+    @ConfiguredWithCode("/config/changeFeed/default.yml")
+    public void shouldHaveDefault() {
+        super.shouldHaveDefault();
+    }
+
+    @Override
+    @Test
+    @ConfiguredWithCode("/config/changeFeed/custom.yml")
+    public void shouldHaveQueueUrl() {
+        super.shouldHaveQueueUrl();
+    }
+}
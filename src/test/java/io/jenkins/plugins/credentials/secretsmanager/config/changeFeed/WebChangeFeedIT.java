@@ -0,0 +1,24 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.changeFeed;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import org.junit.Rule;
+
+public class WebChangeFeedIT extends AbstractChangeFeedIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setQueueUrl(String queueUrl) {
+        r.configure(form -> {
+            form.getInputByName("_.changeFeed").setChecked(true);
+            form.getInputByName("_.queueUrl").setValue(queueUrl);
+        });
+    }
+}
@@ -12,6 +12,10 @@ public abstract class AbstractClientConfigurationIT {
 
     protected abstract void setClientConfiguration(String nonProxyHosts, String proxyHost, int proxyPort, String proxyUsername, String proxyPassword);
 
+    protected abstract void setConnectionPool(int maxConnections, int connectionTimeToLive, int connectionMaxIdleTime, int socketTimeout, int connectionTimeout);
+
+    protected abstract void setRetriesAndTimeouts(String retryMode, int maxAttempts, int apiCallTimeout, int apiCallAttemptTimeout);
+
     @Test
     public void shouldHaveClientConfiguration() {
         // Given
@@ -30,4 +34,51 @@ public abstract class AbstractClientConfigurationIT {
                 .isEqualTo(new ClientConfiguration(nonProxyHosts, proxyHost, proxyPort, proxyUsername, Secret.fromString(proxyPassword)));
     }
 
+    @Test
+    public void shouldHaveConnectionPool() {
+        // Given
+        final var maxConnections = 200;
+        final var connectionTimeToLive = 60;
+        final var connectionMaxIdleTime = 30;
+        final var socketTimeout = 10;
+        final var connectionTimeout = 5;
+        setConnectionPool(maxConnections, connectionTimeToLive, connectionMaxIdleTime, socketTimeout, connectionTimeout);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        final var expected = new ClientConfiguration(null, null, null, null, null);
+        expected.setMaxConnections(maxConnections);
+        expected.setConnectionTimeToLive(connectionTimeToLive);
+        expected.setConnectionMaxIdleTime(connectionMaxIdleTime);
+        expected.setTcpKeepAlive(true);
+        expected.setSocketTimeout(socketTimeout);
+        expected.setConnectionTimeout(connectionTimeout);
+        assertThat(config.getClient().getClientConfiguration())
+                .isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldHaveRetriesAndTimeouts() {
+        // Given
+        final var retryMode = "adaptive";
+        final var maxAttempts = 5;
+        final var apiCallTimeout = 30;
+        final var apiCallAttemptTimeout = 10;
+        setRetriesAndTimeouts(retryMode, maxAttempts, apiCallTimeout, apiCallAttemptTimeout);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        final var expected = new ClientConfiguration(null, null, null, null, null);
+        expected.setRetryMode(retryMode);
+        expected.setMaxAttempts(maxAttempts);
+        expected.setApiCallTimeout(apiCallTimeout);
+        expected.setApiCallAttemptTimeout(apiCallAttemptTimeout);
+        assertThat(config.getClient().getClientConfiguration())
+                .isEqualTo(expected);
+    }
+
 }
@@ -1,5 +1,6 @@
 package io.jenkins.plugins.credentials.secretsmanager.config.client.clientConfiguration;
 
+import io.jenkins.plugins.casc.ConfiguratorException;
 import io.jenkins.plugins.casc.misc.ConfiguredWithCode;
 import io.jenkins.plugins.casc.misc.JenkinsConfiguredWithCodeRule;
 import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
@@ -21,10 +22,40 @@ public class CasCClientConfigurationIT extends AbstractClientConfigurationIT {
         // no-op (configured by annotations)
     }
 
+    @Override
+    protected void setConnectionPool(int maxConnections, int connectionTimeToLive, int connectionMaxIdleTime, int socketTimeout, int connectionTimeout) {
+        // no-op (configured by annotations)
+    }
+
+    @Override
+    protected void setRetriesAndTimeouts(String retryMode, int maxAttempts, int apiCallTimeout, int apiCallAttemptTimeout) {
+        // no-op (configured by annotations)
+    }
+
     @Override
     @Test
     @ConfiguredWithCode("/config/client/clientConfiguration.yml")
     public void shouldHaveClientConfiguration() {
         super.shouldHaveClientConfiguration();
     }
+
+    @Override
+    @Test
+    @ConfiguredWithCode("/config/client/clientConfigurationConnectionPool.yml")
+    public void shouldHaveConnectionPool() {
+        super.shouldHaveConnectionPool();
+    }
+
+    @Override
+    @Test
+    @ConfiguredWithCode("/config/client/clientConfigurationRetries.yml")
+    public void shouldHaveRetriesAndTimeouts() {
+        super.shouldHaveRetriesAndTimeouts();
+    }
+
+    @Test
+    @ConfiguredWithCode(value = "/config/client/clientConfigurationInvalidRetryMode.yml", expected = ConfiguratorException.class)
+    public void shouldRejectUnknownRetryMode() {
+        // expected exception is checked by the rule
+    }
 }
@@ -24,4 +24,28 @@ public class WebClientConfigurationIT extends AbstractClientConfigurationIT {
             form.getInputByName("_.proxyPassword").setValue(proxyPassword);
         });
     }
+
+    @Override
+    protected void setConnectionPool(int maxConnections, int connectionTimeToLive, int connectionMaxIdleTime, int socketTimeout, int connectionTimeout) {
+        r.configure(form -> {
+            form.getInputByName("_.clientConfiguration").setChecked(true);
+            form.getInputByName("_.maxConnections").setValue(String.valueOf(maxConnections));
+            form.getInputByName("_.connectionTimeToLive").setValue(String.valueOf(connectionTimeToLive));
+            form.getInputByName("_.connectionMaxIdleTime").setValue(String.valueOf(connectionMaxIdleTime));
+            form.getInputByName("_.tcpKeepAlive").setChecked(true);
+            form.getInputByName("_.socketTimeout").setValue(String.valueOf(socketTimeout));
+            form.getInputByName("_.connectionTimeout").setValue(String.valueOf(connectionTimeout));
+        });
+    }
+
+    @Override
+    protected void setRetriesAndTimeouts(String retryMode, int maxAttempts, int apiCallTimeout, int apiCallAttemptTimeout) {
+        r.configure(form -> {
+            form.getInputByName("_.clientConfiguration").setChecked(true);
+            form.getSelectByName("_.retryMode").setSelectedAttribute(retryMode, true);
+            form.getInputByName("_.maxAttempts").setValue(String.valueOf(maxAttempts));
+            form.getInputByName("_.apiCallTimeout").setValue(String.valueOf(apiCallTimeout));
+            form.getInputByName("_.apiCallAttemptTimeout").setValue(String.valueOf(apiCallAttemptTimeout));
+        });
+    }
 }
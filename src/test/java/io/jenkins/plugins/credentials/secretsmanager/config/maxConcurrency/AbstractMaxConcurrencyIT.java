@@ -0,0 +1,32 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.maxConcurrency;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractMaxConcurrencyIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setMaxConcurrency(int maxConcurrency);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getMaxConcurrency()).isNull();
+    }
+
+    @Test
+    public void shouldHaveMaxConcurrency() {
+        // Given
+        setMaxConcurrency(10);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getMaxConcurrency()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.maxConcurrency;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import org.junit.Rule;
+
+public class WebMaxConcurrencyIT extends AbstractMaxConcurrencyIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setMaxConcurrency(int maxConcurrency) {
+        r.configure(form -> {
+            form.getInputByName("_.maxConcurrency").setValue(String.valueOf(maxConcurrency));
+        });
+    }
+}
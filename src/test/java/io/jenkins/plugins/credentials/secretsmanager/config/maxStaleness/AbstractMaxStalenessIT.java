@@ -0,0 +1,32 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.maxStaleness;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractMaxStalenessIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setMaxStaleness(int maxStaleness);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getMaxStaleness()).isNull();
+    }
+
+    @Test
+    public void shouldHaveMaxStaleness() {
+        // Given
+        setMaxStaleness(600);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getMaxStaleness()).isEqualTo(600);
+    }
+}
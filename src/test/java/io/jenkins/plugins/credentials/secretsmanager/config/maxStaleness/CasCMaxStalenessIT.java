@@ -0,0 +1,38 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.maxStaleness;
+
+import io.jenkins.plugins.casc.misc.ConfiguredWithCode;
+import io.jenkins.plugins.casc.misc.JenkinsConfiguredWithCodeRule;
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class CasCMaxStalenessIT extends AbstractMaxStalenessIT {
+
+    @Rule
+    public final JenkinsRule r = new JenkinsConfiguredWithCodeRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setMaxStaleness(int maxStaleness) {
+        // no-op (configured by annotations)
+    }
+
+    @Override
+    @Test
+    @ConfiguredWithCode("/config/maxStaleness/default.yml")
+    public void shouldHaveDefault() {
+        super.shouldHaveDefault();
+    }
+
+    @Override
+    @Test
+    @ConfiguredWithCode("/config/maxStaleness/custom.yml")
+    public void shouldHaveMaxStaleness() {
+        super.shouldHaveMaxStaleness();
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.maxStaleness;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import org.junit.Rule;
+
+public class WebMaxStalenessIT extends AbstractMaxStalenessIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setMaxStaleness(int maxStaleness) {
+        r.configure(form -> {
+            form.getInputByName("_.maxStaleness").setValue(String.valueOf(maxStaleness));
+        });
+    }
+}
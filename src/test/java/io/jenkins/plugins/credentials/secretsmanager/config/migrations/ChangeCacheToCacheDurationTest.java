@@ -0,0 +1,13 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.migrations;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeCacheToCacheDurationTest extends MigrationTest {
+
+    @Override
+    public void change(PluginConfiguration config) {
+        assertThat(config.getCacheDuration()).isZero();
+    }
+}
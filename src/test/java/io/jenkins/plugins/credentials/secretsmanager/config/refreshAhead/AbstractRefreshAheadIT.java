@@ -0,0 +1,32 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.refreshAhead;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractRefreshAheadIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setRefreshAhead(double refreshAhead);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getRefreshAhead()).isNull();
+    }
+
+    @Test
+    public void shouldHaveRefreshAhead() {
+        // Given
+        setRefreshAhead(0.5);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getRefreshAhead()).isEqualTo(0.5);
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.refreshAhead;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import org.junit.Rule;
+
+public class WebRefreshAheadIT extends AbstractRefreshAheadIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setRefreshAhead(double refreshAhead) {
+        r.configure(form -> {
+            form.getInputByName("_.refreshAhead").setValue(String.valueOf(refreshAhead));
+        });
+    }
+}
@@ -85,4 +85,29 @@ public class PrefixRemoverTest {
         assertThat(removePrefixes("foo", "foo-").from("foo-secret"))
                 .isEqualTo("secret");
     }
+
+    @Test
+    public void shouldMatchTheMostSpecificOfManyPrefixes() {
+        final PrefixRemover a = removePrefixes("f", "fo", "foo", "foo-", "foo-bar-", "bar-", "foo-baz");
+
+        assertSoftly(s -> {
+            s.assertThat(a.from("foo-bar-secret")).isEqualTo("secret");
+            s.assertThat(a.from("foo-baz-secret")).isEqualTo("-secret");
+            s.assertThat(a.from("foo-qux")).isEqualTo("qux");
+            s.assertThat(a.from("fa")).isEqualTo("a");
+            s.assertThat(a.from("bar-secret")).isEqualTo("secret");
+        });
+    }
+
+    @Test
+    public void shouldNotTransformStringShorterThanPrefix() {
+        assertThat(removePrefix("foo-bar-").from("foo-b"))
+                .isEqualTo("foo-b");
+    }
+
+    @Test
+    public void shouldTransformStringEqualToPrefix() {
+        assertThat(removePrefix("foo-").from("foo-"))
+                .isEqualTo("");
+    }
 }
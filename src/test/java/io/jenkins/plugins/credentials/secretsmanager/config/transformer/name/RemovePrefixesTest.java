@@ -6,6 +6,7 @@ import io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.rem
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
@@ -22,6 +23,19 @@ public class RemovePrefixesTest implements TransformerTest {
         });
     }
 
+    @Test
+    public void shouldTransformWithChangedPrefixes() {
+        final var transformer = new RemovePrefixes(Set.of(new Prefix("foo-")));
+        transformer.transform("foo-secret");
+
+        transformer.setPrefixes(Set.of(new Prefix("bar-")));
+
+        assertSoftly(s -> {
+            s.assertThat(transformer.transform("foo-secret")).isEqualTo("foo-secret");
+            s.assertThat(transformer.transform("bar-secret")).isEqualTo("secret");
+        });
+    }
+
     @Test
     public void shouldBeEqualWhenPrefixesAreEqual() {
         final var a = removePrefixes("foo-", "bar-");
@@ -0,0 +1,32 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.valueCache;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractValueCacheIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setValueCache(int valueCache);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getValueCache()).isNull();
+    }
+
+    @Test
+    public void shouldHaveValueCache() {
+        // Given
+        setValueCache(30);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getValueCache()).isEqualTo(30);
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.valueCache;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import org.junit.Rule;
+
+public class WebValueCacheIT extends AbstractValueCacheIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setValueCache(int valueCache) {
+        r.configure(form -> {
+            form.getInputByName("_.valueCache").setValue(String.valueOf(valueCache));
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.valueCacheSize;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractValueCacheSizeIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setValueCacheSize(int valueCacheSize);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getValueCacheSize()).isNull();
+    }
+
+    @Test
+    public void shouldHaveValueCacheSize() {
+        // Given
+        setValueCacheSize(5000);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getValueCacheSize()).isEqualTo(5000);
+    }
+}
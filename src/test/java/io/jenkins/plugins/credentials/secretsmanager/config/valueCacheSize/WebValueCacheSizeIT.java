@@ -0,0 +1,23 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.valueCacheSize;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import org.junit.Rule;
+
+public class WebValueCacheSizeIT extends AbstractValueCacheSizeIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setValueCacheSize(int valueCacheSize) {
+        r.configure(form -> {
+            form.getInputByName("_.valueCacheSize").setValue(String.valueOf(valueCacheSize));
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.valueRateLimit;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractValueRateLimitIT {
+
+    protected abstract PluginConfiguration getPluginConfiguration();
+
+    protected abstract void setValueRateLimit(int valueRateLimit);
+
+    @Test
+    public void shouldHaveDefault() {
+        final var config = getPluginConfiguration();
+
+        assertThat(config.getValueRateLimit()).isNull();
+    }
+
+    @Test
+    public void shouldHaveValueRateLimit() {
+        // Given
+        setValueRateLimit(50);
+
+        // When
+        final var config = getPluginConfiguration();
+
+        // Then
+        assertThat(config.getValueRateLimit()).isEqualTo(50);
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.plugins.credentials.secretsmanager.config.valueRateLimit;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.PluginConfiguration;
+import io.jenkins.plugins.credentials.secretsmanager.util.JenkinsConfiguredWithWebRule;
+import org.junit.Rule;
+
+public class WebValueRateLimitIT extends AbstractValueRateLimitIT {
+
+    @Rule
+    public final JenkinsConfiguredWithWebRule r = new JenkinsConfiguredWithWebRule();
+
+    @Override
+    protected PluginConfiguration getPluginConfiguration() {
+        return (PluginConfiguration) r.jenkins.getDescriptor(PluginConfiguration.class);
+    }
+
+    @Override
+    protected void setValueRateLimit(int valueRateLimit) {
+        r.configure(form -> {
+            form.getInputByName("_.valueRateLimit").setValue(String.valueOf(valueRateLimit));
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package io.jenkins.plugins.credentials.secretsmanager.events;
+
+import net.sf.json.JSONObject;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecretChangeEventsTest {
+
+    private static final String ARN = "arn:aws:secretsmanager:us-east-1:111122223333:secret:foo-AbCdEf";
+
+    @Test
+    public void shouldReadSecretIdFromRequest() {
+        final var event = event("PutSecretValue", new JSONObject().element("secretId", "foo"), null);
+
+        assertThat(SecretChangeEvents.secretIds(event)).containsExactly("foo");
+    }
+
+    @Test
+    public void shouldReadArnFromResponse() {
+        final var event = event("CreateSecret", new JSONObject().element("name", "foo"), new JSONObject().element("arn", ARN));
+
+        assertThat(SecretChangeEvents.secretIds(event)).containsExactly(ARN, "foo");
+    }
+
+    @Test
+    public void shouldUnwrapSnsNotification() {
+        final var event = event("TagResource", new JSONObject().element("secretId", ARN), null);
+        final var notification = new JSONObject()
+                .element("Type", "Notification")
+                .element("Message", event)
+                .toString();
+
+        assertThat(SecretChangeEvents.secretIds(notification)).containsExactly(ARN);
+    }
+
+    @Test
+    public void shouldIgnoreEventsFromOtherServices() {
+        final var event = new JSONObject()
+                .element("source", "aws.s3")
+                .element("detail", new JSONObject()
+                        .element("eventSource", "s3.amazonaws.com")
+                        .element("requestParameters", new JSONObject().element("name", "foo")))
+                .toString();
+
+        assertThat(SecretChangeEvents.secretIds(event)).isEmpty();
+    }
+
+    @Test
+    public void shouldIgnoreInvalidMessages() {
+        assertThat(SecretChangeEvents.secretIds("not json")).isEmpty();
+    }
+
+    private static String event(String eventName, JSONObject requestParameters, JSONObject responseElements) {
+        final var detail = new JSONObject()
+                .element("eventSource", "secretsmanager.amazonaws.com")
+                .element("eventName", eventName)
+                .element("requestParameters", requestParameters);
+        if (responseElements != null) {
+            detail.element("responseElements", responseElements);
+        }
+
+        return new JSONObject()
+                .element("detail-type", "AWS API Call via CloudTrail")
+                .element("source", "aws.secretsmanager")
+                .element("detail", detail)
+                .toString();
+    }
+}
@@ -0,0 +1,43 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class ArnsTest {
+
+    @Test
+    public void shouldSharePrefixes() {
+        final var foo = Arns.prefix(new String("arn:aws:secretsmanager:us-east-1:111122223333:secret:foo-AbCdEf"));
+        final var bar = Arns.prefix(new String("arn:aws:secretsmanager:us-east-1:111122223333:secret:bar-AbCdEf"));
+
+        assertSoftly(s -> {
+            s.assertThat(foo).isEqualTo("arn:aws:secretsmanager:us-east-1:111122223333:secret:");
+            s.assertThat(foo).isSameAs(bar);
+        });
+    }
+
+    @Test
+    public void shouldNotSharePrefixesOfOtherStrings() {
+        assertSoftly(s -> {
+            s.assertThat(Arns.prefix("foo")).isEmpty();
+            s.assertThat(Arns.prefix("secret:foo")).isEmpty();
+            s.assertThat(Arns.prefix(null)).isEmpty();
+        });
+    }
+
+    @Test
+    public void shouldOnlyConvertCanonicalUuids() {
+        final var uuid = UUID.randomUUID();
+
+        assertSoftly(s -> {
+            s.assertThat(Arns.toUuid(uuid.toString())).isEqualTo(uuid);
+            s.assertThat(Arns.toUuid(uuid.toString().toUpperCase())).isNull();
+            s.assertThat(Arns.toUuid("00000000-0000-0000-0000-000000000000")).isNull();
+            s.assertThat(Arns.toUuid("EXAMPLE1-90ab-cdef-fedc-ba987SECRET1")).isNull();
+            s.assertThat(Arns.toUuid(null)).isNull();
+        });
+    }
+}
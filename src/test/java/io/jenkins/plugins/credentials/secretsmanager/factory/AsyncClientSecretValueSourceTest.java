@@ -0,0 +1,118 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import com.cloudbees.plugins.credentials.CredentialsUnavailableException;
+import io.jenkins.plugins.credentials.secretsmanager.Messages;
+import org.junit.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class AsyncClientSecretValueSourceTest {
+
+    private static final String FOO = "arn:aws:secretsmanager:us-east-1:111122223333:secret:foo";
+
+    @Test
+    public void shouldRetrieveSecretValue() {
+        final var source = new AsyncClientSecretValueSource(new MockSecretsManagerAsyncClient(), RateLimiter.unlimited());
+
+        final var value = source.get(FOO, null);
+
+        assertThat(value.match(new SecretValue.Matcher<String>() {
+            @Override
+            public String string(String str) {
+                return str;
+            }
+
+            @Override
+            public String binary(byte[] bytes) {
+                return null;
+            }
+        })).isEqualTo(FOO);
+    }
+
+    @Test
+    public void shouldRequestTheVersion() {
+        final var client = new MockSecretsManagerAsyncClient();
+        final var source = new AsyncClientSecretValueSource(client, RateLimiter.unlimited());
+
+        source.get(FOO, "1");
+
+        assertThat(client.versionIds).containsExactly("1");
+    }
+
+    @Test
+    public void shouldNotWaitForTheRateLimiterOnTheCallingThread() {
+        final var client = new MockSecretsManagerAsyncClient();
+        // One call per second, and the clock never moves, so the second call has to wait for its permit
+        final var source = new AsyncClientSecretValueSource(client, new RateLimiter(() -> 1, () -> 0L));
+
+        final var first = source.getAsync(SecretRef.of(FOO, "1"));
+        final var second = source.getAsync(SecretRef.of(FOO, "2"));
+
+        assertSoftly(s -> {
+            s.assertThat(first).as("First").isDone();
+            s.assertThat(second).as("Second").isNotDone();
+            s.assertThat(client.versionIds).as("Calls").containsExactly("1");
+        });
+
+        second.join();
+
+        assertThat(client.versionIds).containsExactly("1", "2");
+    }
+
+    @Test
+    public void shouldFailFastWhenTheSecretIsNotFound() {
+        final var client = new MockSecretsManagerAsyncClient() {
+            @Override
+            public CompletableFuture<GetSecretValueResponse> getSecretValue(GetSecretValueRequest request) {
+                return CompletableFuture.failedFuture(SecretsManagerException.builder()
+                        .statusCode(400)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("ResourceNotFoundException").build())
+                        .build());
+            }
+        };
+        final var source = new AsyncClientSecretValueSource(client, RateLimiter.unlimited());
+
+        assertThatThrownBy(() -> source.get(FOO, null))
+                .isInstanceOf(CredentialsUnavailableException.class)
+                .hasMessage(Messages.secretNotFoundError(FOO));
+    }
+
+    /**
+     * Returns the ARN of each secret as its value.
+     */
+    private static class MockSecretsManagerAsyncClient implements SecretsManagerAsyncClient {
+
+        final List<String> versionIds = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public CompletableFuture<GetSecretValueResponse> getSecretValue(GetSecretValueRequest request) {
+            versionIds.add(request.versionId());
+            return CompletableFuture.completedFuture(GetSecretValueResponse.builder()
+                    .arn(request.secretId())
+                    .secretString(request.secretId())
+                    .build());
+        }
+
+        @Override
+        public String serviceName() {
+            return "";
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+}
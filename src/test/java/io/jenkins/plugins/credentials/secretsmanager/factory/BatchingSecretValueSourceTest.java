@@ -0,0 +1,316 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import com.cloudbees.plugins.credentials.CredentialsUnavailableException;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.APIErrorType;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretValueEntry;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class BatchingSecretValueSourceTest {
+
+    private static final Duration LONG_WINDOW = Duration.ofMinutes(1);
+    private static final String FOO = "arn:aws:secretsmanager:us-east-1:111122223333:secret:foo";
+    private static final String BAR = "arn:aws:secretsmanager:us-east-1:111122223333:secret:bar";
+    private static final String BAZ = "arn:aws:secretsmanager:us-east-1:111122223333:secret:baz";
+    private static final String SLOW = "arn:aws:secretsmanager:us-east-1:111122223333:secret:slow";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final MockSecretsManagerClient client = new MockSecretsManagerClient();
+
+    @After
+    public void tearDown() {
+        client.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldUseGetSecretValueForSingleRetrieval() throws Exception {
+        final var source = new BatchingSecretValueSource(client, Duration.ofMillis(1), 20);
+        keepBusy(source);
+
+        final var value = source.get(FOO, null);
+
+        assertSoftly(s -> {
+            s.assertThat(string(value)).as("Value").isEqualTo(FOO);
+            s.assertThat(client.singleCalls).as("GetSecretValue calls").containsExactly(FOO);
+            s.assertThat(client.batchCalls).as("BatchGetSecretValue calls").isEmpty();
+        });
+    }
+
+    @Test
+    public void shouldSendLoneRetrievalWithoutWaitingForTheWindow() {
+        final var source = new BatchingSecretValueSource(client, LONG_WINDOW, 20);
+
+        final var start = System.nanoTime();
+        final var value = source.get(FOO, null);
+        final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertSoftly(s -> {
+            s.assertThat(string(value)).as("Value").isEqualTo(FOO);
+            s.assertThat(elapsed).as("Elapsed").isLessThan(LONG_WINDOW);
+            s.assertThat(client.singleCalls).as("GetSecretValue calls").containsExactly(FOO);
+        });
+    }
+
+    @Test
+    public void shouldCoalesceConcurrentRetrievalsIntoOneBatch() throws Exception {
+        final var source = new BatchingSecretValueSource(client, LONG_WINDOW, 3);
+        keepBusy(source);
+
+        final var values = getConcurrently(source, FOO, BAR, BAZ);
+
+        assertSoftly(s -> {
+            s.assertThat(values).as("Values").containsExactly(FOO, BAR, BAZ);
+            s.assertThat(client.batchCalls).as("BatchGetSecretValue calls").containsExactly(Set.of(FOO, BAR, BAZ));
+            s.assertThat(client.singleCalls).as("GetSecretValue calls").isEmpty();
+        });
+    }
+
+    @Test
+    public void shouldFailRetrievalsThatTheBatchReportsAsErrors() throws Exception {
+        client.errors.add(BAR);
+        final var source = new BatchingSecretValueSource(client, LONG_WINDOW, 2);
+        keepBusy(source);
+
+        final var foo = executor.submit(() -> source.get(FOO, null));
+        final var bar = executor.submit(() -> source.get(BAR, null));
+
+        assertThat(string(foo.get())).isEqualTo(FOO);
+        assertThatThrownBy(bar::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(CredentialsUnavailableException.class);
+    }
+
+    @Test
+    public void shouldRetryThrottledBatchEntriesOnTheirOwn() throws Exception {
+        client.throttled.add(BAR);
+        final var source = new BatchingSecretValueSource(client, LONG_WINDOW, 2);
+        keepBusy(source);
+
+        final var values = getConcurrently(source, FOO, BAR);
+
+        assertSoftly(s -> {
+            s.assertThat(values).as("Values").containsExactly(FOO, BAR);
+            s.assertThat(client.batchCalls).as("BatchGetSecretValue calls").containsExactly(Set.of(FOO, BAR));
+            s.assertThat(client.singleCalls).as("GetSecretValue calls").containsExactly(BAR);
+        });
+    }
+
+    @Test
+    public void shouldRetrieveOtherVersionsOnTheirOwn() throws Exception {
+        final var source = new BatchingSecretValueSource(client, LONG_WINDOW, 2);
+        keepBusy(source);
+
+        final var foo = executor.submit(() -> source.get(FOO, MockSecretsManagerClient.CURRENT_VERSION));
+        final var bar = executor.submit(() -> source.get(BAR, "previous"));
+        final var fooValue = string(foo.get());
+        final var barValue = string(bar.get());
+
+        assertSoftly(s -> {
+            s.assertThat(fooValue).as("Current version").isEqualTo(FOO);
+            s.assertThat(barValue).as("Other version").isEqualTo(BAR);
+            s.assertThat(client.batchCalls).as("BatchGetSecretValue calls").containsExactly(Set.of(FOO, BAR));
+            s.assertThat(client.singleCalls).as("GetSecretValue calls").containsExactly(BAR);
+            s.assertThat(client.singleVersions).as("GetSecretValue versions").containsExactly("previous");
+        });
+    }
+
+    @Test
+    public void shouldRetryThrottledBatchOneAtATime() throws Exception {
+        client.batchThrottled = true;
+        final var source = new BatchingSecretValueSource(client, LONG_WINDOW, 2);
+        keepBusy(source);
+
+        final var values = getConcurrently(source, FOO, BAR);
+
+        assertSoftly(s -> {
+            s.assertThat(values).as("Values").containsExactly(FOO, BAR);
+            s.assertThat(client.batchCalls).as("BatchGetSecretValue calls").containsExactly(Set.of(FOO, BAR));
+            s.assertThat(client.singleCalls).as("GetSecretValue calls").containsExactlyInAnyOrder(FOO, BAR);
+        });
+    }
+
+    @Test
+    public void shouldFailBatchThatCouldNotBeSentLikeSingleRetrieval() throws Exception {
+        client.batchUnreachable = true;
+        final var source = new BatchingSecretValueSource(client, LONG_WINDOW, 2);
+        keepBusy(source);
+
+        final var foo = executor.submit(() -> source.get(FOO, null));
+        final var bar = executor.submit(() -> source.get(BAR, null));
+
+        assertSoftly(s -> {
+            s.assertThatThrownBy(foo::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(CredentialsUnavailableException.class);
+            s.assertThatThrownBy(bar::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(CredentialsUnavailableException.class);
+        });
+    }
+
+    @Test
+    public void shouldStopBatchingWhenBatchGetSecretValueIsDenied() throws Exception {
+        client.batchDenied = true;
+        final var source = new BatchingSecretValueSource(client, LONG_WINDOW, 2);
+        keepBusy(source);
+
+        final var values = getConcurrently(source, FOO, BAR);
+        source.get(BAZ, null);
+
+        assertSoftly(s -> {
+            s.assertThat(values).as("Values").containsExactly(FOO, BAR);
+            s.assertThat(client.batchCalls).as("BatchGetSecretValue calls").hasSize(1);
+            s.assertThat(client.singleCalls).as("GetSecretValue calls").containsExactlyInAnyOrder(FOO, BAR, BAZ);
+        });
+    }
+
+    /**
+     * Keep one retrieval in flight, so that the retrievals after it are batched.
+     */
+    private void keepBusy(SecretValueSource source) throws InterruptedException {
+        executor.submit(() -> source.get(SLOW, null));
+        client.slowStarted.await();
+    }
+
+    private List<String> getConcurrently(SecretValueSource source, String... arns) throws Exception {
+        final List<Future<SecretValue>> futures = new ArrayList<>();
+        for (String arn : arns) {
+            futures.add(executor.submit(() -> source.get(arn, null)));
+        }
+
+        final List<String> values = new ArrayList<>();
+        for (Future<SecretValue> future : futures) {
+            values.add(string(future.get()));
+        }
+        return values;
+    }
+
+    private static String string(SecretValue value) {
+        return value.match(new SecretValue.Matcher<>() {
+            @Override
+            public String string(String str) {
+                return str;
+            }
+
+            @Override
+            public String binary(byte[] bytes) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Returns the ARN of each secret as its value.
+     */
+    private static class MockSecretsManagerClient implements SecretsManagerClient {
+
+        static final String CURRENT_VERSION = "current";
+
+        final List<String> singleCalls = Collections.synchronizedList(new ArrayList<>());
+        final List<String> singleVersions = Collections.synchronizedList(new ArrayList<>());
+        final List<Set<String>> batchCalls = Collections.synchronizedList(new ArrayList<>());
+        final Set<String> errors = Collections.synchronizedSet(new HashSet<>());
+        final Set<String> throttled = Collections.synchronizedSet(new HashSet<>());
+        volatile boolean batchDenied = false;
+        volatile boolean batchThrottled = false;
+        volatile boolean batchUnreachable = false;
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public GetSecretValueResponse getSecretValue(GetSecretValueRequest request) {
+            if (SLOW.equals(request.secretId())) {
+                slowStarted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return GetSecretValueResponse.builder().arn(SLOW).secretString(SLOW).build();
+            }
+
+            singleCalls.add(request.secretId());
+            if (request.versionId() != null) {
+                singleVersions.add(request.versionId());
+            }
+            return GetSecretValueResponse.builder()
+                    .arn(request.secretId())
+                    .secretString(request.secretId())
+                    .build();
+        }
+
+        @Override
+        public BatchGetSecretValueResponse batchGetSecretValue(BatchGetSecretValueRequest request) {
+            batchCalls.add(Set.copyOf(request.secretIdList()));
+
+            if (batchDenied) {
+                throw SecretsManagerException.builder()
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("AccessDeniedException").build())
+                        .build();
+            }
+
+            if (batchUnreachable) {
+                throw SdkClientException.create("Unable to execute HTTP request: Connect timed out");
+            }
+
+            if (batchThrottled) {
+                throw SecretsManagerException.builder()
+                        .statusCode(400)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                        .build();
+            }
+
+            final var values = request.secretIdList().stream()
+                    .filter(id -> !errors.contains(id) && !throttled.contains(id))
+                    .map(id -> SecretValueEntry.builder().arn(id).versionId(CURRENT_VERSION).secretString(id).build())
+                    .collect(Collectors.toList());
+            final List<APIErrorType> errorTypes = new ArrayList<>();
+            request.secretIdList().stream()
+                    .filter(errors::contains)
+                    .map(id -> APIErrorType.builder().secretId(id).errorCode("ResourceNotFoundException").message("Secrets Manager can't find the specified secret.").build())
+                    .forEach(errorTypes::add);
+            request.secretIdList().stream()
+                    .filter(throttled::contains)
+                    .map(id -> APIErrorType.builder().secretId(id).errorCode("ThrottlingException").message("Rate exceeded").build())
+                    .forEach(errorTypes::add);
+
+            return BatchGetSecretValueResponse.builder()
+                    .secretValues(values)
+                    .errors(errorTypes)
+                    .build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "";
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+}
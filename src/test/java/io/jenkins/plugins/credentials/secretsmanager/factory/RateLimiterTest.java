@@ -0,0 +1,81 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class RateLimiterTest {
+
+    private final AtomicLong ticker = new AtomicLong(0);
+
+    @Test
+    public void shouldNotWaitWithoutLimit() {
+        final var limiter = new RateLimiter(() -> 0, ticker::get);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.reserve()).isZero();
+        }
+    }
+
+    @Test
+    public void shouldSpaceOutCallsAtTheRate() {
+        final var limiter = new RateLimiter(() -> 10, ticker::get);
+
+        assertSoftly(s -> {
+            s.assertThat(limiter.reserve()).as("First call").isZero();
+            s.assertThat(limiter.reserve()).as("Second call").isEqualTo(millis(100));
+            s.assertThat(limiter.reserve()).as("Third call").isEqualTo(millis(200));
+        });
+    }
+
+    @Test
+    public void shouldAllowBurstAfterIdling() {
+        final var limiter = new RateLimiter(() -> 10, ticker::get);
+        limiter.reserve();
+
+        advance(Duration.ofSeconds(5));
+
+        assertSoftly(s -> {
+            // One second's worth of permits builds up (however long the limiter was idle), on top of the permit that is due now
+            for (int i = 0; i < 11; i++) {
+                s.assertThat(limiter.reserve()).as("Call %d of the burst", i + 1).isZero();
+            }
+            s.assertThat(limiter.reserve()).as("Call after the burst").isEqualTo(millis(100));
+        });
+    }
+
+    @Test
+    public void shouldNotWaitOnceTheSlotHasPassed() {
+        final var limiter = new RateLimiter(() -> 10, ticker::get);
+        limiter.reserve();
+        limiter.reserve();
+
+        advance(Duration.ofMillis(200));
+
+        assertThat(limiter.reserve()).isZero();
+    }
+
+    @Test
+    public void shouldApplyRateChangesStraightAway() {
+        final var rate = new AtomicInteger(10);
+        final var limiter = new RateLimiter(rate::get, ticker::get);
+        limiter.reserve();
+
+        rate.set(0);
+
+        assertThat(limiter.reserve()).isZero();
+    }
+
+    private void advance(Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+}
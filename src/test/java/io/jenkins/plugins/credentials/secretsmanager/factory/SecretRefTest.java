@@ -0,0 +1,54 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class SecretRefTest {
+
+    private static final String FOO = "arn:aws:secretsmanager:us-east-1:111122223333:secret:foo-AbCdEf";
+    private static final String VERSION = "a1b2c3d4-5678-90ab-cdef-000000011111";
+
+    @Test
+    public void shouldRoundTripArnAndVersionId() {
+        final var ref = SecretRef.of(FOO, VERSION);
+
+        assertSoftly(s -> {
+            s.assertThat(ref.getArn()).isEqualTo(FOO);
+            s.assertThat(ref.getVersionId()).isEqualTo(VERSION);
+            s.assertThat(SecretRef.of(FOO, "not-a-uuid").getVersionId()).isEqualTo("not-a-uuid");
+            s.assertThat(SecretRef.of(FOO, null).getVersionId()).isNull();
+            s.assertThat(SecretRef.of("foo", null).getArn()).isEqualTo("foo");
+        });
+    }
+
+    @Test
+    public void shouldDropVersionId() {
+        assertSoftly(s -> {
+            s.assertThat(SecretRef.of(FOO, VERSION).withoutVersionId()).isEqualTo(SecretRef.of(FOO, null));
+            s.assertThat(SecretRef.of(FOO, "not-a-uuid").withoutVersionId().hasVersionId()).isFalse();
+        });
+    }
+
+    @Test
+    public void shouldCompareWithoutJoiningStrings() {
+        assertSoftly(s -> {
+            s.assertThat(SecretRef.of(FOO, VERSION)).isEqualTo(SecretRef.of(new String(FOO), new String(VERSION)));
+            s.assertThat(SecretRef.of(FOO, VERSION)).hasSameHashCodeAs(SecretRef.of(new String(FOO), new String(VERSION)));
+            s.assertThat(SecretRef.of(FOO, VERSION)).isNotEqualTo(SecretRef.of(FOO, null));
+            s.assertThat(SecretRef.of(FOO, "1")).isNotEqualTo(SecretRef.of(FOO, "2"));
+            s.assertThat(SecretRef.of(FOO, null)).isNotEqualTo(SecretRef.of(FOO.replace("foo", "bar"), null));
+        });
+    }
+
+    @Test
+    public void shouldMatchNameWithOrWithoutSuffix() {
+        assertSoftly(s -> {
+            s.assertThat(SecretArn.of(FOO).hasName("foo")).isTrue();
+            s.assertThat(SecretArn.of(FOO).hasName("foo-AbCdEf")).isTrue();
+            s.assertThat(SecretArn.of(FOO).hasName("fo")).isFalse();
+            s.assertThat(SecretArn.of(FOO).hasName("bar")).isFalse();
+            s.assertThat(SecretArn.of(FOO.replace("foo", "foo-bar")).hasName("foo")).isFalse();
+        });
+    }
+}
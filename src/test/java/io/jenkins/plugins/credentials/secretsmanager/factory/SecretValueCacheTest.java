@@ -0,0 +1,218 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class SecretValueCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final String FOO = "arn:aws:secretsmanager:us-east-1:111122223333:secret:foo";
+    private static final String BAR = "arn:aws:secretsmanager:us-east-1:111122223333:secret:bar";
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final CountingSource source = new CountingSource();
+
+    @Test
+    public void shouldBypassCacheWhenDisabled() {
+        final var values = new SecretValueCache(() -> Duration.ZERO, () -> 10, ticker::read).wrap(source);
+
+        values.get(FOO, "1");
+        values.get(FOO, "1");
+
+        assertThat(source.calls).containsExactly(FOO, FOO);
+    }
+
+    @Test
+    public void shouldRetrieveCurrentVersionWhenDisabled() {
+        final var values = new SecretValueCache(() -> Duration.ZERO, () -> 10, ticker::read).wrap(source);
+
+        values.get(FOO, "1");
+
+        assertThat(source.versionIds).containsExactly((String) null);
+    }
+
+    @Test
+    public void shouldRetrieveCachedVersionWhenEnabled() {
+        final var values = cache(10).wrap(source);
+
+        values.get(FOO, "1");
+
+        assertThat(source.versionIds).containsExactly("1");
+    }
+
+    @Test
+    public void shouldServeValueFromCache() {
+        final var values = cache(10).wrap(source);
+
+        final var first = values.get(FOO, "1");
+        ticker.advance(TTL.minusSeconds(1));
+        final var second = values.get(FOO, "1");
+
+        assertSoftly(s -> {
+            s.assertThat(string(second)).as("Value").isEqualTo(string(first));
+            s.assertThat(source.calls).as("Calls").containsExactly(FOO);
+        });
+    }
+
+    @Test
+    public void shouldServeAsyncRetrievalFromCache() {
+        final var values = cache(10).wrap(source);
+
+        final var first = values.getAsync(SecretRef.of(FOO, "1")).join();
+        final var second = values.getAsync(SecretRef.of(FOO, "1")).join();
+
+        assertSoftly(s -> {
+            s.assertThat(string(second)).as("Value").isEqualTo(string(first));
+            s.assertThat(source.calls).as("Calls").containsExactly(FOO);
+        });
+    }
+
+    @Test
+    public void shouldExpireValue() {
+        final var values = cache(10).wrap(source);
+
+        values.get(FOO, "1");
+        ticker.advance(TTL);
+        values.get(FOO, "1");
+
+        assertThat(source.calls).containsExactly(FOO, FOO);
+    }
+
+    @Test
+    public void shouldCacheEachVersionSeparately() {
+        final var values = cache(10).wrap(source);
+
+        values.get(FOO, "1");
+        values.get(FOO, "2");
+
+        assertThat(source.calls).containsExactly(FOO, FOO);
+    }
+
+    @Test
+    public void shouldCacheEachSecretSeparately() {
+        final var values = cache(10).wrap(source);
+
+        final var foo = values.get(FOO, "1");
+        final var bar = values.get(BAR, "1");
+
+        assertSoftly(s -> {
+            s.assertThat(string(foo)).as("Foo").isEqualTo(FOO);
+            s.assertThat(string(bar)).as("Bar").isEqualTo(BAR);
+        });
+    }
+
+    @Test
+    public void shouldCacheBinaryValue() {
+        final SecretValueSource binarySource = secret -> SecretValue.binary(new byte[] {0x01, 0x02, 0x03});
+        final var values = cache(10).wrap(binarySource);
+
+        values.get(FOO, "1");
+        final var value = values.get(FOO, "1");
+
+        assertThat(bytes(value)).containsExactly(0x01, 0x02, 0x03);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedValue() {
+        final var cache = cache(2);
+        final var values = cache.wrap(source);
+
+        values.get(FOO, "1");
+        values.get(BAR, "1");
+        values.get(FOO, "1");
+        values.get(BAR, "2");
+        values.get(FOO, "1");
+        values.get(BAR, "1");
+
+        assertSoftly(s -> {
+            s.assertThat(cache.size()).as("Size").isEqualTo(2);
+            s.assertThat(source.calls).as("Calls").containsExactly(FOO, BAR, BAR, BAR);
+        });
+    }
+
+    @Test
+    public void shouldEvictDownToReducedMaximumSize() {
+        final var maximumSize = new AtomicInteger(3);
+        final var cache = new SecretValueCache(() -> TTL, maximumSize::get, ticker::read);
+        final var values = cache.wrap(source);
+
+        values.get(FOO, "1");
+        values.get(BAR, "1");
+        values.get(FOO, "2");
+        maximumSize.set(1);
+        values.get(BAR, "2");
+
+        assertSoftly(s -> {
+            s.assertThat(cache.size()).as("Size").isEqualTo(1);
+            s.assertThat(source.calls).as("Calls").containsExactly(FOO, BAR, FOO, BAR);
+        });
+    }
+
+    @Test
+    public void shouldNotCacheFailures() {
+        final var cache = cache(10);
+        final SecretValueSource failingSource = secret -> {
+            throw new IllegalStateException("Secret is empty");
+        };
+        final var values = cache.wrap(failingSource);
+
+        assertThatThrownBy(() -> values.get(FOO, "1"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    private SecretValueCache cache(int maximumSize) {
+        return new SecretValueCache(() -> TTL, () -> maximumSize, ticker::read);
+    }
+
+    private static String string(SecretValue value) {
+        return new String(bytes(value), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(SecretValue value) {
+        return value.match(new SecretValue.Matcher<>() {
+            @Override
+            public byte[] string(String str) {
+                return str.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public byte[] binary(byte[] bytes) {
+                return bytes;
+            }
+        });
+    }
+
+    private static class CountingSource implements SecretValueSource {
+        final List<String> calls = new ArrayList<>();
+        final List<String> versionIds = new ArrayList<>();
+
+        @Override
+        public SecretValue get(SecretRef secret) {
+            calls.add(secret.getArn());
+            versionIds.add(secret.getVersionId());
+            return SecretValue.string(secret.getArn());
+        }
+    }
+
+    private static class FakeTicker {
+        long nanos = 0;
+
+        long read() {
+            return nanos;
+        }
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+    }
+}
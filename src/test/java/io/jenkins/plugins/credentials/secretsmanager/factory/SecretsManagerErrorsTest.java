@@ -0,0 +1,47 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import io.jenkins.plugins.credentials.secretsmanager.Messages;
+import org.junit.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import static io.jenkins.plugins.credentials.secretsmanager.factory.SecretsManagerErrors.Kind;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class SecretsManagerErrorsTest {
+
+    private static final String FOO = "arn:aws:secretsmanager:us-east-1:111122223333:secret:foo";
+
+    @Test
+    public void shouldClassifyErrorCodes() {
+        assertSoftly(s -> {
+            s.assertThat(SecretsManagerErrors.classify("ThrottlingException")).as("Throttling").isEqualTo(Kind.THROTTLED);
+            s.assertThat(SecretsManagerErrors.classify("ResourceNotFoundException")).as("Not found").isEqualTo(Kind.NOT_FOUND);
+            s.assertThat(SecretsManagerErrors.classify("AccessDeniedException")).as("Access denied").isEqualTo(Kind.ACCESS_DENIED);
+            s.assertThat(SecretsManagerErrors.classify("DecryptionFailure")).as("Decryption failure").isEqualTo(Kind.ACCESS_DENIED);
+            s.assertThat(SecretsManagerErrors.classify("InternalServiceError")).as("Other").isEqualTo(Kind.OTHER);
+            s.assertThat(SecretsManagerErrors.classify((String) null)).as("No code").isEqualTo(Kind.OTHER);
+        });
+    }
+
+    @Test
+    public void shouldClassifyExceptions() {
+        final var e = SecretsManagerException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ResourceNotFoundException").build())
+                .build();
+
+        assertThat(SecretsManagerErrors.classify(e)).isEqualTo(Kind.NOT_FOUND);
+    }
+
+    @Test
+    public void shouldSayWhyTheCredentialIsUnavailable() {
+        assertSoftly(s -> {
+            s.assertThat(SecretsManagerErrors.toException(FOO, Kind.THROTTLED)).as("Throttling").hasMessage(Messages.secretThrottledError(FOO));
+            s.assertThat(SecretsManagerErrors.toException(FOO, Kind.NOT_FOUND)).as("Not found").hasMessage(Messages.secretNotFoundError(FOO));
+            s.assertThat(SecretsManagerErrors.toException(FOO, Kind.ACCESS_DENIED)).as("Access denied").hasMessage(Messages.secretAccessDeniedError(FOO));
+            s.assertThat(SecretsManagerErrors.toException(FOO, Kind.OTHER)).as("Other").hasMessage(Messages.couldNotRetrieveCredentialError(FOO));
+        });
+    }
+}
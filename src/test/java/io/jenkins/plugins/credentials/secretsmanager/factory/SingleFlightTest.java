@@ -0,0 +1,177 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class SingleFlightTest {
+
+    private static final String FOO = "arn:aws:secretsmanager:us-east-1:111122223333:secret:foo";
+    private static final String BAR = "arn:aws:secretsmanager:us-east-1:111122223333:secret:bar";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldShareOneCallBetweenConcurrentRetrievals() throws Exception {
+        final var source = new BlockingSource();
+        final var values = singleFlight.wrap(source);
+
+        final List<Future<SecretValue>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> values.get(FOO, null)));
+        source.started.await(10, TimeUnit.SECONDS);
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> values.get(FOO, null)));
+        }
+        awaitWaiters(4);
+        source.release.countDown();
+
+        for (Future<SecretValue> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertSoftly(s -> {
+            s.assertThat(source.calls.get()).as("Calls").isEqualTo(1);
+            s.assertThat(singleFlight.size()).as("In flight").isZero();
+        });
+    }
+
+    @Test
+    public void shouldShareOneAsyncCallWithoutBlocking() {
+        final var call = new CompletableFuture<SecretValue>();
+        final var calls = new AtomicInteger();
+        final var values = singleFlight.wrap(new SecretValueSource() {
+            @Override
+            public SecretValue get(SecretRef secret) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<SecretValue> getAsync(SecretRef secret) {
+                calls.incrementAndGet();
+                return call;
+            }
+        });
+
+        final var first = values.getAsync(SecretRef.of(FOO, null));
+        final var second = values.getAsync(SecretRef.of(FOO, null));
+
+        assertSoftly(s -> {
+            s.assertThat(first).as("First").isNotDone();
+            s.assertThat(second).as("Second").isNotDone();
+            s.assertThat(singleFlight.size()).as("In flight").isEqualTo(1);
+        });
+
+        call.complete(SecretValue.string(FOO));
+
+        assertSoftly(s -> {
+            s.assertThat(first).as("First").isCompleted();
+            s.assertThat(second).as("Second").isCompleted();
+            s.assertThat(calls.get()).as("Calls").isEqualTo(1);
+            s.assertThat(singleFlight.size()).as("In flight").isZero();
+        });
+    }
+
+    @Test
+    public void shouldNotShareCallsBetweenSecrets() {
+        final var source = new CountingSource();
+        final var values = singleFlight.wrap(source);
+
+        values.get(FOO, null);
+        values.get(BAR, null);
+
+        assertThat(source.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldMakeNewCallOnceTheLastOneCompleted() {
+        final var source = new CountingSource();
+        final var values = singleFlight.wrap(source);
+
+        values.get(FOO, null);
+        values.get(FOO, null);
+
+        assertThat(source.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldShareFailures() throws Exception {
+        final var source = new BlockingSource();
+        source.failure = new IllegalStateException("denied");
+        final var values = singleFlight.wrap(source);
+
+        final var first = executor.submit(() -> values.get(FOO, null));
+        source.started.await(10, TimeUnit.SECONDS);
+        final var second = executor.submit(() -> values.get(FOO, null));
+        awaitWaiters(1);
+        source.release.countDown();
+
+        assertSoftly(s -> {
+            s.assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+            s.assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+            s.assertThat(source.calls.get()).as("Calls").isEqualTo(1);
+        });
+        assertThatThrownBy(() -> values.get(BAR, null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * There is no hook for "a retrieval is waiting on the call", so give the waiters a moment to join it.
+     */
+    private static void awaitWaiters(int waiters) throws InterruptedException {
+        Thread.sleep(100L * waiters);
+    }
+
+    private static class CountingSource implements SecretValueSource {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public SecretValue get(SecretRef secret) {
+            calls.incrementAndGet();
+            return SecretValue.string(secret.getArn());
+        }
+    }
+
+    private static class BlockingSource implements SecretValueSource {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile RuntimeException failure;
+
+        @Override
+        public SecretValue get(SecretRef secret) {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return SecretValue.string(secret.getArn());
+        }
+    }
+}
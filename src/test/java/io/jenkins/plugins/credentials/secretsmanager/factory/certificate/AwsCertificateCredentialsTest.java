@@ -0,0 +1,61 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory.certificate;
+
+import com.cloudbees.plugins.credentials.SecretBytes;
+import io.jenkins.plugins.credentials.secretsmanager.util.Crypto;
+import org.junit.Test;
+
+import java.security.KeyPair;
+import java.security.cert.Certificate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class AwsCertificateCredentialsTest {
+
+    private static final String ALIAS = "test";
+    private static final KeyPair KEY_PAIR = Crypto.newKeyPair();
+    private static final char[] PASSWORD = new char[]{};
+    private static final byte[] KEY_STORE = Crypto.save(Crypto.singletonKeyStore(ALIAS, KEY_PAIR.getPrivate(), PASSWORD,
+            new Certificate[]{Crypto.newSelfSignedCertificate("CN=localhost", KEY_PAIR)}), PASSWORD);
+
+    @Test
+    public void shouldOnlyRetrieveVersionedKeyStoreOnce() {
+        final var secret = new CountingSecret();
+        final var credentials = new AwsCertificateCredentials("foo", "", secret, true);
+
+        final var first = credentials.getKeyStore();
+        final var second = credentials.getKeyStore();
+
+        assertSoftly(s -> {
+            s.assertThat(second).as("Key store").isSameAs(first);
+            s.assertThat(secret.calls.get()).as("Retrievals").isEqualTo(1);
+        });
+    }
+
+    @Test
+    public void shouldRetrieveUnversionedKeyStoreEveryTime() {
+        final var secret = new CountingSecret();
+        final var credentials = new AwsCertificateCredentials("foo", "", secret, false);
+
+        final var first = credentials.getKeyStore();
+        final var second = credentials.getKeyStore();
+
+        assertSoftly(s -> {
+            // The value has not changed, so it is not loaded again
+            s.assertThat(second).as("Key store").isSameAs(first);
+            s.assertThat(secret.calls.get()).as("Retrievals").isEqualTo(2);
+        });
+    }
+
+    private static class CountingSecret implements Supplier<SecretBytes> {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public SecretBytes get() {
+            calls.incrementAndGet();
+            return SecretBytes.fromBytes(KEY_STORE);
+        }
+    }
+}
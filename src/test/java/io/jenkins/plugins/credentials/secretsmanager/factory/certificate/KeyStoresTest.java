@@ -0,0 +1,102 @@
+package io.jenkins.plugins.credentials.secretsmanager.factory.certificate;
+
+import io.jenkins.plugins.credentials.secretsmanager.util.Crypto;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.cert.Certificate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class KeyStoresTest {
+
+    private static final String ALIAS = "test";
+    private static final KeyPair KEY_PAIR = Crypto.newKeyPair();
+    private static final char[] PASSWORD = new char[]{};
+    private static final Certificate CERTIFICATE = Crypto.newSelfSignedCertificate("CN=localhost", KEY_PAIR);
+
+    @Test
+    public void shouldLoadPkcs12KeyStore() throws Exception {
+        final var data = Crypto.save(Crypto.singletonKeyStore(ALIAS, KEY_PAIR.getPrivate(), PASSWORD, new Certificate[]{CERTIFICATE}), PASSWORD);
+
+        final var keyStore = KeyStores.load(data);
+
+        final var s = new SoftAssertions();
+        s.assertThat(keyStore.getCertificateChain(ALIAS)).containsExactly(CERTIFICATE);
+        s.assertThat(keyStore.getKey(ALIAS, PASSWORD)).isEqualTo(KEY_PAIR.getPrivate());
+        s.assertAll();
+    }
+
+    @Test
+    public void shouldLoadPemBundle() throws Exception {
+        final var pem = pem("PRIVATE KEY", KEY_PAIR.getPrivate().getEncoded()) + pem("CERTIFICATE", CERTIFICATE.getEncoded());
+
+        final var keyStore = KeyStores.load(pem.getBytes(StandardCharsets.UTF_8));
+
+        final var s = new SoftAssertions();
+        s.assertThat(keyStore.getCertificateChain(KeyStores.PEM_ALIAS)).containsExactly(CERTIFICATE);
+        s.assertThat(keyStore.getKey(KeyStores.PEM_ALIAS, PASSWORD)).isEqualTo(KEY_PAIR.getPrivate());
+        s.assertAll();
+    }
+
+    @Test
+    public void shouldLoadPemBundleWithRsaPrivateKey() throws Exception {
+        // Written as a PKCS#1 'RSA PRIVATE KEY'
+        final var pem = Crypto.save(KEY_PAIR.getPrivate()) + pem("CERTIFICATE", CERTIFICATE.getEncoded());
+
+        final var keyStore = KeyStores.load(pem.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(keyStore.getKey(KeyStores.PEM_ALIAS, PASSWORD)).isEqualTo(KEY_PAIR.getPrivate());
+    }
+
+    @Test
+    public void shouldNotLoadPemBundleWithoutPrivateKey() throws Exception {
+        final var pem = pem("CERTIFICATE", CERTIFICATE.getEncoded());
+
+        assertThatThrownBy(() -> KeyStores.load(pem.getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(KeyStoreException.class);
+    }
+
+    @Test
+    public void shouldNotLoadMalformedKeyStore() {
+        assertThatThrownBy(() -> KeyStores.load(new byte[]{0x00, 0x01}))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldNotChangeKeyStoreThroughView() throws Exception {
+        final KeyStore keyStore = Crypto.singletonKeyStore(ALIAS, KEY_PAIR.getPrivate(), PASSWORD, new Certificate[]{CERTIFICATE});
+
+        final var view = KeyStores.readOnly(keyStore);
+
+        final var s = new SoftAssertions();
+        s.assertThatThrownBy(() -> view.deleteEntry(ALIAS)).isInstanceOf(KeyStoreException.class);
+        s.assertThatThrownBy(() -> view.setCertificateEntry("foo", CERTIFICATE)).isInstanceOf(KeyStoreException.class);
+        s.assertThat(view.getCertificate(ALIAS)).isEqualTo(CERTIFICATE);
+        s.assertThat(view.size()).isEqualTo(1);
+        s.assertAll();
+        assertThat(keyStore.containsAlias(ALIAS)).isTrue();
+    }
+
+    @Test
+    public void shouldDigestEqualValuesEqually() {
+        assertSoftly(s -> {
+            s.assertThat(KeyStores.digest(new byte[]{1, 2})).isEqualTo(KeyStores.digest(new byte[]{1, 2}));
+            s.assertThat(KeyStores.digest(new byte[]{1, 2})).isNotEqualTo(KeyStores.digest(new byte[]{2, 1}));
+        });
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,62 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class HistogramTest {
+
+    @Test
+    public void shouldBeEmptyAtFirst() {
+        final var histogram = new Histogram();
+
+        assertThat(histogram.getValues())
+                .containsEntry("count", 0L)
+                .containsEntry("mean", 0.0)
+                .containsEntry("p99", 0L)
+                .containsEntry("max", 0L);
+    }
+
+    @Test
+    public void shouldSummarizeValues() {
+        final var histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertSoftly(s -> {
+            s.assertThat(histogram.getCount()).as("Count").isEqualTo(100);
+            s.assertThat(histogram.getMean()).as("Mean").isEqualTo(50.5);
+            s.assertThat(histogram.getMax()).as("Max").isEqualTo(100);
+            s.assertThat(histogram.getPercentile(0.5)).as("p50").isEqualTo(50);
+            s.assertThat(histogram.getPercentile(0.95)).as("p95").isEqualTo(100);
+        });
+    }
+
+    @Test
+    public void shouldReportPercentilesAsTheirBucketUpperBound() {
+        final var histogram = new Histogram();
+        histogram.record(3);
+        histogram.record(30);
+        histogram.record(300);
+        histogram.record(3000);
+
+        assertSoftly(s -> {
+            s.assertThat(histogram.getPercentile(0.25)).as("p25").isEqualTo(5);
+            s.assertThat(histogram.getPercentile(0.5)).as("p50").isEqualTo(50);
+            s.assertThat(histogram.getPercentile(1.0)).as("p100").isEqualTo(3000);
+        });
+    }
+
+    @Test
+    public void shouldTreatNegativeValuesAsZero() {
+        final var histogram = new Histogram();
+        histogram.record(-5);
+
+        assertSoftly(s -> {
+            s.assertThat(histogram.getCount()).as("Count").isEqualTo(1);
+            s.assertThat(histogram.getMax()).as("Max").isEqualTo(0);
+        });
+    }
+}
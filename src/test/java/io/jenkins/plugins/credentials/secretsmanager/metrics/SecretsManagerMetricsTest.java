@@ -0,0 +1,121 @@
+package io.jenkins.plugins.credentials.secretsmanager.metrics;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.factory.file.AwsFileCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.factory.string.AwsStringCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.util.FakeSecretsManager;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class SecretsManagerMetricsTest {
+
+    @Rule
+    public final FakeSecretsManager secretsManager = new FakeSecretsManager();
+
+    private final SecretsManagerMetrics metrics = new SecretsManagerMetrics();
+
+    @Test
+    public void shouldRecordRefresh() {
+        metrics.recordRefresh(Duration.ofMillis(40), 3, 250);
+
+        assertSoftly(s -> {
+            s.assertThat(metrics.getValue("refresh.duration.count")).as("Refreshes").isEqualTo(1L);
+            s.assertThat(metrics.getValue("refresh.duration.max")).as("Duration").isEqualTo(40L);
+            s.assertThat(metrics.getValue("refresh.pages.max")).as("Pages").isEqualTo(3L);
+            s.assertThat(metrics.getValue("secrets")).as("Secrets").isEqualTo(250L);
+        });
+    }
+
+    @Test
+    public void shouldRecordWarmUp() {
+        metrics.recordWarmUp(Duration.ofMillis(1500), 4);
+
+        assertSoftly(s -> {
+            s.assertThat(metrics.getValue("warmUp.duration")).as("Duration").isEqualTo(1500L);
+            s.assertThat(metrics.getValue("warmUp.prefetched")).as("Prefetched").isEqualTo(4L);
+        });
+    }
+
+    @Test
+    public void shouldCountCredentialsByType() {
+        final List<StandardCredentials> credentials = List.of(
+                new AwsStringCredentials("foo", "", () -> null),
+                new AwsStringCredentials("bar", "", () -> null),
+                new AwsFileCredentials("baz", "", "baz.txt", () -> null));
+
+        metrics.recordCredentials(credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(metrics.getValue("credentials.string")).as("Strings").isEqualTo(2L);
+            s.assertThat(metrics.getValue("credentials.file")).as("Files").isEqualTo(1L);
+            s.assertThat(metrics.getValue("credentials.certificate")).as("Certificates").isEqualTo(0L);
+        });
+    }
+
+    @Test
+    public void shouldListEveryValueUpFront() {
+        assertThat(metrics.getValues().keySet())
+                .contains("refresh.duration.p95", "credentials.age", "valueCache.hits", "api.ListSecrets.throttles")
+                .allSatisfy(name -> assertThat(metrics.getValue(name)).as(name).isNotNull());
+    }
+
+    @Test
+    public void shouldRecordApiCalls() {
+        secretsManager.createSecrets(150);
+        final var client = client();
+
+        client.listSecrets(ListSecretsRequest.builder().build());
+        assertThatThrownBy(() -> client.getSecretValue(GetSecretValueRequest.builder().secretId("foo").build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertSoftly(s -> {
+            s.assertThat(metrics.getValue("api.ListSecrets.duration.count")).as("ListSecrets calls").isEqualTo(1L);
+            s.assertThat(metrics.getValue("api.ListSecrets.errors")).as("ListSecrets errors").isEqualTo(0L);
+            s.assertThat(metrics.getValue("api.GetSecretValue.duration.count")).as("GetSecretValue calls").isEqualTo(1L);
+            s.assertThat(metrics.getValue("api.GetSecretValue.errors")).as("GetSecretValue errors").isEqualTo(1L);
+        });
+    }
+
+    @Test
+    public void shouldCountThrottledAttempts() {
+        secretsManager.createSecret("foo", "supersecret", List.of());
+        secretsManager.setThrottling(0.5);
+        final var client = client();
+
+        // Every other attempt is throttled, so each call needs one retry at most
+        for (int i = 0; i < 4; i++) {
+            client.getSecretValue(GetSecretValueRequest.builder().secretId("foo").build());
+        }
+
+        assertSoftly(s -> {
+            s.assertThat(metrics.getValue("api.GetSecretValue.duration.count")).as("Calls").isEqualTo(4L);
+            s.assertThat(metrics.getValue("api.GetSecretValue.errors")).as("Errors").isEqualTo(0L);
+            s.assertThat(metrics.getValue("api.GetSecretValue.throttles").longValue()).as("Throttles").isPositive();
+            s.assertThat(metrics.getValue("api.GetSecretValue.retries")).as("Retries").isEqualTo(metrics.getValue("api.GetSecretValue.throttles"));
+        });
+    }
+
+    private SecretsManagerClient client() {
+        return SecretsManagerClient.builder()
+                .endpointOverride(URI.create(secretsManager.getEndpointUrl()))
+                .region(Region.of(secretsManager.getRegion()))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("fake", "fake")))
+                .overrideConfiguration(o -> o.addMetricPublisher(metrics.getPublisher()))
+                .build();
+    }
+}
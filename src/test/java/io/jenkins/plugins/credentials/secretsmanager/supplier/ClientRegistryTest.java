@@ -0,0 +1,129 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import io.jenkins.plugins.credentials.secretsmanager.config.Client;
+import org.junit.Test;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class ClientRegistryTest {
+
+    private static final Duration GRACE_PERIOD = Duration.ofMinutes(10);
+
+    private final List<MockSecretsManagerClient> built = new ArrayList<>();
+
+    private final AtomicLong ticker = new AtomicLong();
+
+    private final ClientRegistry<SecretsManagerClient> registry = new ClientRegistry<>(config -> {
+        final var client = new MockSecretsManagerClient();
+        built.add(client);
+        return client;
+    }, ticker::get, GRACE_PERIOD);
+
+    @Test
+    public void shouldReuseClientForEqualConfiguration() {
+        final var first = registry.get(client("us-east-1"));
+        final var second = registry.get(client("us-east-1"));
+
+        assertSoftly(s -> {
+            s.assertThat(second).as("Client").isSameAs(first);
+            s.assertThat(built).as("Clients built").hasSize(1);
+        });
+    }
+
+    @Test
+    public void shouldBuildNewClientForDifferentConfiguration() {
+        final var first = registry.get(client("us-east-1"));
+        final var second = registry.get(client("eu-west-1"));
+
+        assertSoftly(s -> {
+            s.assertThat(second).as("Client").isNotSameAs(first);
+            s.assertThat(built).as("Clients built").hasSize(2);
+        });
+    }
+
+    @Test
+    public void shouldNotCloseClientsThatAreRetained() {
+        final var config = client("us-east-1");
+        registry.get(config);
+
+        registry.retainOnly(Set.of(config));
+        registry.retainOnly(Set.of(config));
+
+        assertThat(built).extracting("closed").containsExactly(false);
+    }
+
+    @Test
+    public void shouldNotCloseRetiredClientWithinGracePeriod() {
+        final var oldConfig = client("us-east-1");
+        final var newConfig = client("eu-west-1");
+        final var oldClient = (MockSecretsManagerClient) registry.get(oldConfig);
+        registry.get(newConfig);
+
+        registry.retainOnly(Set.of(newConfig));
+        // Refreshes can follow each other quickly (e.g. with a short cache duration)
+        registry.retainOnly(Set.of(newConfig));
+        ticker.addAndGet(GRACE_PERIOD.toNanos() - 1);
+        registry.retainOnly(Set.of(newConfig));
+
+        assertThat(oldClient.closed).isFalse();
+    }
+
+    @Test
+    public void shouldCloseRetiredClientAfterGracePeriod() {
+        final var oldConfig = client("us-east-1");
+        final var newConfig = client("eu-west-1");
+        final var oldClient = (MockSecretsManagerClient) registry.get(oldConfig);
+        final var newClient = (MockSecretsManagerClient) registry.get(newConfig);
+
+        registry.retainOnly(Set.of(newConfig));
+        ticker.addAndGet(GRACE_PERIOD.toNanos());
+        registry.retainOnly(Set.of(newConfig));
+
+        assertSoftly(s -> {
+            s.assertThat(oldClient.closed).as("Retired client closed").isTrue();
+            s.assertThat(newClient.closed).as("Retained client closed").isFalse();
+        });
+    }
+
+    @Test
+    public void shouldRebuildClientAfterItWasRetired() {
+        final var config = client("us-east-1");
+        final var first = registry.get(config);
+
+        registry.retainOnly(Set.of());
+        final var second = registry.get(config);
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    private static Client client(String region) {
+        return new Client(null, null, null, region);
+    }
+
+    private static class MockSecretsManagerClient implements SecretsManagerClient {
+
+        private boolean closed = false;
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public String serviceName() {
+            return "";
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
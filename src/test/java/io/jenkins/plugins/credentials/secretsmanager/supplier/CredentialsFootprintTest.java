@@ -0,0 +1,86 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.factory.CredentialsFactory;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretArn;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretValueSource;
+import io.jenkins.plugins.credentials.secretsmanager.factory.Tags;
+import io.jenkins.plugins.credentials.secretsmanager.factory.Type;
+import io.jenkins.plugins.credentials.secretsmanager.util.ObjectSizes;
+import org.junit.Test;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CredentialsFootprintTest {
+
+    private static final int SECRETS = 10_000;
+
+    /**
+     * The budget for a typical string secret with a UUID version, for as long as its credential is in use. This covers
+     * everything that the factory holds on to between refreshes: its entry for the secret, the fingerprint, and the
+     * credential itself, with its name, description and reference to the secret (but not the value source, which every
+     * credential shares).
+     */
+    private static final long MAX_BYTES_PER_SECRET = 420;
+
+    private static final String CONTEXT = "context";
+
+    private static final SecretValueSource SOURCE = secret -> {
+        throw new UnsupportedOperationException();
+    };
+
+    @Test
+    public void shouldKeepBuiltCredentialsSmall() {
+        final List<SecretListEntry> entries = new ArrayList<>(SECRETS);
+        for (int i = 0; i < SECRETS; i++) {
+            entries.add(entry(i));
+        }
+
+        final var factory = new IncrementalCredentialsFactory();
+        final var credentials = factory.build(entries, CONTEXT, CredentialsFootprintTest::stringCredential).getCredentials();
+
+        final var bytesPerSecret = (ObjectSizes.deepSizeOf(factory) - ObjectSizes.deepSizeOf(CONTEXT)) / SECRETS;
+
+        assertThat(credentials).hasSize(SECRETS);
+        assertThat(bytesPerSecret).isLessThanOrEqualTo(MAX_BYTES_PER_SECRET);
+    }
+
+    @Test
+    public void shouldShareArnPrefixes() {
+        final var foo = stringCredential(SecretArn.of(entry(1).arn()), entry(1)).orElseThrow();
+        final var bar = stringCredential(SecretArn.of(entry(2).arn()), entry(2)).orElseThrow();
+
+        final var separately = ObjectSizes.deepSizeOf(foo) + ObjectSizes.deepSizeOf(bar);
+        final var together = ObjectSizes.deepSizeOfAll(List.of(foo, bar));
+
+        assertThat(together).isLessThan(separately);
+    }
+
+    private static SecretListEntry entry(int i) {
+        final var name = String.format("ci/service-%05d/api-token", i);
+        return SecretListEntry.builder()
+                .arn(String.format("arn:aws:secretsmanager:eu-west-1:111122223333:secret:%s-%06X", name, i))
+                .name(name)
+                .description("API token for service " + i)
+                .lastChangedDate(Instant.ofEpochSecond(i))
+                .secretVersionsToStages(Map.of(new UUID(i, ~i).toString(), List.of("AWSCURRENT")))
+                .tags(Tag.builder().key(Tags.type).value(Type.string).build())
+                .build();
+    }
+
+    private static Optional<StandardCredentials> stringCredential(SecretArn arn, SecretListEntry entry) {
+        final var versionId = entry.secretVersionsToStages().keySet().iterator().next();
+        final var tags = Map.of(Tags.type, Type.string);
+
+        return CredentialsFactory.create(arn, versionId, entry.name(), entry.description(), tags, SOURCE);
+    }
+}
@@ -0,0 +1,116 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import hudson.util.Secret;
+import io.jenkins.plugins.credentials.secretsmanager.config.Client;
+import io.jenkins.plugins.credentials.secretsmanager.config.credentialsProvider.ProfileCredentialsProvider;
+import io.jenkins.plugins.credentials.secretsmanager.config.transformer.description.Hide;
+import io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.RemovePrefix;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretArn;
+import io.jenkins.plugins.credentials.secretsmanager.factory.string.AwsStringCredentials;
+import io.jenkins.plugins.credentials.secretsmanager.util.AwsTags;
+import org.junit.Test;
+import software.amazon.awssdk.services.secretsmanager.model.Filter;
+import software.amazon.awssdk.services.secretsmanager.model.FilterNameStringType;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class CredentialsSupplierTest {
+
+    @Test
+    public void shouldMergeCredentialsFromEachClientInOrder() {
+        final var foo = string("foo");
+        final var bar = string("bar");
+        final var baz = string("baz");
+
+        final var merged = CredentialsSupplier.merge(List.of(List.of(foo, bar), List.of(baz)));
+
+        assertThat(merged).containsExactly(foo, bar, baz);
+    }
+
+    @Test
+    public void shouldPreferEarlierClientWhenIdsCollide() {
+        final var first = string("foo");
+        final var second = string("foo");
+        final var bar = string("bar");
+
+        final var merged = CredentialsSupplier.merge(List.of(List.of(first), List.of(second, bar)));
+
+        assertThat(merged).containsExactly(first, bar);
+    }
+
+    @Test
+    public void shouldLookUpSecretNames() {
+        assertThat(CredentialsSupplier.toNames(List.of("foo")))
+                .containsExactly("foo");
+    }
+
+    @Test
+    public void shouldLookUpSecretNamesFromArns() {
+        assertThat(CredentialsSupplier.toNames(List.of("arn:aws:secretsmanager:us-east-1:111122223333:secret:foo/bar-AbC123")))
+                .containsExactly("foo/bar-AbC123", "foo/bar");
+    }
+
+    @Test
+    public void shouldLookUpSecretNamesFromPartialArns() {
+        assertThat(CredentialsSupplier.toNames(List.of("arn:aws:secretsmanager:us-east-1:111122223333:secret:foo")))
+                .containsExactly("foo");
+    }
+
+    @Test
+    public void shouldBuildCredentialFromEntryWithTransformations() {
+        final var entry = SecretListEntry.builder()
+                .arn("arn:aws:secretsmanager:us-east-1:111122223333:secret:team-foo-AbC123")
+                .name("team-foo")
+                .description("Foo")
+                .tags(AwsTags.type("string"))
+                .build();
+
+        final var credential = CredentialsSupplier.standard()
+                .credentialFactory(null, new RemovePrefix("team-"), new Hide())
+                .apply(SecretArn.of(entry.arn()), entry);
+
+        assertThat(credential).hasValueSatisfying(c -> assertSoftly(s -> {
+            s.assertThat(c).as("Type").isInstanceOf(AwsStringCredentials.class);
+            s.assertThat(c.getId()).as("ID").isEqualTo("foo");
+            s.assertThat(c.getDescription()).as("Description").isEmpty();
+        }));
+    }
+
+    @Test
+    public void shouldNotBuildCredentialFromEntryWithoutType() {
+        final var entry = SecretListEntry.builder()
+                .arn("arn:aws:secretsmanager:us-east-1:111122223333:secret:foo-AbC123")
+                .name("foo")
+                .build();
+
+        final var credential = CredentialsSupplier.standard()
+                .credentialFactory(null, new io.jenkins.plugins.credentials.secretsmanager.config.transformer.name.Default(), new Hide())
+                .apply(SecretArn.of(entry.arn()), entry);
+
+        assertThat(credential).isEmpty();
+    }
+
+    @Test
+    public void shouldKeySnapshotOnFullClientConfiguration() {
+        final var foo = new Client(null, new ProfileCredentialsProvider("foo"), null, "us-east-1");
+        final var bar = new Client(null, new ProfileCredentialsProvider("bar"), null, "us-east-1");
+
+        final var key = CredentialsSupplier.getSnapshotKey(List.of(foo), List.of());
+
+        assertSoftly(s -> {
+            s.assertThat(key).as("Same configuration").isEqualTo(CredentialsSupplier.getSnapshotKey(List.of(new Client(null, new ProfileCredentialsProvider("foo"), null, "us-east-1")), List.of()));
+            s.assertThat(key).as("Other profile").isNotEqualTo(CredentialsSupplier.getSnapshotKey(List.of(bar), List.of()));
+            s.assertThat(key).as("Other filters").isNotEqualTo(CredentialsSupplier.getSnapshotKey(List.of(foo), List.of(Filter.builder().key(FilterNameStringType.NAME).values("foo").build())));
+            s.assertThat(key).as("Profile name").doesNotContain("foo");
+        });
+    }
+
+    private static StandardCredentials string(String id) {
+        return new AwsStringCredentials(id, "", () -> Secret.fromString("supersecret"));
+    }
+}
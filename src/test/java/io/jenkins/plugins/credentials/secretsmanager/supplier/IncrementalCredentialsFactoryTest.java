@@ -0,0 +1,239 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import hudson.util.Secret;
+import io.jenkins.plugins.credentials.secretsmanager.factory.SecretArn;
+import io.jenkins.plugins.credentials.secretsmanager.factory.string.AwsStringCredentials;
+import org.junit.Test;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class IncrementalCredentialsFactoryTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant T1 = Instant.parse("2024-01-02T00:00:00Z");
+    private static final String CONTEXT = "context";
+
+    private final IncrementalCredentialsFactory factory = new IncrementalCredentialsFactory();
+    private final CountingFactory credentials = new CountingFactory();
+
+    @Test
+    public void shouldBuildAllCredentialsOnFirstRefresh() {
+        final var result = factory.build(List.of(entry("foo", T0), entry("bar", T0)), CONTEXT, credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(result.getCredentials()).as("Credentials").extracting("id").containsExactly("foo", "bar");
+            s.assertThat(result.getAdded()).as("Added").isEqualTo(2);
+            s.assertThat(credentials.built).as("Built").containsExactly("foo", "bar");
+        });
+    }
+
+    @Test
+    public void shouldReuseCredentialsForUnchangedSecrets() {
+        final var first = factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+        final var second = factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(second.getCredentials().get(0)).as("Credential").isSameAs(first.getCredentials().get(0));
+            s.assertThat(second.getUnchanged()).as("Unchanged").isEqualTo(1);
+            s.assertThat(credentials.built).as("Built").containsExactly("foo");
+        });
+    }
+
+    @Test
+    public void shouldRebuildCredentialsForChangedSecrets() {
+        factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+        final var result = factory.build(List.of(entry("foo", T1)), CONTEXT, credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(result.getChanged()).as("Changed").isEqualTo(1);
+            s.assertThat(credentials.built).as("Built").containsExactly("foo", "foo");
+        });
+    }
+
+    @Test
+    public void shouldReuseCredentialsRestoredFromSnapshot() throws IOException {
+        final var foo = entry("foo", T0).copy(b -> b
+                .tags(Tag.builder().key("jenkins:credentials:type").value("string").build(), Tag.builder().key("team").value("platform").build())
+                .secretVersionsToStages(Map.of("v2", List.of("AWSCURRENT"), "v1", List.of("AWSPREVIOUS"))));
+
+        final var file = new ByteArrayOutputStream();
+        SecretListSnapshot.write(file, "key", List.of(SecretListSnapshot.Recording.of(List.of(foo))));
+        final var restored = SecretListSnapshot.read(new ByteArrayInputStream(file.toByteArray())).getSecretListsByClient().get(0);
+
+        factory.build(restored, CONTEXT, credentials);
+        final var result = factory.build(List.of(foo), CONTEXT, credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(result.getUnchanged()).as("Unchanged").isEqualTo(1);
+            s.assertThat(result.hasChanges()).as("Changes").isFalse();
+            s.assertThat(credentials.built).as("Built").containsExactly("foo");
+        });
+    }
+
+    @Test
+    public void shouldRebuildCredentialsWhenDescriptionChanges() {
+        factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+        final var result = factory.build(List.of(entry("foo", T0).copy(b -> b.description("Foo"))), CONTEXT, credentials);
+
+        assertThat(result.getChanged()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRebuildCredentialsWhenTagsChange() {
+        factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+        final var result = factory.build(List.of(entry("foo", T0).copy(b -> b.tags(Tag.builder().key("jenkins:credentials:type").value("file").build()))), CONTEXT, credentials);
+
+        assertThat(result.getChanged()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRebuildAllCredentialsWhenContextChanges() {
+        factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+        final var result = factory.build(List.of(entry("foo", T0)), "other context", credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(result.getChanged()).as("Changed").isEqualTo(1);
+            s.assertThat(credentials.built).as("Built").containsExactly("foo", "foo");
+        });
+    }
+
+    @Test
+    public void shouldCountRemovedSecrets() {
+        factory.build(List.of(entry("foo", T0), entry("bar", T0)), CONTEXT, credentials);
+        final var result = factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(result.getRemoved()).as("Removed").isEqualTo(1);
+            s.assertThat(result.getCredentials()).as("Credentials").extracting("id").containsExactly("foo");
+        });
+    }
+
+    @Test
+    public void shouldRememberSecretsThatAreNotCredentials() {
+        final BiFunction<SecretArn, SecretListEntry, Optional<StandardCredentials>> none = (arn, entry) -> {
+            credentials.built.add(entry.name());
+            return Optional.empty();
+        };
+
+        factory.build(List.of(entry("foo", T0)), CONTEXT, none);
+        final var result = factory.build(List.of(entry("foo", T0)), CONTEXT, none);
+
+        assertSoftly(s -> {
+            s.assertThat(result.getCredentials()).as("Credentials").isEmpty();
+            s.assertThat(result.getUnchanged()).as("Unchanged").isEqualTo(1);
+            s.assertThat(credentials.built).as("Built").containsExactly("foo");
+        });
+    }
+
+    @Test
+    public void shouldUpdateOnlyTheChangedSecrets() {
+        final var first = factory.build(List.of(entry("foo", T0), entry("bar", T0)), CONTEXT, credentials);
+        final var result = factory.update(List.of(entry("bar", T1), entry("baz", T1)), Set.of("bar", "baz"), CONTEXT, credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(result).as("Result").isPresent();
+            s.assertThat(result.get().getCredentials()).as("Credentials").extracting("id").containsExactly("foo", "bar", "baz");
+            s.assertThat(result.get().getCredentials().get(0)).as("Unchanged credential").isSameAs(first.getCredentials().get(0));
+            s.assertThat(result.get().getChanged()).as("Changed").isEqualTo(1);
+            s.assertThat(result.get().getAdded()).as("Added").isEqualTo(1);
+            s.assertThat(credentials.built).as("Built").containsExactly("foo", "bar", "bar", "baz");
+        });
+    }
+
+    @Test
+    public void shouldRemoveSecretsThatAreMissingFromTheUpdate() {
+        factory.build(List.of(entry("foo", T0), entry("bar", T0)), CONTEXT, credentials);
+        final var result = factory.update(List.of(), Set.of("bar"), CONTEXT, credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(result.get().getCredentials()).as("Credentials").extracting("id").containsExactly("foo");
+            s.assertThat(result.get().getRemoved()).as("Removed").isEqualTo(1);
+        });
+    }
+
+    @Test
+    public void shouldOnlyUpdateSecretsWithTheGivenNames() {
+        factory.build(List.of(entry("foo", T0), entry("foo-bar", T0)), CONTEXT, credentials);
+        final var result = factory.update(List.of(), Set.of("foo"), CONTEXT, credentials);
+
+        assertSoftly(s -> {
+            s.assertThat(result).map(r -> r.getCredentials().stream().map(StandardCredentials::getId).toList())
+                    .as("Credentials").hasValue(List.of("foo-bar"));
+            s.assertThat(result).map(IncrementalCredentialsFactory.Result::getRemoved).as("Removed").hasValue(1);
+        });
+    }
+
+    @Test
+    public void shouldNotUpdateInAnotherContext() {
+        factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+
+        assertThat(factory.update(List.of(entry("foo", T1)), Set.of("foo"), "other context", credentials)).isEmpty();
+    }
+
+    @Test
+    public void shouldCheckContainsWithoutWaitingForBuildInProgress() throws Exception {
+        factory.build(List.of(entry("foo", T0)), CONTEXT, credentials);
+
+        // A secret list that is still being listed when the check is made
+        final var listing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final Iterable<SecretListEntry> slow = () -> {
+            listing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(entry("bar", T0)).iterator();
+        };
+
+        final var build = CompletableFuture.runAsync(() -> factory.build(slow, CONTEXT, credentials));
+        listing.await(10, TimeUnit.SECONDS);
+
+        try {
+            assertThat(factory.contains(SecretArn.of(entry("foo", T0).arn()))).isTrue();
+        } finally {
+            release.countDown();
+        }
+        build.get(10, TimeUnit.SECONDS);
+
+        assertThat(factory.contains(SecretArn.of(entry("bar", T0).arn()))).isTrue();
+    }
+
+    private static SecretListEntry entry(String name, Instant lastChangedDate) {
+        return SecretListEntry.builder()
+                .arn("arn:aws:secretsmanager:us-east-1:111122223333:secret:" + name + "-AbCdEf")
+                .name(name)
+                .lastChangedDate(lastChangedDate)
+                .tags(Tag.builder().key("jenkins:credentials:type").value("string").build())
+                .build();
+    }
+
+    private static class CountingFactory implements BiFunction<SecretArn, SecretListEntry, Optional<StandardCredentials>> {
+        final List<String> built = new ArrayList<>();
+
+        @Override
+        public Optional<StandardCredentials> apply(SecretArn arn, SecretListEntry entry) {
+            built.add(entry.name());
+            return Optional.of(new AwsStringCredentials(entry.name(), "", () -> Secret.fromString("supersecret")));
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package io.jenkins.plugins.credentials.secretsmanager.supplier;
 
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
 import software.amazon.awssdk.services.secretsmanager.model.ListSecretsResponse;
 import org.junit.Test;
 import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
 
 public class ListSecretsOperationTest {
 
@@ -56,6 +65,175 @@ public class ListSecretsOperationTest {
                 SecretListEntry.builder().description("bar").name("foo").tags(tag -> tag.key("key").value("value")).build());
     }
 
+    @Test
+    public void shouldRequestTheLargestPages() {
+        final var client = new PagedSecretsManager(page(null, "foo"));
+
+        new ListSecretsOperation(client, Collections.emptyList()).get();
+
+        assertThat(client.requests)
+                .extracting(ListSecretsRequest::maxResults)
+                .containsExactly(ListSecretsOperation.MAX_RESULTS);
+    }
+
+    @Test
+    public void shouldFollowPagesAndSkipDeletedSecrets() {
+        final var deleted = SecretListEntry.builder().name("deleted").deletedDate(Instant.EPOCH).build();
+        final var client = new PagedSecretsManager(
+                page("1", "foo").toBuilder().secretList(SecretListEntry.builder().name("foo").build(), deleted).build(),
+                page("2", "bar"),
+                page(null, "baz"));
+        final var operation = new ListSecretsOperation(client, Collections.emptyList());
+
+        final var secrets = operation.get();
+
+        assertSoftly(s -> {
+            s.assertThat(secrets).as("Secrets").extracting(SecretListEntry::name).containsExactly("foo", "bar", "baz");
+            s.assertThat(client.requests).as("Requests").extracting(ListSecretsRequest::nextToken).containsExactly(null, "1", "2");
+            s.assertThat(operation.getPages()).as("Pages").isEqualTo(3);
+            s.assertThat(operation.getSecrets()).as("Secret count").isEqualTo(3);
+        });
+    }
+
+    @Test
+    public void shouldFetchTheNextPageWhileTheCurrentPageIsConsumed() throws InterruptedException {
+        final var secondPageRequested = new CountDownLatch(1);
+        final var client = new PagedSecretsManager(page("1", "foo"), page(null, "bar")) {
+            @Override
+            public ListSecretsResponse listSecrets(ListSecretsRequest request) {
+                if ("1".equals(request.nextToken())) {
+                    secondPageRequested.countDown();
+                }
+                return super.listSecrets(request);
+            }
+        };
+
+        final var iterator = new ListSecretsOperation(client, Collections.emptyList()).iterator();
+        iterator.next();
+
+        // The consumer is still on the first page
+        assertThat(secondPageRequested.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void shouldFailWhenALaterPageFails() {
+        final var client = new PagedSecretsManager(page("1", "foo")) {
+            @Override
+            public ListSecretsResponse listSecrets(ListSecretsRequest request) {
+                if ("1".equals(request.nextToken())) {
+                    throw new IllegalStateException("Page failed");
+                }
+                return super.listSecrets(request);
+            }
+        };
+
+        final var operation = new ListSecretsOperation(client, Collections.emptyList());
+
+        assertThatThrownBy(operation::get)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Page failed");
+    }
+
+    @Test
+    public void shouldFollowPagesWithTheAsyncClient() {
+        final var client = new AsyncPagedSecretsManager(page("1", "foo"), page("2", "bar"), page(null, "baz"));
+        final var operation = new ListSecretsOperation(client, Collections.emptyList());
+
+        final var secrets = operation.get();
+
+        assertSoftly(s -> {
+            s.assertThat(secrets).as("Secrets").extracting(SecretListEntry::name).containsExactly("foo", "bar", "baz");
+            s.assertThat(client.requests).as("Requests").extracting(ListSecretsRequest::nextToken).containsExactly(null, "1", "2");
+            s.assertThat(operation.getPages()).as("Pages").isEqualTo(3);
+        });
+    }
+
+    @Test
+    public void shouldFailWhenALaterAsyncPageFails() {
+        final var client = new AsyncPagedSecretsManager(page("1", "foo")) {
+            @Override
+            public CompletableFuture<ListSecretsResponse> listSecrets(ListSecretsRequest request) {
+                if ("1".equals(request.nextToken())) {
+                    return CompletableFuture.failedFuture(new IllegalStateException("Page failed"));
+                }
+                return super.listSecrets(request);
+            }
+        };
+
+        final var operation = new ListSecretsOperation(client, Collections.emptyList());
+
+        assertThatThrownBy(operation::get)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Page failed");
+    }
+
+    private static ListSecretsResponse page(String nextToken, String name) {
+        return ListSecretsResponse.builder()
+                .secretList(SecretListEntry.builder().name(name).build())
+                .nextToken(nextToken)
+                .build();
+    }
+
+    /**
+     * Returns the given pages in order, and records the requests.
+     */
+    private static class PagedSecretsManager implements SecretsManagerClient {
+
+        final List<ListSecretsRequest> requests = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<ListSecretsResponse> pages;
+
+        private PagedSecretsManager(ListSecretsResponse... pages) {
+            this.pages = List.of(pages);
+        }
+
+        @Override
+        public ListSecretsResponse listSecrets(ListSecretsRequest request) {
+            requests.add(request);
+            return pages.get(request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken()));
+        }
+
+        @Override
+        public String serviceName() {
+            return "";
+        }
+
+        @Override
+        public void close() {
+            // no-op
+        }
+    }
+
+    /**
+     * Like {@link PagedSecretsManager}, but non-blocking.
+     */
+    private static class AsyncPagedSecretsManager implements SecretsManagerAsyncClient {
+
+        final List<ListSecretsRequest> requests = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<ListSecretsResponse> pages;
+
+        private AsyncPagedSecretsManager(ListSecretsResponse... pages) {
+            this.pages = List.of(pages);
+        }
+
+        @Override
+        public CompletableFuture<ListSecretsResponse> listSecrets(ListSecretsRequest request) {
+            requests.add(request);
+            return CompletableFuture.completedFuture(pages.get(request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken())));
+        }
+
+        @Override
+        public String serviceName() {
+            return "";
+        }
+
+        @Override
+        public void close() {
+            // no-op
+        }
+    }
+
     private static class MockAwsSecretsManager implements SecretsManagerClient {
 
         private final ListSecretsResponse response;
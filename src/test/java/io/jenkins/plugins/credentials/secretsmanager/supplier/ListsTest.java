@@ -46,6 +46,20 @@ public class ListsTest {
                 .isThrownBy(() -> Lists.toMap(tags, Tag::key, Tag::value));
     }
 
+    // partition //
+
+    @Test
+    public void shouldPartitionEmptyList() {
+        assertThat(Lists.partition(Collections.emptyList(), 10))
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldPartitionList() {
+        assertThat(Lists.partition(List.of(1, 2, 3, 4, 5), 2))
+                .containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    }
+
     private static Tag newTag(String key, String value) {
         return Tag.builder()
                 .key(key)
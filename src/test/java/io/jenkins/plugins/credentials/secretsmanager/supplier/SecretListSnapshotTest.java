@@ -0,0 +1,114 @@
+package io.jenkins.plugins.credentials.secretsmanager.supplier;
+
+import io.jenkins.plugins.credentials.secretsmanager.factory.Type;
+import io.jenkins.plugins.credentials.secretsmanager.util.AwsTags;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class SecretListSnapshotTest {
+
+    private static final String KEY = "us-east-1|null|;[]";
+    private static final String VERSION_ID = "a4d9f4b7-3c6a-4f0e-9f1e-1c2d3e4f5a6b";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldRoundTripSecretMetadata() throws IOException {
+        final var file = folder.getRoot().toPath().resolve("snapshot");
+        final var foo = SecretListEntry.builder()
+                .arn("arn:aws:secretsmanager:us-east-1:111122223333:secret:foo-AbCdEf")
+                .name("foo")
+                .description("Foo")
+                .lastChangedDate(Instant.parse("2024-01-01T00:00:00Z"))
+                .tags(AwsTags.type(Type.usernamePassword), AwsTags.username("joe"))
+                .secretVersionsToStages(Map.of(VERSION_ID, List.of("AWSCURRENT")))
+                .build();
+        final var bar = SecretListEntry.builder()
+                .arn("arn:aws:secretsmanager:us-east-1:111122223333:secret:bar-AbCdEf")
+                .name("bar")
+                .build();
+
+        SecretListSnapshot.write(file, KEY, List.of(SecretListSnapshot.Recording.of(List.of(foo)), SecretListSnapshot.Recording.of(List.of(bar))));
+        final var snapshot = SecretListSnapshot.read(file).orElseThrow();
+
+        assertSoftly(s -> {
+            s.assertThat(snapshot.getKey()).as("Key").isEqualTo(KEY);
+            s.assertThat(snapshot.getSecretListsByClient()).as("Clients").hasSize(2);
+            s.assertThat(snapshot.getSecretListsByClient().get(0)).as("First client").containsExactly(foo);
+            s.assertThat(snapshot.getSecretListsByClient().get(1)).as("Second client").containsExactly(bar);
+        });
+    }
+
+    @Test
+    public void shouldOnlyKeepTheCurrentVersionAndJenkinsTags() throws IOException {
+        final var file = folder.getRoot().toPath().resolve("snapshot");
+        final var foo = SecretListEntry.builder()
+                .arn("arn:aws:secretsmanager:us-east-1:111122223333:secret:foo-AbCdEf")
+                .name("foo")
+                .tags(AwsTags.type(Type.string), AwsTags.tag("team", "platform"))
+                .secretVersionsToStages(Map.of(VERSION_ID, List.of("AWSCURRENT"), "old", List.of("AWSPREVIOUS")))
+                .build();
+
+        SecretListSnapshot.write(file, KEY, List.of(SecretListSnapshot.Recording.of(List.of(foo))));
+        final var entry = SecretListSnapshot.read(file).orElseThrow().getSecretListsByClient().get(0).get(0);
+
+        assertSoftly(s -> {
+            s.assertThat(entry.tags()).as("Tags").containsExactly(AwsTags.type(Type.string));
+            s.assertThat(entry.secretVersionsToStages()).as("Versions").containsOnlyKeys(VERSION_ID);
+        });
+    }
+
+    @Test
+    public void shouldHaveNoSnapshotWithoutFile() throws IOException {
+        final var file = folder.getRoot().toPath().resolve("snapshot");
+
+        assertThat(SecretListSnapshot.read(file)).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectCorruptSnapshot() throws IOException {
+        final var file = folder.getRoot().toPath().resolve("snapshot");
+        final var foo = SecretListEntry.builder().arn("arn:aws:secretsmanager:us-east-1:111122223333:secret:foo-AbCdEf").name("foo").build();
+        SecretListSnapshot.write(file, KEY, List.of(SecretListSnapshot.Recording.of(List.of(foo))));
+
+        final var bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> SecretListSnapshot.read(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldRejectTruncatedSnapshot() throws IOException {
+        final var file = folder.getRoot().toPath().resolve("snapshot");
+        final var foo = SecretListEntry.builder().arn("arn:aws:secretsmanager:us-east-1:111122223333:secret:foo-AbCdEf").name("foo").build();
+        SecretListSnapshot.write(file, KEY, List.of(SecretListSnapshot.Recording.of(List.of(foo))));
+
+        final var bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThatThrownBy(() -> SecretListSnapshot.read(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldRejectOtherFiles() throws IOException {
+        final var file = folder.getRoot().toPath().resolve("snapshot");
+        Files.writeString(file, "<xml/>");
+
+        assertThatThrownBy(() -> SecretListSnapshot.read(file)).isInstanceOf(IOException.class);
+    }
+}
@@ -57,6 +57,19 @@ public abstract class Crypto {
         }
     }
 
+    public static String save(Certificate certificate) {
+        try (StringWriter sw = new StringWriter()) {
+            final JcaPEMWriter writer = new JcaPEMWriter(sw);
+
+            writer.writeObject(certificate);
+            writer.close();
+
+            return sw.getBuffer().toString();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static byte[] save(KeyStore keyStore, char[] password) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             keyStore.store(baos, password);
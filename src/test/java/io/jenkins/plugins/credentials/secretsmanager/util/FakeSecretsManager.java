@@ -0,0 +1,572 @@
+package io.jenkins.plugins.credentials.secretsmanager.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.rules.ExternalResource;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.protocols.jsoncore.JsonNode;
+import software.amazon.awssdk.protocols.jsoncore.JsonWriter;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * An in-process stand-in for AWS Secrets Manager, for tests that cannot run the Moto container (see
+ * {@link AWSSecretsManagerRule}), and for load tests that need large datasets and controllable failures.
+ *
+ * It speaks the Secrets Manager JSON wire protocol over HTTP on a loopback port, so the real SDK client (and therefore
+ * the whole plugin) can be pointed at it. It supports:
+ *
+ * <ul>
+ *     <li>ListSecrets, with pagination and the name, description, tag-key, tag-value and all filters (matched by
+ *     case-sensitive prefix, with ! for negation)</li>
+ *     <li>GetSecretValue, by name or ARN</li>
+ *     <li>BatchGetSecretValue, by secret ID list</li>
+ * </ul>
+ *
+ * Secrets are set up directly through this class rather than over the wire. Only the current version of each secret
+ * is kept.
+ */
+public class FakeSecretsManager extends ExternalResource implements AutoCloseable {
+
+    private static final Region REGION = Region.US_EAST_1;
+
+    private static final String ACCOUNT = "111122223333";
+
+    private static final String TARGET_PREFIX = "secretsmanager.";
+
+    private static final String AWSCURRENT = "AWSCURRENT";
+
+    /** The default (and maximum) ListSecrets page size. */
+    private static final int MAX_RESULTS = 100;
+
+    private static final int MAX_BATCH_SIZE = 20;
+
+    private final ConcurrentSkipListMap<String, Secret> secretsByName = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Secret> secretsByArn = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private volatile Duration latency = Duration.ZERO;
+
+    private volatile double throttling = 0;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private SecretsManagerClient client;
+
+    @Override
+    protected void before() {
+        start();
+    }
+
+    @Override
+    protected void after() {
+        close();
+    }
+
+    public void start() {
+        // Without this, small responses wait out the client's delayed ACK, which caps each connection at ~25 req/s
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor = Executors.newCachedThreadPool(r -> {
+            final var thread = new Thread(r, "FakeSecretsManager");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        client = SecretsManagerClient.builder()
+                .region(REGION)
+                .endpointOverride(URI.create(getEndpointUrl()))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("fake", "fake")))
+                .build();
+    }
+
+    @Override
+    public void close() {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public String getEndpointUrl() {
+        final var address = server.getAddress();
+        return String.format("http://%s:%d", address.getHostString(), address.getPort());
+    }
+
+    public String getRegion() {
+        return REGION.toString();
+    }
+
+    /**
+     * A client that is set up to talk to this server.
+     */
+    public SecretsManagerClient getClient() {
+        return client;
+    }
+
+    /**
+     * Delay every request by this much (before it is throttled or served).
+     */
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Reject this fraction of requests (from 0 to 1) with a ThrottlingException. The rejected requests are spread
+     * evenly, so that the outcome does not depend on chance.
+     */
+    public void setThrottling(double throttling) {
+        this.throttling = throttling;
+    }
+
+    /**
+     * How many requests have been made for an operation (e.g. "ListSecrets"), including rejected ones.
+     */
+    public long getRequestCount(String operation) {
+        return Optional.ofNullable(requestCounts.get(operation)).map(AtomicLong::get).orElse(0L);
+    }
+
+    /**
+     * Create a secret with a string value.
+     *
+     * @return the secret's ARN
+     */
+    public String createSecret(String name, String value, List<Tag> tags) {
+        return createSecret(name, null, SecretValue.string(value), tags);
+    }
+
+    /**
+     * Create a secret with a binary value.
+     *
+     * @return the secret's ARN
+     */
+    public String createSecret(String name, byte[] value, List<Tag> tags) {
+        return createSecret(name, null, SecretValue.binary(value), tags);
+    }
+
+    /**
+     * Create a secret with a string value and a description.
+     *
+     * @return the secret's ARN
+     */
+    public String createSecret(String name, String description, String value, List<Tag> tags) {
+        return createSecret(name, description, SecretValue.string(value), tags);
+    }
+
+    /**
+     * Create many string secrets at once, named {@code secret-000000}, {@code secret-000001} and so on, each tagged
+     * as a Jenkins string credential.
+     */
+    public void createSecrets(int count) {
+        for (int i = 0; i < count; i++) {
+            createSecret(String.format("secret-%06d", i), "supersecret-" + i, List.of(AwsTags.type("string")));
+        }
+    }
+
+    /**
+     * Give a secret a new current version.
+     */
+    public void putSecretValue(String name, String value) {
+        final var old = getSecret(name);
+        final var updated = new Secret(old.arn, old.name, old.description, old.tags, SecretValue.string(value),
+                UUID.randomUUID().toString(), old.createdDate, Instant.now());
+        secretsByName.put(name, updated);
+        secretsByArn.put(updated.arn, updated);
+    }
+
+    public void deleteSecret(String name) {
+        final var old = secretsByName.remove(name);
+        if (old != null) {
+            secretsByArn.remove(old.arn);
+        }
+    }
+
+    private String createSecret(String name, String description, SecretValue value, List<Tag> tags) {
+        if (secretsByName.containsKey(name)) {
+            throw new IllegalArgumentException("Secret already exists: " + name);
+        }
+
+        final Map<String, String> tagMap = new LinkedHashMap<>();
+        for (Tag tag : tags) {
+            tagMap.put(tag.key(), tag.value());
+        }
+
+        final var now = Instant.now();
+        final var secret = new Secret(arn(name), name, description, Collections.unmodifiableMap(tagMap), value,
+                UUID.randomUUID().toString(), now, now);
+        secretsByName.put(name, secret);
+        secretsByArn.put(secret.arn, secret);
+        return secret.arn;
+    }
+
+    private Secret getSecret(String name) {
+        final var secret = secretsByName.get(name);
+        if (secret == null) {
+            throw new IllegalArgumentException("No such secret: " + name);
+        }
+        return secret;
+    }
+
+    /**
+     * Like the real thing, the ARN ends with a 6 character suffix, which is derived from the name here so that the
+     * ARN is predictable.
+     */
+    private static String arn(String name) {
+        final var suffix = String.format("%06x", name.hashCode() & 0xffffff);
+        return String.format("arn:aws:secretsmanager:%s:%s:secret:%s-%s", REGION, ACCOUNT, name, suffix);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final var target = Optional.ofNullable(exchange.getRequestHeaders().getFirst("X-Amz-Target")).orElse("");
+            final var operation = target.startsWith(TARGET_PREFIX) ? target.substring(TARGET_PREFIX.length()) : target;
+            requestCounts.computeIfAbsent(operation, k -> new AtomicLong()).incrementAndGet();
+
+            final JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = JsonNode.parser().parse(body);
+            }
+
+            sleep(latency);
+
+            Response response;
+            if (isThrottled(requests.incrementAndGet())) {
+                response = Response.error("ThrottlingException", "Rate exceeded");
+            } else {
+                try {
+                    response = dispatch(operation, request);
+                } catch (RuntimeException e) {
+                    response = Response.error("InternalServiceError", String.valueOf(e.getMessage()));
+                }
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/x-amz-json-1.1");
+            exchange.getResponseHeaders().set("x-amzn-RequestId", UUID.randomUUID().toString());
+            exchange.sendResponseHeaders(response.status, response.body.length);
+            exchange.getResponseBody().write(response.body);
+        }
+    }
+
+    /**
+     * Throttle request n if it takes the running count of throttled requests to the next whole number.
+     */
+    private boolean isThrottled(long n) {
+        final var fraction = throttling;
+        return fraction > 0 && Math.floor(n * fraction) != Math.floor((n - 1) * fraction);
+    }
+
+    private Response dispatch(String operation, JsonNode request) {
+        switch (operation) {
+            case "ListSecrets":
+                return listSecrets(request);
+            case "GetSecretValue":
+                return getSecretValue(request);
+            case "BatchGetSecretValue":
+                return batchGetSecretValue(request);
+            default:
+                return Response.error("UnknownOperationException", "Operation not supported by the fake: " + operation);
+        }
+    }
+
+    private Response listSecrets(JsonNode request) {
+        final var maxResults = request.field("MaxResults").map(n -> Integer.parseInt(n.asNumber())).orElse(MAX_RESULTS);
+        if (maxResults < 1 || maxResults > MAX_RESULTS) {
+            return Response.error("InvalidParameterException", "MaxResults must be between 1 and " + MAX_RESULTS);
+        }
+
+        final var filter = filter(request.field("Filters").map(JsonNode::asArray).orElse(List.of()));
+        final var nextToken = request.field("NextToken").map(JsonNode::asString).orElse(null);
+
+        final Map<String, Secret> remaining = nextToken == null
+                ? secretsByName
+                : secretsByName.tailMap(nextToken, false);
+
+        final List<Secret> page = new ArrayList<>(maxResults);
+        String last = null;
+        boolean more = false;
+        for (Secret secret : remaining.values()) {
+            if (!filter.test(secret)) {
+                continue;
+            }
+            if (page.size() == maxResults) {
+                more = true;
+                break;
+            }
+            page.add(secret);
+            last = secret.name;
+        }
+
+        final var json = JsonWriter.create();
+        json.writeStartObject();
+        json.writeFieldName("SecretList");
+        json.writeStartArray();
+        for (Secret secret : page) {
+            json.writeStartObject();
+            json.writeFieldName("ARN").writeValue(secret.arn);
+            json.writeFieldName("Name").writeValue(secret.name);
+            if (secret.description != null) {
+                json.writeFieldName("Description").writeValue(secret.description);
+            }
+            json.writeFieldName("CreatedDate").writeValue(secret.createdDate);
+            json.writeFieldName("LastChangedDate").writeValue(secret.lastChangedDate);
+            json.writeFieldName("Tags");
+            json.writeStartArray();
+            for (Map.Entry<String, String> tag : secret.tags.entrySet()) {
+                json.writeStartObject();
+                json.writeFieldName("Key").writeValue(tag.getKey());
+                if (tag.getValue() != null) {
+                    json.writeFieldName("Value").writeValue(tag.getValue());
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeFieldName("SecretVersionsToStages");
+            json.writeStartObject();
+            json.writeFieldName(secret.versionId);
+            json.writeStartArray().writeValue(AWSCURRENT).writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        if (more) {
+            json.writeFieldName("NextToken").writeValue(last);
+        }
+        json.writeEndObject();
+
+        return Response.ok(json.getBytes());
+    }
+
+    private Response getSecretValue(JsonNode request) {
+        final var secretId = request.field("SecretId").map(JsonNode::asString).orElse("");
+        final var versionId = request.field("VersionId").map(JsonNode::asString).orElse(null);
+
+        final var secret = find(secretId);
+        if (secret == null || (versionId != null && !versionId.equals(secret.versionId))) {
+            return Response.error("ResourceNotFoundException", "Secrets Manager can't find the specified secret.");
+        }
+
+        final var json = JsonWriter.create();
+        writeSecretValue(json, secret);
+        return Response.ok(json.getBytes());
+    }
+
+    private Response batchGetSecretValue(JsonNode request) {
+        final var secretIds = request.field("SecretIdList").map(JsonNode::asArray).orElse(List.of()).stream()
+                .map(JsonNode::asString)
+                .collect(Collectors.toList());
+        if (secretIds.isEmpty() || secretIds.size() > MAX_BATCH_SIZE) {
+            return Response.error("InvalidParameterException", "SecretIdList must have between 1 and " + MAX_BATCH_SIZE + " entries");
+        }
+
+        final var json = JsonWriter.create();
+        json.writeStartObject();
+        json.writeFieldName("SecretValues");
+        json.writeStartArray();
+        final List<String> missing = new ArrayList<>();
+        for (String secretId : secretIds) {
+            final var secret = find(secretId);
+            if (secret == null) {
+                missing.add(secretId);
+            } else {
+                writeSecretValue(json, secret);
+            }
+        }
+        json.writeEndArray();
+        json.writeFieldName("Errors");
+        json.writeStartArray();
+        for (String secretId : missing) {
+            json.writeStartObject();
+            json.writeFieldName("SecretId").writeValue(secretId);
+            json.writeFieldName("ErrorCode").writeValue("ResourceNotFoundException");
+            json.writeFieldName("Message").writeValue("Secrets Manager can't find the specified secret.");
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+
+        return Response.ok(json.getBytes());
+    }
+
+    private Secret find(String secretId) {
+        return secretId.startsWith("arn:") ? secretsByArn.get(secretId) : secretsByName.get(secretId);
+    }
+
+    private static void writeSecretValue(JsonWriter json, Secret secret) {
+        json.writeStartObject();
+        json.writeFieldName("ARN").writeValue(secret.arn);
+        json.writeFieldName("Name").writeValue(secret.name);
+        json.writeFieldName("VersionId").writeValue(secret.versionId);
+        if (secret.value.string != null) {
+            json.writeFieldName("SecretString").writeValue(secret.value.string);
+        } else {
+            json.writeFieldName("SecretBinary").writeValue(ByteBuffer.wrap(secret.value.binary));
+        }
+        json.writeFieldName("VersionStages");
+        json.writeStartArray().writeValue(AWSCURRENT).writeEndArray();
+        json.writeFieldName("CreatedDate").writeValue(secret.lastChangedDate);
+        json.writeEndObject();
+    }
+
+    /**
+     * Filters combine with AND, and the values of one filter combine with OR. Negated values (starting with !) must
+     * all not match.
+     */
+    private static Predicate<Secret> filter(List<JsonNode> filters) {
+        Predicate<Secret> predicate = secret -> true;
+        for (JsonNode filter : filters) {
+            final var key = filter.field("Key").map(JsonNode::asString).orElse("");
+            final var values = filter.field("Values").map(JsonNode::asArray).orElse(List.of()).stream()
+                    .map(JsonNode::asString)
+                    .collect(Collectors.toList());
+
+            final var positive = values.stream().filter(v -> !v.startsWith("!")).collect(Collectors.toList());
+            final var negative = values.stream().filter(v -> v.startsWith("!")).map(v -> v.substring(1)).collect(Collectors.toList());
+
+            predicate = predicate.and(secret ->
+                    (positive.isEmpty() || positive.stream().anyMatch(v -> matches(secret, key, v)))
+                            && negative.stream().noneMatch(v -> matches(secret, key, v)));
+        }
+        return predicate;
+    }
+
+    private static boolean matches(Secret secret, String key, String prefix) {
+        switch (key) {
+            case "name":
+                return secret.name.startsWith(prefix);
+            case "description":
+                return secret.description != null && secret.description.startsWith(prefix);
+            case "tag-key":
+                return secret.tags.keySet().stream().anyMatch(k -> k.startsWith(prefix));
+            case "tag-value":
+                return secret.tags.values().stream().anyMatch(v -> v != null && v.startsWith(prefix));
+            case "all":
+                return matches(secret, "name", prefix) || matches(secret, "description", prefix)
+                        || matches(secret, "tag-key", prefix) || matches(secret, "tag-value", prefix);
+            default:
+                throw new IllegalArgumentException("Unsupported filter key: " + key);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis(), duration.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Secret {
+        final String arn;
+        final String name;
+        final String description;
+        final Map<String, String> tags;
+        final SecretValue value;
+        final String versionId;
+        final Instant createdDate;
+        final Instant lastChangedDate;
+
+        Secret(String arn, String name, String description, Map<String, String> tags, SecretValue value,
+               String versionId, Instant createdDate, Instant lastChangedDate) {
+            this.arn = arn;
+            this.name = name;
+            this.description = description;
+            this.tags = tags;
+            this.value = value;
+            this.versionId = versionId;
+            this.createdDate = createdDate;
+            this.lastChangedDate = lastChangedDate;
+        }
+    }
+
+    private static final class SecretValue {
+        final String string;
+        final byte[] binary;
+
+        private SecretValue(String string, byte[] binary) {
+            this.string = string;
+            this.binary = binary;
+        }
+
+        static SecretValue string(String value) {
+            return new SecretValue(value, null);
+        }
+
+        static SecretValue binary(byte[] value) {
+            return new SecretValue(null, SdkBytes.fromByteArray(value).asByteArray());
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response ok(byte[] body) {
+            return new Response(200, body);
+        }
+
+        static Response error(String type, String message) {
+            final var json = JsonWriter.create();
+            json.writeStartObject();
+            json.writeFieldName("__type").writeValue(type);
+            json.writeFieldName("message").writeValue(message);
+            json.writeEndObject();
+            return new Response(400, json.getBytes());
+        }
+    }
+}
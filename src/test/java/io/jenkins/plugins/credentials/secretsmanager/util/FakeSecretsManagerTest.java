@@ -0,0 +1,151 @@
+package io.jenkins.plugins.credentials.secretsmanager.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.Filter;
+import software.amazon.awssdk.services.secretsmanager.model.FilterNameStringType;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.model.SecretValueEntry;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+public class FakeSecretsManagerTest {
+
+    @Rule
+    public final FakeSecretsManager secretsManager = new FakeSecretsManager();
+
+    @Test
+    public void shouldPaginateListSecrets() {
+        secretsManager.createSecrets(250);
+
+        final var names = secretsManager.getClient().listSecretsPaginator(ListSecretsRequest.builder().build())
+                .stream()
+                .flatMap(page -> page.secretList().stream())
+                .map(SecretListEntry::name)
+                .collect(Collectors.toList());
+
+        assertSoftly(s -> {
+            s.assertThat(names).as("Names").hasSize(250).doesNotHaveDuplicates();
+            s.assertThat(secretsManager.getRequestCount("ListSecrets")).as("Pages").isEqualTo(3);
+        });
+    }
+
+    @Test
+    public void shouldFilterListSecrets() {
+        secretsManager.createSecret("foo", "supersecret", List.of(AwsTags.type("string"), AwsTags.tag("product", "roadrunner")));
+        secretsManager.createSecret("foobar", "supersecret", List.of(AwsTags.type("string"), AwsTags.tag("product", "coyote")));
+        secretsManager.createSecret("bar", "supersecret", List.of(AwsTags.type("string"), AwsTags.tag("product", "roadrunner")));
+
+        final var request = ListSecretsRequest.builder()
+                .filters(
+                        Filter.builder().key(FilterNameStringType.NAME).values("foo").build(),
+                        Filter.builder().key(FilterNameStringType.TAG_VALUE).values("road", "!coyote").build())
+                .build();
+
+        final var secrets = secretsManager.getClient().listSecrets(request).secretList();
+
+        assertThat(secrets)
+                .extracting(SecretListEntry::name)
+                .containsExactly("foo");
+    }
+
+    @Test
+    public void shouldListSecretMetadata() {
+        final var arn = secretsManager.createSecret("foo", "Foo description", "supersecret", List.of(AwsTags.type("string")));
+
+        final var secret = secretsManager.getClient().listSecrets(ListSecretsRequest.builder().build()).secretList().get(0);
+
+        assertSoftly(s -> {
+            s.assertThat(secret.arn()).as("ARN").isEqualTo(arn);
+            s.assertThat(secret.description()).as("Description").isEqualTo("Foo description");
+            s.assertThat(secret.tags()).as("Tags").containsExactly(AwsTags.type("string"));
+            s.assertThat(secret.secretVersionsToStages().values()).as("Version stages").containsExactly(List.of("AWSCURRENT"));
+            s.assertThat(secret.lastChangedDate()).as("Last changed date").isNotNull();
+        });
+    }
+
+    @Test
+    public void shouldGetSecretValueByNameOrArn() {
+        final var arn = secretsManager.createSecret("foo", "supersecret", List.of());
+        secretsManager.createSecret("bar", new byte[]{0x01, 0x02}, List.of());
+
+        final var client = secretsManager.getClient();
+
+        assertSoftly(s -> {
+            s.assertThat(client.getSecretValue(GetSecretValueRequest.builder().secretId("foo").build()).secretString())
+                    .as("By name").isEqualTo("supersecret");
+            s.assertThat(client.getSecretValue(GetSecretValueRequest.builder().secretId(arn).build()).secretString())
+                    .as("By ARN").isEqualTo("supersecret");
+            s.assertThat(client.getSecretValue(GetSecretValueRequest.builder().secretId("bar").build()).secretBinary().asByteArray())
+                    .as("Binary").containsExactly(0x01, 0x02);
+        });
+    }
+
+    @Test
+    public void shouldFailToGetMissingSecretValue() {
+        final var request = GetSecretValueRequest.builder().secretId("foo").build();
+
+        assertThatThrownBy(() -> secretsManager.getClient().getSecretValue(request))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void shouldBatchGetSecretValues() {
+        secretsManager.createSecret("foo", "foo-secret", List.of());
+        secretsManager.createSecret("bar", "bar-secret", List.of());
+
+        final var response = secretsManager.getClient().batchGetSecretValue(BatchGetSecretValueRequest.builder()
+                .secretIdList("foo", "bar", "baz")
+                .build());
+
+        assertSoftly(s -> {
+            s.assertThat(response.secretValues()).as("Values")
+                    .extracting(SecretValueEntry::secretString)
+                    .containsExactly("foo-secret", "bar-secret");
+            s.assertThat(response.errors()).as("Errors")
+                    .extracting("secretId", "errorCode")
+                    .containsExactly(tuple("baz", "ResourceNotFoundException"));
+        });
+    }
+
+    @Test
+    public void shouldThrottleRequests() {
+        secretsManager.createSecret("foo", "supersecret", List.of());
+        secretsManager.setThrottling(0.5);
+
+        final var client = SecretsManagerClient.builder()
+                .endpointOverride(URI.create(secretsManager.getEndpointUrl()))
+                .region(Region.of(secretsManager.getRegion()))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("fake", "fake")))
+                .overrideConfiguration(ClientOverrideConfiguration.builder().retryPolicy(RetryPolicy.none()).build())
+                .build();
+
+        final var request = GetSecretValueRequest.builder().secretId("foo").build();
+
+        // Every second request is throttled
+        assertThatThrownBy(() -> {
+            client.getSecretValue(request);
+            client.getSecretValue(request);
+        })
+                .isInstanceOf(SecretsManagerException.class)
+                .satisfies(e -> assertThat(((SecretsManagerException) e).awsErrorDetails().errorCode()).isEqualTo("ThrottlingException"));
+    }
+}
@@ -0,0 +1,188 @@
+package io.jenkins.plugins.credentials.secretsmanager.util;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estimate how much heap an object graph takes up, assuming a 64-bit JVM with compressed oops (12 byte object headers,
+ * 4 byte references, 8 byte alignment).
+ *
+ * Each object is counted once, however many times it is referenced. Static and transient fields are not followed, nor
+ * are enum constants or classes, because they are not owned by the object graph. JDK maps and collections cannot be
+ * looked into, so they are estimated from the layout of a hash table (for maps and sets) or an array (for lists) of the
+ * same size, and their contents are counted as usual. An uncontended lock has a fixed size. Other JDK types (besides
+ * strings, boxed primitives and arrays) are not supported.
+ */
+public final class ObjectSizes {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+
+    /** A hash map's own fields, and those of a table entry. */
+    private static final int HASH_MAP = 48;
+    private static final int HASH_MAP_ENTRY = 32;
+    /** A linked hash map keeps its entries in a list as well, which takes two more references in each. */
+    private static final int LINKED = 2 * REFERENCE;
+    /** A list's own fields (size and array). */
+    private static final int LIST = 24;
+    /** An uncontended lock, and its synchronizer (state, owner, and wait queue head and tail). */
+    private static final int REENTRANT_LOCK = 16 + 32;
+
+    private ObjectSizes() {
+
+    }
+
+    public static long deepSizeOf(Object root) {
+        return deepSizeOfAll(Collections.singletonList(root));
+    }
+
+    /**
+     * The combined size of several object graphs (not counting the collection that holds them).
+     */
+    public static long deepSizeOfAll(Iterable<?> roots) {
+        final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Object> pending = new ArrayDeque<>();
+        roots.forEach(root -> push(pending, root));
+
+        long size = 0;
+        while (!pending.isEmpty()) {
+            final var obj = pending.pop();
+            if (obj instanceof Enum || obj instanceof Class || !seen.add(obj)) {
+                continue;
+            }
+
+            final var type = obj.getClass();
+            if (obj instanceof String) {
+                // The String itself, plus its backing byte array (compact strings, Latin-1)
+                size += align(HEADER + 4 + 1 + 1 + 1 + REFERENCE) + align(ARRAY_HEADER + ((String) obj).length());
+            } else if (isBoxedPrimitive(type)) {
+                size += align(HEADER + 8);
+            } else if (type.isArray()) {
+                size += sizeOfArray(obj, pending);
+            } else if (obj instanceof Map && isJdk(type)) {
+                size += sizeOfMap((Map<?, ?>) obj, pending);
+            } else if (obj instanceof Set && isJdk(type)) {
+                // A hash set is a hash map inside
+                size += align(HEADER + REFERENCE) + sizeOfHashTable(type, ((Set<?>) obj).size());
+                ((Set<?>) obj).forEach(element -> push(pending, element));
+            } else if (obj instanceof Collection && isJdk(type)) {
+                final var collection = (Collection<?>) obj;
+                size += LIST + align(ARRAY_HEADER + (long) collection.size() * REFERENCE);
+                collection.forEach(element -> push(pending, element));
+            } else if (obj instanceof ReentrantLock) {
+                size += REENTRANT_LOCK;
+            } else if (isJdk(type)) {
+                throw new IllegalArgumentException("Cannot size JDK type " + type.getName());
+            } else {
+                size += sizeOfObject(obj, pending);
+            }
+        }
+        return size;
+    }
+
+    private static long sizeOfMap(Map<?, ?> map, Deque<Object> pending) {
+        map.forEach((key, value) -> {
+            push(pending, key);
+            push(pending, value);
+        });
+        return sizeOfHashTable(map.getClass(), map.size());
+    }
+
+    /**
+     * A hash table is resized to keep it at most 3/4 full, so its capacity is the next power of two that allows that.
+     */
+    private static long sizeOfHashTable(Class<?> type, int size) {
+        final var linked = type.getName().contains("Linked") ? LINKED : 0;
+        final var capacity = Math.max(16, Integer.highestOneBit(Math.max(1, size * 4 / 3)) * 2);
+        return align(HASH_MAP + linked)
+                + align(ARRAY_HEADER + (long) capacity * REFERENCE)
+                + (long) size * align(HASH_MAP_ENTRY + linked);
+    }
+
+    private static long sizeOfArray(Object array, Deque<Object> pending) {
+        final var component = array.getClass().getComponentType();
+        final var length = Array.getLength(array);
+        if (component.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) length * sizeOfPrimitive(component));
+        }
+        for (int i = 0; i < length; i++) {
+            push(pending, Array.get(array, i));
+        }
+        return align(ARRAY_HEADER + (long) length * REFERENCE);
+    }
+
+    private static long sizeOfObject(Object obj, Deque<Object> pending) {
+        long size = HEADER;
+        for (Class<?> c = obj.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                final var modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers)) {
+                    continue;
+                }
+
+                final var fieldType = field.getType();
+                if (fieldType.isPrimitive()) {
+                    size += sizeOfPrimitive(fieldType);
+                    continue;
+                }
+
+                size += REFERENCE;
+                if (!Modifier.isTransient(modifiers)) {
+                    push(pending, read(field, obj));
+                }
+            }
+        }
+        return align(size);
+    }
+
+    private static void push(Deque<Object> pending, Object obj) {
+        if (obj != null) {
+            pending.push(obj);
+        }
+    }
+
+    private static Object read(Field field, Object obj) {
+        try {
+            field.setAccessible(true);
+            return field.get(obj);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot read field " + field, e);
+        }
+    }
+
+    private static boolean isJdk(Class<?> type) {
+        return type.getName().startsWith("java.");
+    }
+
+    private static boolean isBoxedPrimitive(Class<?> type) {
+        return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+                || type == Character.class || type == Boolean.class || type == Double.class || type == Float.class;
+    }
+
+    private static int sizeOfPrimitive(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else {
+            return 1;
+        }
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -16,4 +16,15 @@ public class Rules {
                         .set("AWS_REGION", secretsManager::getRegion))
                 .around(jenkins);
     }
+
+    public static TestRule jenkinsWithSecretsManager(JenkinsRule jenkins, FakeSecretsManager secretsManager) {
+        return RuleChain
+                .outerRule(secretsManager)
+                .around(new DeferredEnvironmentVariables()
+                        .set("AWS_ACCESS_KEY_ID", "fake")
+                        .set("AWS_SECRET_ACCESS_KEY", "fake")
+                        .set("AWS_ENDPOINT_URL", secretsManager::getEndpointUrl)
+                        .set("AWS_REGION", secretsManager::getRegion))
+                .around(jenkins);
+    }
 }